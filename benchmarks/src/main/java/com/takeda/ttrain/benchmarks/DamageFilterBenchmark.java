@@ -0,0 +1,56 @@
+package com.takeda.ttrain.benchmarks;
+
+import org.bukkit.damage.DamageSource;
+import org.bukkit.damage.DamageType;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The damage handler runs for every damage event on the server, so its cost for entities that are
+ * not training zombies matters most. Events are dispatched through the plugin manager with one
+ * training session active, and reused so their own allocation is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DamageFilterBenchmark extends PluginBenchmark {
+    private EntityDamageEvent foreignEvent;
+    private EntityDamageEvent trainingEvent;
+
+    @Override
+    protected void prepare() {
+        plugin.getZombieManager().spawnTrainingZombie(player, 3, 300,
+            plugin.getConfigManager().getSettings().getDefaultLoadout());
+        Zombie training = plugin.getZombieManager().getActiveZombie(player.getUniqueId());
+        Zombie foreign = player.getWorld().spawn(player.getLocation(), Zombie.class);
+
+        DamageSource source = DamageSource.builder(DamageType.GENERIC).build();
+        foreignEvent = new EntityDamageEvent(foreign, DamageCause.ENTITY_ATTACK, source, 1.0);
+        trainingEvent = new EntityDamageEvent(training, DamageCause.ENTITY_ATTACK, source, 1.0);
+    }
+
+    @Benchmark
+    public void foreignEntity() {
+        server.getPluginManager().callEvent(foreignEvent);
+    }
+
+    @Benchmark
+    public void trainingZombieNonLethal() {
+        server.getPluginManager().callEvent(trainingEvent);
+    }
+}
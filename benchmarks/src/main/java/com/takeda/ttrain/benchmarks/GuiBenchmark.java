@@ -0,0 +1,51 @@
+package com.takeda.ttrain.benchmarks;
+
+import com.takeda.ttrain.gui.GUILayout;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Training menu construction. The per-item {@code createItem} builder was replaced by a layout
+ * compiled once per config load, so that compile step is measured separately from rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GuiBenchmark extends PluginBenchmark {
+    private GUILayout layout;
+    private String loadoutName;
+
+    @Override
+    protected void prepare() {
+        layout = plugin.getConfigManager().getGuiLayout();
+        loadoutName = plugin.getConfigManager().getSettings().getDefaultLoadout().getDisplayName();
+    }
+
+    @Benchmark
+    public ItemStack[] renderLayout() {
+        return layout.render(3, 60, loadoutName);
+    }
+
+    @Benchmark
+    public void openTrainingGUI() {
+        plugin.getGuiManager().openTrainingGUI(player);
+    }
+
+    @Benchmark
+    public GUILayout compileLayout() {
+        return GUILayout.compile(plugin.getConfigManager().getSettings(), plugin.getConfigManager().getMessages());
+    }
+}
@@ -0,0 +1,68 @@
+package com.takeda.ttrain.benchmarks;
+
+import com.takeda.ttrain.loadout.Loadout;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Zombie;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Equipping a training zombie from a loadout's prototypes, against building enchanted,
+ * unbreakable items on every spawn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadoutBenchmark extends PluginBenchmark {
+    private static final Material[] ARMOR = {
+        Material.NETHERITE_HELMET, Material.NETHERITE_CHESTPLATE, Material.NETHERITE_LEGGINGS, Material.NETHERITE_BOOTS};
+
+    private Loadout loadout;
+    private EntityEquipment equipment;
+
+    @Override
+    protected void prepare() {
+        loadout = plugin.getConfigManager().getSettings().getLoadoutOrDefault("protection");
+        Zombie zombie = player.getWorld().spawn(player.getLocation(), Zombie.class);
+        equipment = zombie.getEquipment();
+    }
+
+    @Benchmark
+    public void applyPrototypes() {
+        loadout.apply(equipment);
+    }
+
+    // Baseline: one ItemStack and ItemMeta per piece and spawn
+    @Benchmark
+    public void buildAndEquip() {
+        ItemStack[] pieces = new ItemStack[ARMOR.length];
+        for (int i = 0; i < ARMOR.length; i++) {
+            ItemStack item = new ItemStack(ARMOR[i]);
+            ItemMeta meta = item.getItemMeta();
+            meta.setUnbreakable(true);
+            meta.addEnchant(Enchantment.PROTECTION, 4, true);
+            item.setItemMeta(meta);
+            pieces[i] = item;
+        }
+        equipment.setHelmet(pieces[0]);
+        equipment.setChestplate(pieces[1]);
+        equipment.setLeggings(pieces[2]);
+        equipment.setBoots(pieces[3]);
+    }
+}
@@ -0,0 +1,62 @@
+package com.takeda.ttrain.benchmarks;
+
+import com.takeda.ttrain.text.MessageService;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Config message lookups, with and without placeholders, against parsing and {@code replaceText}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageBenchmark extends PluginBenchmark {
+    private static final String STATIC_KEY = "messages.action-bar.preferences-saved";
+    private static final String PLACEHOLDER_KEY = "messages.action-bar.zombie-spawned";
+
+    private MessageService messages;
+    private MiniMessage miniMessage;
+    private String placeholderRaw;
+
+    @Override
+    protected void prepare() {
+        messages = plugin.getConfigManager().getMessages();
+        miniMessage = MiniMessage.miniMessage();
+        placeholderRaw = messages.getRaw(PLACEHOLDER_KEY);
+    }
+
+    @Benchmark
+    public Component staticMessage() {
+        return messages.get(STATIC_KEY);
+    }
+
+    @Benchmark
+    public Component placeholderMessage() {
+        return messages.get(PLACEHOLDER_KEY,
+            Placeholder.unparsed("totems", "3"),
+            Placeholder.unparsed("duration", "60"));
+    }
+
+    // Baseline: parse the raw string, then walk the tree once per placeholder
+    @Benchmark
+    public Component parseAndReplaceText() {
+        return miniMessage.deserialize(placeholderRaw)
+            .replaceText(builder -> builder.matchLiteral("{totems}").replacement("3"))
+            .replaceText(builder -> builder.matchLiteral("{duration}").replacement("60"));
+    }
+}
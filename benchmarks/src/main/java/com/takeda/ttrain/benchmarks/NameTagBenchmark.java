@@ -0,0 +1,64 @@
+package com.takeda.ttrain.benchmarks;
+
+import com.takeda.ttrain.text.ComponentTemplate;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.entity.Zombie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zombie name tag updates, done once a second per session by {@code ZombieManager.updateZombieNameTag}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameTagBenchmark extends PluginBenchmark {
+    private ComponentTemplate template;
+    private MiniMessage miniMessage;
+    private Zombie zombie;
+    private int tick;
+
+    @Override
+    protected void prepare() {
+        template = plugin.getConfigManager().getNameTagTemplate();
+        miniMessage = MiniMessage.miniMessage();
+        zombie = player.getWorld().spawn(player.getLocation(), Zombie.class);
+    }
+
+    private int secondsLeft() {
+        return 300 - (tick++ % 300);
+    }
+
+    @Benchmark
+    public Component renderTemplate() {
+        return template.render(String.valueOf(secondsLeft()), "3");
+    }
+
+    @Benchmark
+    public void renderAndApply() {
+        zombie.customName(template.render(String.valueOf(secondsLeft()), "3"));
+    }
+
+    // Baseline: building the MiniMessage string and parsing it on every update
+    @Benchmark
+    public Component parseEveryUpdate() {
+        StringBuilder nameTag = new StringBuilder();
+        nameTag.append("<gradient:#FF6B6B:#4ECDC4>Training Zombie</gradient> ");
+        nameTag.append("<#FF5555>⏱ ").append(secondsLeft()).append("s");
+        nameTag.append(" <#55FF55>⚡ ").append(3).append(" totems");
+        return miniMessage.deserialize(nameTag.toString());
+    }
+}
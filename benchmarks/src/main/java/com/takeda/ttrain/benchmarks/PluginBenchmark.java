@@ -0,0 +1,42 @@
+package com.takeda.ttrain.benchmarks;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.takeda.ttrain.TTrainPlugin;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base state for benchmarks that need the enabled plugin: a MockBukkit server with the default
+ * config.yml, a world named "world" and one online player.
+ * <p>
+ * MockBukkit treats the thread that created the server as the main thread, so every benchmark
+ * runs single-threaded on the thread that ran the setup.
+ */
+public abstract class PluginBenchmark {
+    protected ServerMock server;
+    protected TTrainPlugin plugin;
+    protected PlayerMock player;
+
+    @Setup(Level.Trial)
+    public void startServer() throws Exception {
+        server = MockBukkit.mock();
+        server.addSimpleWorld("world");
+        plugin = MockBukkit.load(TTrainPlugin.class);
+        player = server.addPlayer();
+        prepare();
+    }
+
+    /**
+     * Benchmark-specific setup, run once the plugin is enabled.
+     */
+    protected void prepare() throws Exception {
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        MockBukkit.unmock();
+    }
+}
@@ -0,0 +1,75 @@
+package com.takeda.ttrain.benchmarks;
+
+import com.takeda.ttrain.config.ConfigManager.PlayerPreferences;
+import com.takeda.ttrain.config.store.PreferenceBatch;
+import com.takeda.ttrain.config.store.YamlPreferenceStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving preferences: the main-thread cost of a Save click, and the background write of one
+ * changed player to a YAML store that already holds {@code storedPlayers}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreferenceBenchmark extends PluginBenchmark {
+    @Param({"100", "1000"})
+    public int storedPlayers;
+
+    private UUID[] players;
+    private PlayerPreferences preferences;
+    private YamlPreferenceStore store;
+    private int next;
+
+    @Override
+    protected void prepare() throws IOException {
+        preferences = new PlayerPreferences(3, 60, "netherite");
+        players = new UUID[storedPlayers];
+        Map<UUID, PlayerPreferences> saved = new HashMap<>();
+        for (int i = 0; i < storedPlayers; i++) {
+            players[i] = UUID.randomUUID();
+            saved.put(players[i], preferences);
+        }
+
+        File file = Files.createTempFile("ttrain-preferences", ".yml").toFile();
+        file.deleteOnExit();
+        store = new YamlPreferenceStore(file);
+        store.open();
+        store.apply(new PreferenceBatch(saved, Set.of(), Set.of(), System.currentTimeMillis()));
+    }
+
+    private UUID nextPlayer() {
+        return players[next++ % players.length];
+    }
+
+    @Benchmark
+    public void savePlayerPreferences() {
+        plugin.getConfigManager().savePlayerPreferences(nextPlayer(), preferences);
+    }
+
+    @Benchmark
+    public void yamlStoreApply() throws IOException {
+        store.apply(new PreferenceBatch(Map.of(nextPlayer(), preferences), Set.of(), Set.of(), System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.takeda.ttrain.benchmarks;
+
+import com.takeda.ttrain.region.RegionIndex;
+import com.takeda.ttrain.region.TrainingRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Training region lookups in a hub world with {@code regionCount} arenas on a grid, every tenth
+ * with a higher-priority deny region over its stands, and a few regions too large for the chunk
+ * grid. Points inside arenas and in the gaps between them are measured separately, against a
+ * linear scan over every region. Building the index is what a reload pays.
+ * <p>
+ * Needs no server: the index only works on world names and block coordinates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegionBenchmark {
+    private static final String WORLD = "hub";
+    private static final int ARENA_SIZE = 32;
+    private static final int ARENA_SPACING = 48;
+    private static final int POINTS = 4096;
+
+    @Param({"1000", "10000"})
+    public int regionCount;
+
+    private List<TrainingRegion> regions;
+    private RegionIndex index;
+    private int[] inside;
+    private int[] outside;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        regions = new ArrayList<>();
+        int columns = (int) Math.ceil(Math.sqrt(regionCount));
+        int arenas = 0;
+        while (regions.size() < regionCount - 4) {
+            int x = (arenas % columns) * ARENA_SPACING;
+            int z = (arenas / columns) * ARENA_SPACING;
+            regions.add(new TrainingRegion("arena_" + arenas, WORLD, x, 60, z, x + ARENA_SIZE - 1, 90, z + ARENA_SIZE - 1, 0, false));
+            if (arenas % 10 == 0 && regions.size() < regionCount - 4) {
+                regions.add(new TrainingRegion("stands_" + arenas, WORLD, x, 60, z, x + ARENA_SIZE - 1, 90, z + 7, 1, true));
+            }
+            arenas++;
+        }
+        // Lobbies far from the arenas, each over 4096 chunks
+        for (int i = 0; i < 4; i++) {
+            int x = -10_000 - i * 2_000;
+            regions.add(new TrainingRegion("lobby_" + i, WORLD, x, 0, -1_024, x + 1_100, 255, 1_024, -1, i % 2 == 0));
+        }
+        index = RegionIndex.of(regions);
+
+        // x, y, z triples; the same sequence every run
+        Random random = new Random(42);
+        inside = new int[POINTS * 3];
+        outside = new int[POINTS * 3];
+        for (int i = 0; i < POINTS; i++) {
+            int arena = random.nextInt(arenas);
+            int baseX = (arena % columns) * ARENA_SPACING;
+            int baseZ = (arena / columns) * ARENA_SPACING;
+            inside[i * 3] = baseX + random.nextInt(ARENA_SIZE);
+            inside[i * 3 + 1] = 60 + random.nextInt(31);
+            inside[i * 3 + 2] = baseZ + random.nextInt(ARENA_SIZE);
+            outside[i * 3] = baseX + ARENA_SIZE + random.nextInt(ARENA_SPACING - ARENA_SIZE);
+            outside[i * 3 + 1] = 60 + random.nextInt(31);
+            outside[i * 3 + 2] = baseZ + random.nextInt(ARENA_SPACING);
+        }
+    }
+
+    @Benchmark
+    public boolean insideArena() {
+        int i = nextPoint();
+        return index.isAllowed(WORLD, inside[i], inside[i + 1], inside[i + 2]);
+    }
+
+    @Benchmark
+    public boolean betweenArenas() {
+        int i = nextPoint();
+        return index.isAllowed(WORLD, outside[i], outside[i + 1], outside[i + 2]);
+    }
+
+    // Baseline: test every region and keep the best match
+    @Benchmark
+    public boolean linearScan() {
+        int i = nextPoint();
+        int x = inside[i];
+        int y = inside[i + 1];
+        int z = inside[i + 2];
+        TrainingRegion best = null;
+        for (TrainingRegion region : regions) {
+            if (region.contains(x, y, z) && (best == null || region.priority() > best.priority()
+                || (region.priority() == best.priority() && region.deny()))) {
+                best = region;
+            }
+        }
+        return best == null || !best.deny();
+    }
+
+    @Benchmark
+    public RegionIndex buildIndex() {
+        return RegionIndex.of(regions);
+    }
+
+    private int nextPoint() {
+        int i = next;
+        next = (i + 1) & (POINTS - 1);
+        return i * 3;
+    }
+}
@@ -0,0 +1,191 @@
+package com.takeda.ttrain.benchmarks.simulation;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A load scenario read from a YAML file: how many players join, the script each of them loops
+ * through, background load, config overrides and the tick budget the run must stay within.
+ * See {@code benchmarks/scenarios} for the format.
+ */
+public final class Scenario {
+
+    public enum Pace {
+        // Sleep out the rest of each 50 ms tick, so session timers expire as they would in game
+        REALTIME,
+        // Run ticks back to back; sessions only end by popping their last totem
+        FAST
+    }
+
+    public enum Action {
+        MENU, CLICK, CHAT, CLOSE, COMMAND, HIT, POP, WAIT
+    }
+
+    /**
+     * One script step. {@code argument} is the button, chat text or command arguments;
+     * {@code amount} the number of hits or pops, or the ticks to wait.
+     */
+    public record Step(Action action, String argument, int amount) {
+    }
+
+    /**
+     * Limits on the measured ticks. Zero or less leaves a limit unchecked.
+     */
+    public record Budget(double maxTickMillis, double p99TickMillis, double meanTickMillis, long meanAllocatedBytes) {
+    }
+
+    private final String name;
+    private final int ticks;
+    private final int warmupTicks;
+    private final int players;
+    private final int joinsPerTick;
+    private final Pace pace;
+    private final long seed;
+    private final int jitterTicks;
+    private final int foreignEntities;
+    private final int foreignDamagePerTick;
+    private final Map<String, Object> configOverrides;
+    private final List<Step> script;
+    private final Budget budget;
+
+    private Scenario(String name, ConfigurationSection config) throws InvalidConfigurationException {
+        this.name = config.getString("name", name);
+        this.ticks = Math.max(1, config.getInt("ticks", 2400));
+        this.warmupTicks = Math.max(0, config.getInt("warmup-ticks", 200));
+        this.players = Math.max(0, config.getInt("players", 50));
+        this.joinsPerTick = Math.max(1, config.getInt("joins-per-tick", 5));
+        this.pace = parseEnum(Pace.class, config.getString("pace", "realtime"), "pace");
+        this.seed = config.getLong("seed", 1L);
+        this.jitterTicks = Math.max(0, config.getInt("jitter-ticks", 10));
+        this.foreignEntities = Math.max(0, config.getInt("background.foreign-entities", 0));
+        this.foreignDamagePerTick = Math.max(0, config.getInt("background.foreign-damage-per-tick", 0));
+
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        ConfigurationSection configSection = config.getConfigurationSection("config");
+        if (configSection != null) {
+            for (String key : configSection.getKeys(true)) {
+                if (!configSection.isConfigurationSection(key)) {
+                    overrides.put(key, configSection.get(key));
+                }
+            }
+        }
+        this.configOverrides = Collections.unmodifiableMap(overrides);
+
+        List<Step> steps = new ArrayList<>();
+        for (Object entry : config.getList("script", List.of())) {
+            steps.add(parseStep(entry));
+        }
+        if (steps.isEmpty()) {
+            throw new InvalidConfigurationException("Scenario '" + this.name + "' has no script steps");
+        }
+        this.script = List.copyOf(steps);
+
+        this.budget = new Budget(
+            config.getDouble("budget.max-tick-ms", 0.0),
+            config.getDouble("budget.p99-tick-ms", 0.0),
+            config.getDouble("budget.mean-tick-ms", 0.0),
+            config.getLong("budget.mean-allocated-bytes", 0L));
+    }
+
+    public static Scenario load(Path file) throws IOException, InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(file.toFile());
+        String fileName = file.getFileName().toString();
+        return new Scenario(fileName.replaceFirst("\\.ya?ml$", ""), config);
+    }
+
+    // A step is either a bare action ("menu") or a one-entry map ("click: spawn", "wait: 20")
+    private static Step parseStep(Object entry) throws InvalidConfigurationException {
+        if (entry instanceof String action) {
+            return new Step(parseEnum(Action.class, action, "script action"), "", 1);
+        }
+        if (entry instanceof Map<?, ?> map && map.size() == 1) {
+            Map.Entry<?, ?> only = map.entrySet().iterator().next();
+            Action action = parseEnum(Action.class, String.valueOf(only.getKey()), "script action");
+            Object value = only.getValue();
+            return switch (action) {
+                case HIT, POP, WAIT -> {
+                    if (!(value instanceof Number number) || number.intValue() < 1) {
+                        throw new InvalidConfigurationException("'" + only.getKey() + "' needs a positive count, got " + value);
+                    }
+                    yield new Step(action, "", number.intValue());
+                }
+                default -> new Step(action, value == null ? "" : String.valueOf(value), 1);
+            };
+        }
+        throw new InvalidConfigurationException("Invalid script step: " + entry);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String what) throws InvalidConfigurationException {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidConfigurationException("Unknown " + what + " '" + value + "'");
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+
+    public int getWarmupTicks() {
+        return warmupTicks;
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    public int getJoinsPerTick() {
+        return joinsPerTick;
+    }
+
+    public Pace getPace() {
+        return pace;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getJitterTicks() {
+        return jitterTicks;
+    }
+
+    public int getForeignEntities() {
+        return foreignEntities;
+    }
+
+    public int getForeignDamagePerTick() {
+        return foreignDamagePerTick;
+    }
+
+    /**
+     * config.yml values to set before the run, by full path.
+     */
+    public Map<String, Object> getConfigOverrides() {
+        return configOverrides;
+    }
+
+    public List<Step> getScript() {
+        return script;
+    }
+
+    public Budget getBudget() {
+        return budget;
+    }
+}
@@ -0,0 +1,197 @@
+package com.takeda.ttrain.benchmarks.simulation;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.takeda.ttrain.TTrainPlugin;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.damage.DamageType;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.Event;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One run of a scenario on a fresh mock server.
+ * <p>
+ * Every tick the virtual players act, the background damage events fire and the scheduler runs
+ * its due tasks, all on this thread. The measured tick time and allocation therefore cover the
+ * plugin's handlers and tasks plus the mock server and the events the harness creates; tasks the
+ * plugin runs asynchronously are not included. Warmup ticks run but are not recorded.
+ */
+public final class Simulation {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int AVERAGE_WINDOW = 100; // Ticks in the MSPT reported to the plugin
+
+    private final Scenario scenario;
+    private final Random random;
+    private final com.sun.management.ThreadMXBean threads;
+    private final List<VirtualPlayer> players;
+    private final List<EntityDamageEvent> foreignHits;
+    private final long[] actionCounts;
+    private final long[] skippedCounts;
+    private SimulationServer server;
+    private TTrainPlugin plugin;
+    private DamageSource damageSource;
+    private int nextForeignHit;
+
+    public Simulation(Scenario scenario) {
+        this.scenario = scenario;
+        this.random = new Random(scenario.getSeed());
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.players = new ArrayList<>();
+        this.foreignHits = new ArrayList<>();
+        this.actionCounts = new long[Scenario.Action.values().length];
+        this.skippedCounts = new long[Scenario.Action.values().length];
+    }
+
+    public TickRecorder run() throws IOException {
+        server = MockBukkit.mock(new SimulationServer());
+        try {
+            server.addSimpleWorld("world");
+            plugin = MockBukkit.load(TTrainPlugin.class);
+            applyConfigOverrides();
+            damageSource = DamageSource.builder(DamageType.GENERIC).build();
+            spawnForeignEntities();
+            return runTicks();
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    private void applyConfigOverrides() throws IOException {
+        if (scenario.getConfigOverrides().isEmpty()) return;
+        File configFile = new File(plugin.getDataFolder(), "config.yml");
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+        for (Map.Entry<String, Object> entry : scenario.getConfigOverrides().entrySet()) {
+            config.set(entry.getKey(), entry.getValue());
+        }
+        config.save(configFile);
+        plugin.getConfigManager().loadConfig();
+    }
+
+    // Mobs that are not training zombies, for the damage handler's reject path
+    private void spawnForeignEntities() {
+        World world = server.getWorld("world");
+        Location origin = world.getSpawnLocation();
+        for (int i = 0; i < scenario.getForeignEntities(); i++) {
+            Zombie zombie = world.spawn(origin.clone().add(i % 16, 0, i / 16), Zombie.class);
+            foreignHits.add(new EntityDamageEvent(zombie, DamageCause.ENTITY_ATTACK, damageSource, 1.0));
+        }
+    }
+
+    private TickRecorder runTicks() {
+        int warmup = scenario.getWarmupTicks();
+        int total = warmup + scenario.getTicks();
+        TickRecorder recorder = new TickRecorder(scenario.getTicks());
+        long[] window = new long[AVERAGE_WINDOW];
+        long windowSum = 0;
+
+        for (int tick = 0; tick < total; tick++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+
+            joinPlayers(tick);
+            for (VirtualPlayer player : players) {
+                player.tick(tick);
+            }
+            hitForeignEntities();
+            server.getScheduler().performOneTick();
+
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+            int slot = tick % AVERAGE_WINDOW;
+            windowSum += elapsed - window[slot];
+            window[slot] = elapsed;
+            server.setAverageTickTime(windowSum / (double) Math.min(tick + 1, AVERAGE_WINDOW) / 1_000_000.0);
+
+            if (tick >= warmup) {
+                recorder.record(elapsed, allocated,
+                    server.getScheduler().getPendingTasks().size(),
+                    server.getScheduler().getNumberOfQueuedAsyncTasks(),
+                    plugin.getZombieManager().getAdmissionController().getQueueSize(),
+                    plugin.getZombieManager().getActiveSessionCount(),
+                    plugin.getLoadMonitor().getLevel());
+            }
+
+            if (scenario.getPace() == Scenario.Pace.REALTIME) {
+                long remaining = TICK_NANOS - (System.nanoTime() - start);
+                if (remaining > 0) {
+                    LockSupport.parkNanos(remaining);
+                }
+            }
+        }
+        return recorder;
+    }
+
+    private void joinPlayers(int tick) {
+        for (int i = 0; i < scenario.getJoinsPerTick() && players.size() < scenario.getPlayers(); i++) {
+            PlayerMock player = server.addPlayer();
+            player.addAttachment(plugin, "ttrain.spawn.command", true);
+            player.addAttachment(plugin, "ttrain.spawn.gui", true);
+            players.add(new VirtualPlayer(this, player, scenario.getScript(), tick + jitter()));
+        }
+    }
+
+    private void hitForeignEntities() {
+        if (foreignHits.isEmpty()) return;
+        for (int i = 0; i < scenario.getForeignDamagePerTick(); i++) {
+            callEvent(foreignHits.get(nextForeignHit));
+            nextForeignHit = (nextForeignHit + 1) % foreignHits.size();
+        }
+    }
+
+    /**
+     * Extra ticks added to every wait and join, so players drift out of lockstep.
+     */
+    int jitter() {
+        return scenario.getJitterTicks() == 0 ? 0 : random.nextInt(scenario.getJitterTicks() + 1);
+    }
+
+    void callEvent(Event event) {
+        server.getPluginManager().callEvent(event);
+    }
+
+    void countAction(Scenario.Action action, boolean performed) {
+        (performed ? actionCounts : skippedCounts)[action.ordinal()]++;
+    }
+
+    TTrainPlugin getPlugin() {
+        return plugin;
+    }
+
+    DamageSource getDamageSource() {
+        return damageSource;
+    }
+
+    /**
+     * Steps performed per action, with the ones skipped because they did not apply (a click with
+     * no menu open, a hit with no zombie) in brackets.
+     */
+    public String actionSummary() {
+        StringBuilder out = new StringBuilder();
+        for (Scenario.Action action : Scenario.Action.values()) {
+            int i = action.ordinal();
+            if (actionCounts[i] == 0 && skippedCounts[i] == 0) continue;
+            if (!out.isEmpty()) out.append(", ");
+            out.append(action.name().toLowerCase()).append(' ').append(actionCounts[i]);
+            if (skippedCounts[i] > 0) {
+                out.append(" (").append(skippedCounts[i]).append(" skipped)");
+            }
+        }
+        return out.toString();
+    }
+}
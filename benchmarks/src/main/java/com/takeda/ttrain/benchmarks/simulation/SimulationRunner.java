@@ -0,0 +1,88 @@
+package com.takeda.ttrain.benchmarks.simulation;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs load scenarios and exits with status 1 if any of them went over its tick budget.
+ * <pre>
+ * java -cp target/benchmarks.jar com.takeda.ttrain.benchmarks.simulation.SimulationRunner \
+ *     [--csv &lt;dir&gt;] &lt;scenario.yml | directory&gt;...
+ * </pre>
+ * With {@code --csv}, every run also writes its per-tick measurements to {@code <dir>/<scenario>.csv}.
+ */
+public final class SimulationRunner {
+    private SimulationRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path csvDirectory = null;
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--csv") && i + 1 < args.length) {
+                csvDirectory = Path.of(args[++i]);
+            } else {
+                collectScenarios(Path.of(args[i]), files);
+            }
+        }
+        if (files.isEmpty()) {
+            System.err.println("Usage: SimulationRunner [--csv <dir>] <scenario.yml | directory>...");
+            System.exit(2);
+        }
+
+        List<String> failed = new ArrayList<>();
+        for (Path file : files) {
+            Scenario scenario;
+            try {
+                scenario = Scenario.load(file);
+            } catch (InvalidConfigurationException e) {
+                System.err.println("Invalid scenario " + file + ": " + e.getMessage());
+                System.exit(2);
+                return;
+            }
+
+            System.out.printf("== %s: %d players, %d ticks (+%d warmup), %s%n", scenario.getName(), scenario.getPlayers(),
+                scenario.getTicks(), scenario.getWarmupTicks(), scenario.getPace().name().toLowerCase());
+            Simulation simulation = new Simulation(scenario);
+            TickRecorder recorder = simulation.run();
+            System.out.println(recorder.summary());
+            System.out.println("actions: " + simulation.actionSummary());
+
+            if (csvDirectory != null) {
+                Files.createDirectories(csvDirectory);
+                recorder.writeCsv(csvDirectory.resolve(scenario.getName() + ".csv"));
+            }
+
+            List<String> violations = recorder.checkBudget(scenario.getBudget());
+            if (violations.isEmpty()) {
+                System.out.println("PASS");
+            } else {
+                violations.forEach(violation -> System.out.println("FAIL " + violation));
+                failed.add(scenario.getName());
+            }
+        }
+
+        if (!failed.isEmpty()) {
+            System.out.println("Over budget: " + String.join(", ", failed));
+            System.exit(1);
+        }
+    }
+
+    private static void collectScenarios(Path path, List<Path> files) throws IOException {
+        if (!Files.isDirectory(path)) {
+            files.add(path);
+            return;
+        }
+        try (Stream<Path> entries = Files.list(path)) {
+            entries.filter(entry -> entry.getFileName().toString().matches(".*\\.ya?ml"))
+                .sorted()
+                .forEach(files::add);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.takeda.ttrain.benchmarks.simulation;
+
+import be.seeseemelk.mockbukkit.ServerMock;
+
+/**
+ * Mock server that reports the tick times measured by the simulation, so the plugin's load
+ * monitor reacts to the simulated load the way it would on a real server.
+ */
+public class SimulationServer extends ServerMock {
+    private static final double TICK_MILLIS = 50.0;
+
+    private volatile double averageTickMillis;
+
+    void setAverageTickTime(double millis) {
+        this.averageTickMillis = millis;
+    }
+
+    @Override
+    public double getAverageTickTime() {
+        return averageTickMillis;
+    }
+
+    @Override
+    public double[] getTPS() {
+        double tps = 1000.0 / Math.max(TICK_MILLIS, averageTickMillis);
+        return new double[]{tps, tps, tps};
+    }
+}
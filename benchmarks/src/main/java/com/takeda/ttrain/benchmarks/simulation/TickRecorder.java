@@ -0,0 +1,153 @@
+package com.takeda.ttrain.benchmarks.simulation;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-tick measurements of one simulation run, kept in flat arrays so recording allocates nothing.
+ */
+public final class TickRecorder {
+    private final long[] nanos;
+    private final long[] allocatedBytes;
+    private final int[] pendingTasks;
+    private final int[] asyncTasks;
+    private final int[] admissionQueue;
+    private final int[] activeSessions;
+    private final int[] loadTier;
+    private int size;
+
+    public TickRecorder(int capacity) {
+        this.nanos = new long[capacity];
+        this.allocatedBytes = new long[capacity];
+        this.pendingTasks = new int[capacity];
+        this.asyncTasks = new int[capacity];
+        this.admissionQueue = new int[capacity];
+        this.activeSessions = new int[capacity];
+        this.loadTier = new int[capacity];
+    }
+
+    public void record(long tickNanos, long tickAllocatedBytes, int pending, int async, int queue, int sessions, int tier) {
+        if (size == nanos.length) return;
+        nanos[size] = tickNanos;
+        allocatedBytes[size] = tickAllocatedBytes;
+        pendingTasks[size] = pending;
+        asyncTasks[size] = async;
+        admissionQueue[size] = queue;
+        activeSessions[size] = sessions;
+        loadTier[size] = tier;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getMeanTickMillis() {
+        return size == 0 ? 0.0 : sum(nanos) / (double) size / 1_000_000.0;
+    }
+
+    /**
+     * Tick time at the given percentile (0-100), nearest rank.
+     */
+    public double getTickMillisAtPercentile(double percentile) {
+        if (size == 0) return 0.0;
+        long[] sorted = Arrays.copyOf(nanos, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return sorted[Math.max(0, Math.min(size - 1, rank - 1))] / 1_000_000.0;
+    }
+
+    public double getMaxTickMillis() {
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, nanos[i]);
+        }
+        return max / 1_000_000.0;
+    }
+
+    public long getMeanAllocatedBytes() {
+        return size == 0 ? 0L : sum(allocatedBytes) / size;
+    }
+
+    public int getMaxPendingTasks() {
+        return max(pendingTasks);
+    }
+
+    public int getMaxAsyncTasks() {
+        return max(asyncTasks);
+    }
+
+    public int getMaxAdmissionQueue() {
+        return max(admissionQueue);
+    }
+
+    public int getMaxActiveSessions() {
+        return max(activeSessions);
+    }
+
+    public int getMaxLoadTier() {
+        return max(loadTier);
+    }
+
+    private long sum(long[] values) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+
+    private int max(int[] values) {
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Limits of the budget this run exceeded, as readable lines; empty if it stayed within budget.
+     */
+    public List<String> checkBudget(Scenario.Budget budget) {
+        List<String> violations = new ArrayList<>();
+        if (budget.maxTickMillis() > 0 && getMaxTickMillis() > budget.maxTickMillis()) {
+            violations.add(String.format("max tick %.3f ms > %.3f ms", getMaxTickMillis(), budget.maxTickMillis()));
+        }
+        double p99 = getTickMillisAtPercentile(99.0);
+        if (budget.p99TickMillis() > 0 && p99 > budget.p99TickMillis()) {
+            violations.add(String.format("p99 tick %.3f ms > %.3f ms", p99, budget.p99TickMillis()));
+        }
+        if (budget.meanTickMillis() > 0 && getMeanTickMillis() > budget.meanTickMillis()) {
+            violations.add(String.format("mean tick %.3f ms > %.3f ms", getMeanTickMillis(), budget.meanTickMillis()));
+        }
+        if (budget.meanAllocatedBytes() > 0 && getMeanAllocatedBytes() > budget.meanAllocatedBytes()) {
+            violations.add(String.format("mean allocation %d B/tick > %d B/tick", getMeanAllocatedBytes(), budget.meanAllocatedBytes()));
+        }
+        return violations;
+    }
+
+    public String summary() {
+        return String.format(
+            "ticks %d | tick ms mean %.3f p50 %.3f p99 %.3f p99.9 %.3f max %.3f | alloc %d B/tick"
+                + " | max pending tasks %d, async %d, admission queue %d | peak sessions %d | max load tier %d",
+            size, getMeanTickMillis(), getTickMillisAtPercentile(50.0), getTickMillisAtPercentile(99.0),
+            getTickMillisAtPercentile(99.9), getMaxTickMillis(), getMeanAllocatedBytes(),
+            getMaxPendingTasks(), getMaxAsyncTasks(), getMaxAdmissionQueue(), getMaxActiveSessions(), getMaxLoadTier());
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("tick,tick_ns,allocated_bytes,pending_tasks,async_tasks,admission_queue,active_sessions,load_tier");
+            for (int i = 0; i < size; i++) {
+                out.println(i + "," + nanos[i] + "," + allocatedBytes[i] + "," + pendingTasks[i] + "," + asyncTasks[i]
+                    + "," + admissionQueue[i] + "," + activeSessions[i] + "," + loadTier[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.takeda.ttrain.benchmarks.simulation;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.takeda.ttrain.gui.Menu;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.event.entity.EntityResurrectEvent;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType.SlotType;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.InventoryView;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * A scripted player. Each tick it runs script steps until one tells it to wait, and loops back to
+ * the first step at the end. Every step goes through the same entry points a real player hits:
+ * the {@code /train} command, inventory click and chat events, and entity damage and resurrect
+ * events on the player's training zombie.
+ */
+final class VirtualPlayer {
+    private final Simulation simulation;
+    private final PlayerMock player;
+    private final List<Scenario.Step> script;
+    private int next;
+    private long wakeTick;
+
+    VirtualPlayer(Simulation simulation, PlayerMock player, List<Scenario.Step> script, long wakeTick) {
+        this.simulation = simulation;
+        this.player = player;
+        this.script = script;
+        this.wakeTick = wakeTick;
+    }
+
+    void tick(long tick) {
+        if (tick < wakeTick) return;
+        // A script without waits runs once per tick
+        for (int i = 0; i < script.size(); i++) {
+            Scenario.Step step = script.get(next);
+            next = (next + 1) % script.size();
+            if (step.action() == Scenario.Action.WAIT) {
+                wakeTick = tick + step.amount() + simulation.jitter();
+                return;
+            }
+            simulation.countAction(step.action(), perform(step));
+        }
+        wakeTick = tick + 1;
+    }
+
+    /**
+     * Runs one step; false if it could not apply, e.g. a click with no menu open.
+     */
+    private boolean perform(Scenario.Step step) {
+        switch (step.action()) {
+            case MENU -> {
+                return player.performCommand("train");
+            }
+            case COMMAND -> {
+                return player.performCommand(("train " + step.argument()).trim());
+            }
+            case CLICK -> {
+                return click(step.argument());
+            }
+            case CHAT -> {
+                simulation.callEvent(new AsyncPlayerChatEvent(false, player, step.argument(), new HashSet<>()));
+                return true;
+            }
+            case CLOSE -> {
+                player.closeInventory();
+                return true;
+            }
+            case HIT -> {
+                return hit(step.amount());
+            }
+            case POP -> {
+                return pop(step.amount());
+            }
+            default -> {
+                return true;
+            }
+        }
+    }
+
+    private boolean click(String button) {
+        InventoryView view = player.getOpenInventory();
+        if (!(view.getTopInventory().getHolder(false) instanceof Menu)) return false;
+        int slot = simulation.getPlugin().getConfigManager().getGuiLayout().getSlot(button);
+        if (slot < 0) return false;
+        simulation.callEvent(new InventoryClickEvent(view, SlotType.CONTAINER, slot, ClickType.LEFT, InventoryAction.PICKUP_ALL));
+        return true;
+    }
+
+    // Non-lethal hits: the damage handler's lookup and checks, without killing the zombie
+    private boolean hit(int count) {
+        Zombie zombie = simulation.getPlugin().getZombieManager().getActiveZombie(player.getUniqueId());
+        if (zombie == null) return false;
+        for (int i = 0; i < count; i++) {
+            simulation.callEvent(new EntityDamageEvent(zombie, DamageCause.ENTITY_ATTACK, simulation.getDamageSource(), 1.0));
+        }
+        return true;
+    }
+
+    // The resurrect event a lethal hit fires while the zombie still holds a totem
+    private boolean pop(int count) {
+        for (int i = 0; i < count; i++) {
+            Zombie zombie = simulation.getPlugin().getZombieManager().getActiveZombie(player.getUniqueId());
+            if (zombie == null) return i > 0;
+            simulation.callEvent(new EntityResurrectEvent(zombie, EquipmentSlot.OFF_HAND));
+        }
+        return true;
+    }
+}
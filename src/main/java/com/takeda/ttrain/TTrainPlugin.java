@@ -2,10 +2,18 @@ package com.takeda.ttrain;
 
 import com.takeda.ttrain.commands.TrainCommand;
 import com.takeda.ttrain.config.ConfigManager;
+import com.takeda.ttrain.managers.LoadMonitor;
+import com.takeda.ttrain.managers.VisibilityManager;
 import com.takeda.ttrain.managers.ZombieManager;
 import com.takeda.ttrain.managers.GUIManager;
 import com.takeda.ttrain.managers.WorldManager;
+import com.takeda.ttrain.metrics.PluginMetrics;
+import com.takeda.ttrain.scheduler.TaskScheduler;
 import com.takeda.ttrain.listeners.GUIListener;
+import com.takeda.ttrain.listeners.PreferenceListener;
+import com.takeda.ttrain.listeners.SessionSweepListener;
+import com.takeda.ttrain.listeners.VisibilityListener;
+import com.takeda.ttrain.listeners.WorldListener;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,18 +21,33 @@ import org.slf4j.LoggerFactory;
 public final class TTrainPlugin extends JavaPlugin {
     private static TTrainPlugin instance;
     private static Logger pluginLogger;
+    private TaskScheduler taskScheduler;
     private ConfigManager configManager;
     private ZombieManager zombieManager;
     private GUIManager guiManager;
     private WorldManager worldManager;
+    private LoadMonitor loadMonitor;
+    private VisibilityManager visibilityManager;
+    private PluginMetrics metrics;
 
     @Override
     public void onEnable() {
         instance = this;
         pluginLogger = LoggerFactory.getLogger("T-Train");
         
+        // Paper's main thread, or Folia's region threads
+        this.taskScheduler = TaskScheduler.create(this);
+        if (taskScheduler.isRegionized()) {
+            pluginLogger.info("Running on Folia; sessions are ticked on their zombie's region");
+        }
+        
+        // Metrics first; the managers record into them from their constructors on
+        this.metrics = new PluginMetrics(this);
+        
         // Initialize managers
         this.configManager = new ConfigManager(this);
+        this.loadMonitor = new LoadMonitor(this);
+        this.visibilityManager = new VisibilityManager(this);
         this.zombieManager = new ZombieManager(this);
         this.guiManager = new GUIManager(this);
         this.worldManager = new WorldManager(this);
@@ -37,6 +60,19 @@ public final class TTrainPlugin extends JavaPlugin {
         
         // Register listeners
         getServer().getPluginManager().registerEvents(new GUIListener(this), this);
+        getServer().getPluginManager().registerEvents(new SessionSweepListener(this), this);
+        getServer().getPluginManager().registerEvents(new PreferenceListener(this), this);
+        getServer().getPluginManager().registerEvents(new VisibilityListener(this), this);
+        getServer().getPluginManager().registerEvents(new WorldListener(this), this);
+        
+        // Follow server load and scale back per-session work when it falls behind
+        this.loadMonitor.start();
+        
+        // JMX and the Prometheus textfile
+        this.metrics.start();
+        
+        // Resume or remove training zombies left over from a crash in already loaded chunks
+        this.zombieManager.sweepLoadedWorlds();
         
         // Save default config
         saveDefaultConfig();
@@ -46,11 +82,23 @@ public final class TTrainPlugin extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (loadMonitor != null) {
+            loadMonitor.stop();
+        }
+        if (metrics != null) {
+            metrics.stop();
+        }
+        
         // Clean up any active training sessions
         if (zombieManager != null) {
             zombieManager.cleanupAllZombies();
         }
         
+        // Flush pending preference changes
+        if (configManager != null) {
+            configManager.shutdown();
+        }
+        
         pluginLogger.info("T-Train has been disabled!");
     }
 
@@ -62,6 +110,10 @@ public final class TTrainPlugin extends JavaPlugin {
         return pluginLogger;
     }
 
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
     public ConfigManager getConfigManager() {
         return configManager;
     }
@@ -77,4 +129,16 @@ public final class TTrainPlugin extends JavaPlugin {
     public WorldManager getWorldManager() {
         return worldManager;
     }
+
+    public LoadMonitor getLoadMonitor() {
+        return loadMonitor;
+    }
+
+    public VisibilityManager getVisibilityManager() {
+        return visibilityManager;
+    }
+
+    public PluginMetrics getMetrics() {
+        return metrics;
+    }
 } 
\ No newline at end of file
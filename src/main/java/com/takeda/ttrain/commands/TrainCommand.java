@@ -1,6 +1,17 @@
 package com.takeda.ttrain.commands;
 
 import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.ConfigManager;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.loadout.Loadout;
+import com.takeda.ttrain.managers.LoadMonitor;
+import com.takeda.ttrain.managers.VisibilityManager;
+import com.takeda.ttrain.managers.ZombieManager;
+import com.takeda.ttrain.metrics.LatencyHistogram;
+import com.takeda.ttrain.metrics.MetricsRegistry;
+import com.takeda.ttrain.metrics.PluginMetrics;
+import com.takeda.ttrain.region.TrainingRegion;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -15,6 +26,7 @@ import java.util.List;
 
 public class TrainCommand implements CommandExecutor, TabCompleter {
     private static final Logger logger = LoggerFactory.getLogger(TrainCommand.class);
+    private static final int REGIONS_PER_PAGE = 10;
     private final TTrainPlugin plugin;
 
     public TrainCommand(TTrainPlugin plugin) {
@@ -23,6 +35,20 @@ public class TrainCommand implements CommandExecutor, TabCompleter {
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        // Reload works from the console too
+        if (args.length == 1 && args[0].equalsIgnoreCase("reload")) {
+            handleReload(sender);
+            return true;
+        }
+        if (args.length == 1 && args[0].equalsIgnoreCase("stats")) {
+            handleStats(sender);
+            return true;
+        }
+        if (args.length >= 1 && args[0].equalsIgnoreCase("regions")) {
+            handleRegions(sender, args);
+            return true;
+        }
+        
         if (!(sender instanceof Player player)) {
             sender.sendMessage(plugin.getConfigManager().getMessage("messages.chat-errors.player-only"));
             return true;
@@ -34,18 +60,23 @@ public class TrainCommand implements CommandExecutor, TabCompleter {
             return true;
         }
         
+        if (args.length >= 1 && args[0].equalsIgnoreCase("spectate")) {
+            handleSpectate(player, args);
+            return true;
+        }
+        
         // Handle different command formats
         if (args.length == 0) {
             // Open GUI with a slight delay for safety
             logger.info("Player {} is opening the training GUI", player.getName());
             
             // Wait 2 ticks to ensure previous inventories are closed properly
-            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            plugin.getTaskScheduler().runAtEntityLater(player, () -> {
                 if (player.isOnline()) {
                     plugin.getGuiManager().openTrainingGUI(player);
                     
                     // Add a backup open attempt if needed
-                    plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                    plugin.getTaskScheduler().runAtEntityLater(player, () -> {
                         if (player.isOnline() && player.getOpenInventory() == null) {
                             logger.debug("Backup attempt to open GUI for {}", player.getName());
                             plugin.getGuiManager().openTrainingGUI(player);
@@ -69,36 +100,48 @@ public class TrainCommand implements CommandExecutor, TabCompleter {
         }
         
         try {
-            int totems = plugin.getConfigManager().getDefaultTotems();
-            int duration = plugin.getConfigManager().getDefaultDuration();
+            TTrainSettings settings = plugin.getConfigManager().getSettings();
+            int totems = settings.getDefaultTotems();
+            int duration = settings.getDefaultDuration();
             
             if (args.length >= 1) {
                 totems = Integer.parseInt(args[0]);
-                if (totems < 1 || totems > plugin.getConfigManager().getMaxTotems()) {
-                    player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-totem-count")
-                        .replaceText(builder -> builder
-                            .matchLiteral("{max}")
-                            .replacement(String.valueOf(plugin.getConfigManager().getMaxTotems()))));
+                int minTotems = settings.getMinTotems();
+                int maxTotems = settings.getMaxTotems();
+                if (totems < minTotems || totems > maxTotems) {
+                    player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-totem-count",
+                        Placeholder.unparsed("min", String.valueOf(minTotems)),
+                        Placeholder.unparsed("max", String.valueOf(maxTotems))));
                     return true;
                 }
             }
             
             if (args.length >= 2) {
                 duration = Integer.parseInt(args[1]);
-                int minDuration = plugin.getConfigManager().getMinTrainingDuration();
-                int maxDuration = plugin.getConfigManager().getMaxTrainingDuration();
+                int minDuration = settings.getMinDuration();
+                int maxDuration = settings.getMaxDuration();
                 if (duration < minDuration || duration > maxDuration) {
-                    player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-duration")
-                         .replaceText(builder -> builder.matchLiteral("{min}").replacement(String.valueOf(minDuration)))
-                         .replaceText(builder -> builder.matchLiteral("{max}").replacement(String.valueOf(maxDuration))));
+                    player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-duration",
+                        Placeholder.unparsed("min", String.valueOf(minDuration)),
+                        Placeholder.unparsed("max", String.valueOf(maxDuration))));
+                    return true;
+                }
+            }
+            
+            Loadout loadout = settings.getDefaultLoadout();
+            if (args.length >= 3) {
+                loadout = settings.getLoadout(args[2]);
+                if (loadout == null) {
+                    player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.unknown-loadout",
+                        Placeholder.unparsed("loadout", args[2])));
                     return true;
                 }
             }
             
-            logger.info("Player {} spawned a training zombie with command: {} totems, {} seconds", 
-                player.getName(), totems, duration);
+            logger.info("Player {} spawned a training zombie with command: {} totems, {} seconds, loadout {}", 
+                player.getName(), totems, duration, loadout.getName());
                 
-            plugin.getZombieManager().spawnTrainingZombie(player, totems, duration);
+            plugin.getZombieManager().spawnTrainingZombie(player, totems, duration, loadout);
             return true;
         } catch (NumberFormatException e) {
             player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-number"));
@@ -106,32 +149,215 @@ public class TrainCommand implements CommandExecutor, TabCompleter {
         }
     }
 
-    @Override
-    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
-        if (!(sender instanceof Player player)) {
-            return Collections.emptyList();
+    private void handleSpectate(Player player, String[] args) {
+        ConfigManager config = plugin.getConfigManager();
+        if (!player.hasPermission("ttrain.spectate")) {
+            player.sendActionBar(config.getMessage("messages.action-bar.no-permission"));
+            return;
+        }
+        if (args.length != 2) {
+            player.sendMessage(config.getMessage("messages.chat-errors.spectate-usage"));
+            return;
         }
         
-        if (!player.hasPermission("ttrain.spawn.command")) {
-            return Collections.emptyList();
+        Player target = plugin.getServer().getPlayerExact(args[1]);
+        if (target == null) {
+            player.sendMessage(config.getMessage("messages.chat-errors.player-not-found",
+                Placeholder.unparsed("player", args[1])));
+            return;
+        }
+        if (target.equals(player)) {
+            player.sendActionBar(config.getMessage("messages.action-bar.spectate-self"));
+            return;
+        }
+        
+        VisibilityManager visibility = plugin.getVisibilityManager();
+        if (!plugin.getZombieManager().hasActiveZombie(target.getUniqueId())) {
+            player.sendActionBar(config.getMessage("messages.action-bar.spectate-no-session",
+                Placeholder.unparsed("player", target.getName())));
+            return;
         }
+        if (!visibility.isCulled(target.getUniqueId())) {
+            player.sendActionBar(config.getMessage("messages.action-bar.spectate-not-hidden",
+                Placeholder.unparsed("player", target.getName())));
+            return;
+        }
+        
+        boolean watching = visibility.toggleSpectator(target.getUniqueId(), player);
+        player.sendActionBar(config.getMessage(watching ? "messages.action-bar.spectate-started" : "messages.action-bar.spectate-stopped",
+            Placeholder.unparsed("player", target.getName())));
+    }
 
-        if (args.length == 1) {
+    private void handleStats(CommandSender sender) {
+        if (!sender.hasPermission("ttrain.admin")) {
+            sender.sendMessage(plugin.getConfigManager().getMessage("messages.action-bar.no-permission"));
+            return;
+        }
+        
+        ConfigManager config = plugin.getConfigManager();
+        PluginMetrics metrics = plugin.getMetrics();
+        ZombieManager zombies = plugin.getZombieManager();
+        LoadMonitor load = plugin.getLoadMonitor();
+        
+        sender.sendMessage(config.getMessage("messages.chat.stats-header"));
+        sender.sendMessage(config.getMessage("messages.chat.stats-sessions",
+            Placeholder.unparsed("active", String.valueOf(zombies.getActiveSessionCount())),
+            Placeholder.unparsed("queued", String.valueOf(zombies.getAdmissionController().getQueueSize())),
+            Placeholder.unparsed("spawns", String.valueOf(metrics.getSpawns().sum())),
+            Placeholder.unparsed("idle", String.valueOf(zombies.getIdleZombieCount()))));
+        sender.sendMessage(config.getMessage("messages.chat.stats-endings",
+            Placeholder.unparsed("pops", String.valueOf(metrics.getTotemPops().sum())),
+            Placeholder.unparsed("timeout", String.valueOf(metrics.getSessionsTimedOut().sum())),
+            Placeholder.unparsed("last-totem", String.valueOf(metrics.getSessionsEndedByLastTotem().sum()))));
+        sender.sendMessage(config.getMessage("messages.chat.stats-load",
+            Placeholder.unparsed("tier", load.getTier().getName()),
+            Placeholder.unparsed("mspt", String.format("%.1f", load.getLastMspt())),
+            Placeholder.unparsed("tps", String.format("%.1f", load.getLastTps())),
+            Placeholder.unparsed("hits", String.valueOf(config.getMessages().getHits())),
+            Placeholder.unparsed("misses", String.valueOf(config.getMessages().getMisses()))));
+        VisibilityManager visibility = plugin.getVisibilityManager();
+        sender.sendMessage(config.getMessage("messages.chat.stats-visibility",
+            Placeholder.unparsed("culled", String.valueOf(visibility.getCulledSessionCount())),
+            Placeholder.unparsed("pairs", String.valueOf(visibility.getCulledPairCount())),
+            Placeholder.unparsed("spectators", String.valueOf(visibility.getSpectatorCount()))));
+        
+        // One line per timer, in microseconds
+        for (MetricsRegistry.TimerMetric timer : metrics.getRegistry().getTimers()) {
+            LatencyHistogram.Snapshot snapshot = timer.histogram().snapshot();
+            String name = timer.name().substring(MetricsRegistry.PREFIX.length()).replace("_seconds", "");
+            sender.sendMessage(config.getMessage("messages.chat.stats-timer",
+                Placeholder.unparsed("name", name),
+                Placeholder.unparsed("count", String.valueOf(snapshot.getCount())),
+                Placeholder.unparsed("p50", formatMicros(snapshot.getValueAtPercentile(50.0))),
+                Placeholder.unparsed("p99", formatMicros(snapshot.getValueAtPercentile(99.0))),
+                Placeholder.unparsed("max", formatMicros(snapshot.getMaxNanos()))));
+        }
+    }
+
+    private void handleRegions(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("ttrain.admin")) {
+            sender.sendMessage(plugin.getConfigManager().getMessage("messages.action-bar.no-permission"));
+            return;
+        }
+        
+        ConfigManager config = plugin.getConfigManager();
+        List<TrainingRegion> regions = config.getRegions().getRegions();
+        if (regions.isEmpty()) {
+            sender.sendMessage(config.getMessage("messages.chat.regions-none"));
+            return;
+        }
+        
+        int pages = (regions.size() + REGIONS_PER_PAGE - 1) / REGIONS_PER_PAGE;
+        int page = 1;
+        if (args.length >= 2) {
+            try {
+                page = Math.max(1, Math.min(pages, Integer.parseInt(args[1])));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(config.getMessage("messages.action-bar.invalid-number"));
+                return;
+            }
+        }
+        
+        sender.sendMessage(config.getMessage("messages.chat.regions-header",
+            Placeholder.unparsed("count", String.valueOf(regions.size())),
+            Placeholder.unparsed("page", String.valueOf(page)),
+            Placeholder.unparsed("pages", String.valueOf(pages))));
+        int end = Math.min(regions.size(), page * REGIONS_PER_PAGE);
+        for (TrainingRegion region : regions.subList((page - 1) * REGIONS_PER_PAGE, end)) {
+            sender.sendMessage(config.getMessage("messages.chat.regions-entry",
+                Placeholder.unparsed("name", region.name()),
+                Placeholder.unparsed("world", region.world()),
+                Placeholder.unparsed("min", region.minX() + ", " + region.minY() + ", " + region.minZ()),
+                Placeholder.unparsed("max", region.maxX() + ", " + region.maxY() + ", " + region.maxZ()),
+                Placeholder.unparsed("priority", String.valueOf(region.priority())),
+                Placeholder.unparsed("mode", region.deny() ? "deny" : "allow")));
+        }
+    }
+
+    private static String formatMicros(long nanos) {
+        return String.format("%.1f", nanos / 1000.0);
+    }
+
+    private void handleReload(CommandSender sender) {
+        if (!sender.hasPermission("ttrain.admin")) {
+            sender.sendMessage(plugin.getConfigManager().getMessage("messages.action-bar.no-permission"));
+            return;
+        }
+        
+        // Player commands run on the player's region on Folia; reloads are published from the global one
+        if (!plugin.getTaskScheduler().isGlobalThread()) {
+            plugin.getTaskScheduler().runGlobal(() -> handleReload(sender));
+            return;
+        }
+        
+        long start = System.nanoTime();
+        plugin.getConfigManager().reload(false).whenComplete((snapshot, error) -> {
+            if (error != null) {
+                logger.error("Failed to reload config.yml: {}", error.getMessage());
+                sender.sendMessage(plugin.getConfigManager().getMessage("messages.chat-errors.reload-failed",
+                    Placeholder.unparsed("error", String.valueOf(error.getMessage()))));
+                return;
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+            logger.info("{} reloaded the configuration in {} ms", sender.getName(), elapsedMillis);
+            sender.sendMessage(plugin.getConfigManager().getMessage("messages.chat.config-reloaded",
+                Placeholder.unparsed("time", String.valueOf(elapsedMillis))));
+        });
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        boolean admin = sender.hasPermission("ttrain.admin");
+        boolean spectate = sender instanceof Player && sender.hasPermission("ttrain.spectate");
+        if (spectate && args.length == 2 && args[0].equalsIgnoreCase("spectate")) {
+            List<String> names = new ArrayList<>();
+            for (Player online : plugin.getServer().getOnlinePlayers()) {
+                if (online != sender && online.getName().regionMatches(true, 0, args[1], 0, args[1].length())) {
+                    names.add(online.getName());
+                }
+            }
+            return names;
+        }
+        if (!(sender instanceof Player player) || !player.hasPermission("ttrain.spawn.command")) {
+            if (args.length != 1) return Collections.emptyList();
             List<String> completions = new ArrayList<>();
-            for (int i = 1; i <= Math.min(plugin.getConfigManager().getMaxTotems(), 10); i++) {
-                completions.add(String.valueOf(i));
+            if (admin) {
+                completions.add("regions");
+                completions.add("reload");
+                completions.add("stats");
+            }
+            if (spectate) {
+                completions.add("spectate");
             }
             return completions;
         }
 
-        if (args.length == 2) {
-            List<String> completions = new ArrayList<>();
-            for (int i = 15; i <= Math.min(plugin.getConfigManager().getMaxTrainingDuration(), 300); i += 15) {
-                completions.add(String.valueOf(i));
+        // Precomputed per config load; the lists are immutable
+        if (args.length == 1) {
+            List<String> totems = plugin.getConfigManager().getSettings().getTotemCompletions();
+            if (!admin && !spectate) {
+                return totems;
+            }
+            List<String> completions = new ArrayList<>(totems);
+            if (admin) {
+                completions.add("regions");
+                completions.add("reload");
+                completions.add("stats");
+            }
+            if (spectate) {
+                completions.add("spectate");
             }
             return completions;
         }
 
+        if (args.length == 2) {
+            return plugin.getConfigManager().getSettings().getDurationCompletions();
+        }
+
+        if (args.length == 3) {
+            return plugin.getConfigManager().getSettings().getLoadoutCompletions();
+        }
+
         return Collections.emptyList();
     }
 } 
\ No newline at end of file
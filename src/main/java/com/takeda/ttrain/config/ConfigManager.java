@@ -1,96 +1,278 @@
 package com.takeda.ttrain.config;
 
 import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.store.PreferenceStore;
+import com.takeda.ttrain.config.store.SqlitePreferenceStore;
+import com.takeda.ttrain.config.store.YamlPreferenceStore;
+import com.takeda.ttrain.gui.GUILayout;
+import com.takeda.ttrain.region.RegionIndex;
+import com.takeda.ttrain.scheduler.TaskHandle;
+import com.takeda.ttrain.text.ComponentTemplate;
+import com.takeda.ttrain.text.MessageService;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.Sound;
 import org.slf4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ConfigManager {
+    private static final long PREFERENCE_EXPIRY_PERIOD_TICKS = 20L * 60 * 60;
+
     private final Logger logger;
     private final TTrainPlugin plugin;
-    private FileConfiguration config;
+    private final File configFile;
+    private final YamlConfiguration defaults;
     private final Map<UUID, PlayerPreferences> playerPreferences;
     private final MiniMessage miniMessage;
-    private final Map<String, String> messageCache;
-    private boolean configNeedsSaving = false;
+    // Message cache counts, shared by every MessageService so they keep counting across reloads
+    private final LongAdder messageHits;
+    private final LongAdder messageMisses;
+    // Everything derived from config.yml, replaced as a whole on every load
+    private volatile ConfigSnapshot snapshot;
+    private final AtomicBoolean reloading;
+    private ConfigWatcher watcher;
+    private PreferenceStore preferenceStore;
+    private PreferenceWriter preferenceWriter;
+    private TaskHandle expiryTask;
 
     public ConfigManager(TTrainPlugin plugin) {
         this.plugin = plugin;
         this.logger = TTrainPlugin.getPluginLogger();
+        this.configFile = new File(plugin.getDataFolder(), "config.yml");
+        this.defaults = loadDefaults();
         this.playerPreferences = new ConcurrentHashMap<>();
         this.miniMessage = MiniMessage.miniMessage();
-        this.messageCache = new ConcurrentHashMap<>();
+        this.messageHits = new LongAdder();
+        this.messageMisses = new LongAdder();
+        this.reloading = new AtomicBoolean();
         loadConfig();
+        initPreferences();
+        updateWatcher();
+    }
+
+    private YamlConfiguration loadDefaults() {
+        try (InputStream in = plugin.getResource("config.yml")) {
+            if (in != null) {
+                return YamlConfiguration.loadConfiguration(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            logger.error("Could not read the bundled config.yml", e);
+        }
+        return new YamlConfiguration();
     }
 
+    /**
+     * Loads config.yml on the calling thread. Used at startup; use {@link #reload} while the server is running.
+     */
     public void loadConfig() {
         try {
-            File configFile = new File(plugin.getDataFolder(), "config.yml");
             if (!configFile.exists()) {
                 plugin.saveDefaultConfig();
                 logger.info("Created default config.yml");
             }
-            config = plugin.getConfig();
-            configNeedsSaving = false; // Reset flag
-            
-            // Pre-cache messages for better performance
-            cacheMessages();
-            
-            // Save config if any defaults were added during caching
-            if (configNeedsSaving) {
-                saveConfig();
-            }
-            
-            // Load player preferences from config
-            loadPlayerPreferences();
-            
+            snapshot = buildSnapshot(Files.readString(configFile.toPath()), loadedWorldNames());
+            saveAddedDefaults(snapshot);
         } catch (Exception e) {
             logger.error("Error loading configuration", e);
+            try {
+                // Keep the plugin usable with the bundled defaults
+                snapshot = buildSnapshot("", loadedWorldNames());
+            } catch (Exception fallbackError) {
+                logger.error("Could not load the default configuration", fallbackError);
+            }
+        }
+    }
+
+    /**
+     * Re-reads config.yml without blocking the main thread.
+     * <p>
+     * The file is parsed and every derived structure (settings, messages, world policy, GUI layout)
+     * is rebuilt on an async thread, which also writes back any message defaults that were missing;
+     * the finished snapshot is then published on the main thread (the global region on Folia) in a
+     * single write. Sessions and open menus keep the objects they already hold, so nothing stalls.
+     * Must be called from the main thread or global region.
+     * <p>
+     * The future completes with the new snapshot, with null if {@code onlyIfChanged} is set and the
+     * file is unchanged, or exceptionally if the file is invalid or a reload is already running.
+     */
+    public CompletableFuture<ConfigSnapshot> reload(boolean onlyIfChanged) {
+        CompletableFuture<ConfigSnapshot> result = new CompletableFuture<>();
+        if (!reloading.compareAndSet(false, true)) {
+            result.completeExceptionally(new IllegalStateException("A reload is already in progress"));
+            return result;
+        }
+        
+        // World names are read here; the async task must not touch the server
+        Set<String> loadedWorlds = loadedWorldNames();
+        plugin.getTaskScheduler().runAsync(() -> {
+            ConfigSnapshot next;
+            try {
+                String source = Files.readString(configFile.toPath());
+                if (onlyIfChanged && source.equals(snapshot.source())) {
+                    reloading.set(false);
+                    result.complete(null);
+                    return;
+                }
+                next = buildSnapshot(source, loadedWorlds);
+                saveAddedDefaults(next);
+            } catch (Exception e) {
+                reloading.set(false);
+                result.completeExceptionally(e);
+                return;
+            }
+            
+            plugin.getTaskScheduler().runGlobal(() -> {
+                ConfigSnapshot previous = snapshot;
+                snapshot = next;
+                reloading.set(false);
+                onReloaded(previous, next);
+                result.complete(next);
+            });
+        });
+        return result;
+    }
+
+    private void onReloaded(ConfigSnapshot previous, ConfigSnapshot next) {
+        if (!previous.settings().getPreferenceBackend().equalsIgnoreCase(next.settings().getPreferenceBackend())) {
+            logger.warn("preferences.backend changed to '{}'; restart the server to switch preference stores",
+                next.settings().getPreferenceBackend());
+        }
+        updateWatcher();
+        logger.info("Reloaded config.yml");
+    }
+
+    private Set<String> loadedWorldNames() {
+        Set<String> names = new HashSet<>();
+        for (World world : plugin.getServer().getWorlds()) {
+            names.add(world.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Parses config.yml and builds everything derived from it. Touches no shared state, so it is safe
+     * to run off the main thread. Missing message defaults are added to the snapshot's source but not
+     * written; see {@link #saveAddedDefaults}.
+     */
+    private ConfigSnapshot buildSnapshot(String source, Set<String> loadedWorlds) throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.setDefaults(defaults);
+        config.loadFromString(source);
+        
+        // Pre-cache messages for better performance
+        Map<String, String> messageCache = new HashMap<>();
+        boolean defaultsAdded = cacheMessages(config, messageCache);
+        if (defaultsAdded) {
+            source = config.saveToString();
+        }
+        
+        // Parse every value once; readers only see complete snapshots
+        TTrainSettings settings = TTrainSettings.load(config, miniMessage);
+        MessageService messages = new MessageService(miniMessage, messageCache, messageHits, messageMisses);
+        WorldPolicy worlds = WorldPolicy.load(config, loadedWorlds);
+        RegionIndex regions = RegionIndex.load(config);
+        GUILayout layout = GUILayout.compile(settings, messages);
+        return new ConfigSnapshot(source, defaultsAdded, config, settings, messages, worlds, regions, layout);
+    }
+
+    // Writes config.yml with the message defaults a new snapshot added, before it is published
+    private void saveAddedDefaults(ConfigSnapshot built) {
+        if (built.defaultsAdded()) {
+            writeConfig(built.source());
         }
     }
     
-    private void cacheMessages() {
-        messageCache.clear();
+    /**
+     * Fills the message cache from config; returns true if missing defaults were added to the config.
+     */
+    private boolean cacheMessages(FileConfiguration config, Map<String, String> messageCache) {
         // Cache all message sections
-        cacheMessagesFromSection("messages.input");
-        cacheMessagesFromSection("messages.action-bar");
-        cacheMessagesFromSection("messages.chat-errors");
-        cacheMessagesFromSection("items"); // Includes name and lore
-        cacheMessagesFromSection("gui"); // Include title
+        cacheMessagesFromSection(config, messageCache, "messages.input");
+        cacheMessagesFromSection(config, messageCache, "messages.action-bar");
+        cacheMessagesFromSection(config, messageCache, "messages.chat");
+        cacheMessagesFromSection(config, messageCache, "messages.chat-errors");
+        cacheMessagesFromSection(config, messageCache, "items"); // Includes name and lore
+        cacheMessagesFromSection(config, messageCache, "gui"); // Include title
         
         // Add critical default values manually if they were missed
-        ensureMessageExists("messages.chat-errors.player-only", "<#fb6340>✖ This command can only be used by players!</#fb6340>");
-        ensureMessageExists("messages.chat-errors.invalid-usage", "<#fb6340>✖ Invalid usage! Use: <#adb5bd>/train [totems] [duration]</#adb5bd></#fb6340>");
-        ensureMessageExists("messages.action-bar.no-permission", "<#fb6340>✖ You lack permission!</#fb6340>");
-        ensureMessageExists("messages.action-bar.invalid-number", "<#fb6340>✖ Invalid number entered!</#fb6340>");
-        ensureMessageExists("messages.action-bar.gui-error", "<#fb6340>✖ GUI Error! (Check console)</#fb6340>");
-        ensureMessageExists("messages.action-bar.preferences-saved", "<#2dce89>✔ Preferences saved!</#2dce89>");
-        ensureMessageExists("messages.action-bar.preferences-reset", "<#2dce89>✔ Settings reset to defaults!</#2dce89>");
-        ensureMessageExists("messages.action-bar.totem-used", "<#f5365c>⚠ Zombie used totem! <white>{count}</white> left.</#f5365c>");
-        ensureMessageExists("messages.action-bar.training-complete", "<#2dce89>✔ Training session ended!</#2dce89>");
-        ensureMessageExists("messages.action-bar.zombie-spawned", "<#2dce89>✔ Zombie spawned: <white>{totems}</white> totems, <white>{duration}s</white> duration!</#2dce89>");
-        ensureMessageExists("messages.action-bar.totem-count-set", "<#2dce89>✔ Totem count set to <white>{count}</white>!</#2dce89>");
-        ensureMessageExists("messages.action-bar.duration-set", "<#2dce89>✔ Duration set to <white>{duration}s</white>!</#2dce89>");
+        boolean added = false;
+        added |= ensureMessageExists(config, messageCache, "messages.chat-errors.player-only", "<#fb6340>✖ This command can only be used by players!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat-errors.invalid-usage", "<#fb6340>✖ Invalid usage! Use: <#adb5bd>/train [totems] [duration] [loadout]</#adb5bd></#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat-errors.reload-failed", "<#fb6340>✖ Reload failed: <#adb5bd>{error}</#adb5bd></#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat.stats-header", "<gradient:#5e72e4:#825ee4><b>T-Train Stats</b></gradient>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat.stats-sessions", "<#adb5bd>Sessions: <white>{active}</white> active, <white>{queued}</white> queued, <white>{spawns}</white> spawned, <white>{idle}</white> pooled</#adb5bd>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat.stats-endings", "<#adb5bd>Totem pops: <white>{pops}</white> • Ended by timeout: <white>{timeout}</white> • by last totem: <white>{last-totem}</white></#adb5bd>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat.stats-load", "<#adb5bd>Load tier: <white>{tier}</white> (MSPT <white>{mspt}</white>, TPS <white>{tps}</white>) • Message cache: <white>{hits}</white> hits, <white>{misses}</white> misses</#adb5bd>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat.stats-timer", "<#adb5bd>{name}: <white>{count}</white> calls, p50 <white>{p50}µs</white>, p99 <white>{p99}µs</white>, max <white>{max}µs</white></#adb5bd>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat.regions-header", "<gradient:#5e72e4:#825ee4><b>Training Regions</b></gradient> <#adb5bd>{count} total • page <white>{page}</white>/<white>{pages}</white></#adb5bd>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat.regions-entry", "<#adb5bd><white>{name}</white> in <white>{world}</white>: {min} → {max}, priority <white>{priority}</white>, <white>{mode}</white></#adb5bd>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat.regions-none", "<#adb5bd>No training regions are configured.</#adb5bd>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat.stats-visibility", "<#adb5bd>Owner-only zombies: <white>{culled}</white> • Viewer pairs culled: <white>{pairs}</white> • Spectators: <white>{spectators}</white></#adb5bd>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat-errors.spectate-usage", "<#fb6340>✖ Invalid usage! Use: <#adb5bd>/train spectate [player]</#adb5bd></#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat-errors.player-not-found", "<#fb6340>✖ Player <white>{player}</white> is not online!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.spectate-started", "<#2dce89>✔ Watching <white>{player}</white>'s training zombie!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.spectate-stopped", "<#2dce89>✔ Stopped watching <white>{player}</white>'s training zombie!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.spectate-self", "<#fb6340>✖ You can always see your own training zombie!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.spectate-no-session", "<#fb6340>✖ <white>{player}</white> is not training!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.spectate-not-hidden", "<#fb6340>✖ <white>{player}</white>'s training zombie is visible to everyone!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.chat.config-reloaded", "<#2dce89>✔ Configuration reloaded in <white>{time}ms</white>!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.no-permission", "<#fb6340>✖ You lack permission!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.invalid-number", "<#fb6340>✖ Invalid number entered!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.gui-error", "<#fb6340>✖ GUI Error! (Check console)</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.preferences-saved", "<#2dce89>✔ Preferences saved!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.preferences-reset", "<#2dce89>✔ Settings reset to defaults!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.totem-used", "<#f5365c>⚠ Zombie used totem! <white>{count}</white> left.</#f5365c>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.training-complete", "<#2dce89>✔ Training session ended!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.training-resumed", "<#2dce89>✔ Training session resumed!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.zombie-spawned", "<#2dce89>✔ Zombie spawned: <white>{totems}</white> totems, <white>{duration}s</white> duration!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.totem-count-set", "<#2dce89>✔ Totem count set to <white>{count}</white>!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.duration-set", "<#2dce89>✔ Duration set to <white>{duration}s</white>!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.loadout-set", "<#2dce89>✔ Loadout set to <white>{loadout}</white>!</#2dce89>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.unknown-loadout", "<#fb6340>✖ Unknown loadout <white>{loadout}</white>!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.spawn-queued", "<#11cdef>⏳ Waiting for a training slot: <white>#{position}</white> of <white>{size}</white></#11cdef>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.spawn-queue-full", "<#fb6340>✖ All training slots are taken. Try again later!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.spawn-queue-timeout", "<#fb6340>✖ No training slot became free in time!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.arena-full", "<#fb6340>✖ Every arena plot is taken. Try again later!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "messages.action-bar.outside-region", "<#fb6340>✖ Training is only allowed inside a training area here!</#fb6340>");
+        added |= ensureMessageExists(config, messageCache, "items.loadout.name", "<gradient:#5e72e4:#825ee4><b>Zombie Loadout</b></gradient>");
+        added |= ensureLinesExist(config, messageCache, "items.loadout.lore", List.of(
+            "<#adb5bd>Current: <#11cdef>{loadout}</#11cdef></#adb5bd>",
+            " ",
+            "<#f5365c>Click to cycle</#f5365c>"));
 
         logger.info("Cached {} message entries from config.yml", messageCache.size());
+        return added;
     }
     
     /** 
      * Recursively caches messages from a config section.
      */
-    private void cacheMessagesFromSection(String sectionPath) {
+    private void cacheMessagesFromSection(FileConfiguration config, Map<String, String> messageCache, String sectionPath) {
         ConfigurationSection section = config.getConfigurationSection(sectionPath);
         if (section == null) {
             logger.debug("Config section not found for caching: {}", sectionPath);
@@ -115,190 +297,296 @@ public class ConfigManager {
     /**
      * Ensures a message exists in the cache and config, adding a default if not.
      */
-    private void ensureMessageExists(String key, String defaultValue) {
+    private boolean ensureMessageExists(FileConfiguration config, Map<String, String> messageCache, String key, String defaultValue) {
         if (!messageCache.containsKey(key)) {
             messageCache.put(key, defaultValue);
             config.set(key, defaultValue); // Set in config as well
-            configNeedsSaving = true; // Mark config for saving
             logger.warn("Added missing default message key to config: {} (Will be saved)", key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ensures a list message such as item lore exists, adding a default if not. Cached joined by newlines.
+     */
+    private boolean ensureLinesExist(FileConfiguration config, Map<String, String> messageCache, String key, List<String> defaultLines) {
+        if (!messageCache.containsKey(key)) {
+            messageCache.put(key, String.join("\n", defaultLines));
+            config.set(key, defaultLines); // Set in config as well
+            logger.warn("Added missing default message key to config: {} (Will be saved)", key);
+            return true;
         }
+        return false;
     }
 
     public void saveConfig() {
+        ConfigSnapshot current = snapshot;
+        writeConfig(current.config().saveToString());
+    }
+
+    private synchronized void writeConfig(String contents) {
         try {
-            plugin.saveConfig();
-            configNeedsSaving = false; // Reset flag after saving
+            Files.writeString(configFile.toPath(), contents);
             logger.debug("Saved config.yml");
-        } catch (Exception e) {
+        } catch (IOException e) {
             logger.error("Could not save config.yml", e);
         }
     }
 
+    /**
+     * Starts or stops the config.yml file watcher to match reload.watch-file.
+     */
+    private void updateWatcher() {
+        boolean enabled = snapshot.settings().shouldWatchConfigFile();
+        if (enabled && watcher == null) {
+            watcher = new ConfigWatcher(configFile.toPath(), () -> plugin.getTaskScheduler().runGlobal(() ->
+                reload(true).whenComplete((next, error) -> {
+                    if (error != null) {
+                        logger.error("Could not reload config.yml after it changed: {}", error.getMessage());
+                    }
+                })));
+            try {
+                watcher.start();
+                logger.info("Watching config.yml for changes");
+            } catch (IOException e) {
+                logger.error("Could not watch config.yml for changes", e);
+                watcher = null;
+            }
+        } else if (!enabled && watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
     // --- Getters for Config Values --- 
 
+    public TTrainSettings getSettings() {
+        return snapshot.settings();
+    }
+
+    public WorldPolicy getWorldPolicy() {
+        return snapshot.worlds();
+    }
+
+    public RegionIndex getRegions() {
+        return snapshot.regions();
+    }
+
+    public GUILayout getGuiLayout() {
+        return snapshot.layout();
+    }
+
+    /**
+     * Compiled zombie name tag; render with the remaining seconds and totems, in that order.
+     */
+    public ComponentTemplate getNameTagTemplate() {
+        return getSettings().getNameTagTemplate();
+    }
+
     public int getMaxTotems() {
-        return config.getInt("zombie.max-totems", 5);
+        return getSettings().getMaxTotems();
     }
     
     public int getMinTotems() {
-        return config.getInt("training.min-totems", 1);
+        return getSettings().getMinTotems();
     }
 
     public int getMaxTrainingDuration() {
-        return config.getInt("training.max-duration", 300);
+        return getSettings().getMaxDuration();
     }
     
     public int getMinTrainingDuration() {
-        return config.getInt("training.min-duration", 10);
+        return getSettings().getMinDuration();
     }
     
     public int getDefaultTotems() {
-        return config.getInt("training.default-totems", 1);
+        return getSettings().getDefaultTotems();
     }
     
     public int getDefaultDuration() {
-        return config.getInt("training.default-duration", 60);
+        return getSettings().getDefaultDuration();
     }
     
     public boolean shouldEndSessionOnLastTotem() {
-        return config.getBoolean("zombie.end-session-on-last-totem", true);
+        return getSettings().shouldEndSessionOnLastTotem();
     }
 
-    public Component getGuiTitle() {
-        return getMessage("gui.title", "<gradient:#5e72e4:#825ee4><b>Crystal PvP Training</b></gradient>");
+    /**
+     * Whether training zombies left over from a crash should resume their session ("resume")
+     * or be removed ("remove") when their chunk loads.
+     */
+    public boolean shouldResumeOrphanedSessions() {
+        return getSettings().shouldResumeOrphanedSessions();
     }
-    
-    public int getGUISize() {
-        int size = config.getInt("gui.size", 45);
-        if (size <= 0 || size % 9 != 0) {
-            logger.warn("Invalid GUI size ({}) in config.yml. Must be a multiple of 9. Using default 45.", size);
-            return 45;
-        }
-        return size;
+
+    public Sound getSound(SoundEffect effect) {
+        return getSettings().getSound(effect);
+    }
+
+    /**
+     * Parsed message cache for the current config.
+     */
+    public MessageService getMessages() {
+        return snapshot.messages();
+    }
+
+    /**
+     * Gets a parsed Component message, filling {@code {name}} placeholders from the resolvers.
+     * Uses a default value if the key is missing.
+     */
+    public Component getMessage(String key, String defaultRawValue, TagResolver... placeholders) {
+        return getMessages().getOrDefault(key, defaultRawValue, placeholders);
     }
     
-    public int getGUISlot(String buttonName) {
-        return config.getInt("gui.slots." + buttonName, -1);
+    /**
+     * Gets a parsed Component message, filling {@code {name}} placeholders from the resolvers.
+     * Logs an error and returns a plain text error message if the key is missing.
+     */
+    public Component getMessage(String key, TagResolver... placeholders) {
+        return getMessages().get(key, placeholders);
     }
+
+    // --- Player Preferences Management --- 
     
-    public Material getGUIMaterial(String buttonName, Material defaultMaterial) {
-        String materialName = config.getString("gui.button-materials." + buttonName);
-        if (materialName == null) {
-            logger.warn("Missing GUI button material for '{}' in config.yml. Using default: {}", buttonName, defaultMaterial.name());
-            return defaultMaterial;
+    private void initPreferences() {
+        String backend = getSettings().getPreferenceBackend();
+        File yamlFile = new File(plugin.getDataFolder(), "preferences.yml");
+        PreferenceStore store;
+        if ("yaml".equalsIgnoreCase(backend)) {
+            store = new YamlPreferenceStore(yamlFile);
+        } else {
+            if (!"sqlite".equalsIgnoreCase(backend)) {
+                logger.warn("Unknown preferences.backend '{}' in config.yml. Using sqlite.", backend);
+            }
+            store = new SqlitePreferenceStore(new File(plugin.getDataFolder(), "preferences.db"));
         }
+        
         try {
-            return Material.valueOf(materialName.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            logger.error("Invalid GUI button material '{}' for '{}' in config.yml. Using default: {}", materialName, buttonName, defaultMaterial.name());
-            return defaultMaterial;
+            store.open();
+        } catch (IOException e) {
+            logger.error("Could not open the {} preference store. Falling back to yaml.", store.getName(), e);
+            store = new YamlPreferenceStore(yamlFile);
+            try {
+                store.open();
+            } catch (IOException fallbackError) {
+                logger.error("Could not open preferences.yml", fallbackError);
+            }
         }
+        preferenceStore = store;
+        preferenceWriter = new PreferenceWriter(store, getSettings().getPreferenceFlushDelayMillis(),
+            plugin.getMetrics().getPreferenceFlushTimer());
+        
+        if (store instanceof SqlitePreferenceStore && yamlFile.exists()) {
+            migrateYamlPreferences(yamlFile);
+        }
+        migrateLegacyPreferences();
+        
+        // Expire preferences of players who have not been seen for a while, now and then hourly
+        expiryTask = plugin.getTaskScheduler().runGlobalTimer(this::expirePreferences, 1L, PREFERENCE_EXPIRY_PERIOD_TICKS);
+        
+        // Players already online (e.g. after a reload) never went through pre-login
+        plugin.getServer().getOnlinePlayers().forEach(player -> {
+            UUID uuid = player.getUniqueId();
+            preferenceWriter.execute(() -> loadPlayerPreferences(uuid));
+        });
     }
 
-    public String getSoundEffect(String key, String defaultValue) {
-        return config.getString("sounds." + key, defaultValue);
+    // Runs the purge on the writer thread, with the expiry from the current config
+    private void expirePreferences() {
+        int expireAfterDays = getSettings().getPreferenceExpireAfterDays();
+        if (expireAfterDays <= 0) return;
+
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(expireAfterDays);
+        preferenceWriter.execute(() -> {
+            try {
+                int purged = preferenceStore.purgeUnseenSince(cutoff);
+                if (purged > 0) {
+                    logger.info("Removed preferences of {} player(s) unseen for {} days", purged, expireAfterDays);
+                }
+            } catch (IOException e) {
+                logger.error("Could not remove expired player preferences", e);
+            }
+        });
     }
 
     /**
-     * Gets the raw message string from the cache, or a default value if not found.
-     * Does NOT trigger saving defaults.
+     * Imports preferences.yml into the database the first time the sqlite backend is used.
      */
-    public String getRawMessage(String key, String defaultValue) {
-        String message = messageCache.get(key);
-        if (message == null) {
-            logger.warn("Missing message key '{}', using provided default.", key);
-            return defaultValue;
+    private void migrateYamlPreferences(File yamlFile) {
+        YamlPreferenceStore yamlStore = new YamlPreferenceStore(yamlFile);
+        yamlStore.open();
+        Map<UUID, PlayerPreferences> all = yamlStore.loadAll();
+        all.forEach(preferenceWriter::write);
+        preferenceWriter.flush();
+        File migratedFile = new File(yamlFile.getParentFile(), yamlFile.getName() + ".migrated");
+        if (!yamlFile.renameTo(migratedFile)) {
+            logger.warn("Could not rename {} after migrating it; it will be imported again on next start", yamlFile.getName());
         }
-        return message;
+        logger.info("Migrated {} player preferences from {} to the {} store", all.size(), yamlFile.getName(), preferenceStore.getName());
     }
-    
+
     /**
-     * Gets a parsed Component message using MiniMessage.
-     * Uses a default value if the key is missing.
-     */
-    public Component getMessage(String key, String defaultRawValue) {
-        String rawMessage = getRawMessage(key, defaultRawValue);
-        try {
-            return miniMessage.deserialize(rawMessage);
-        } catch (Exception e) {
-            logger.error("Failed to parse MiniMessage for key '{}': {}. Falling back to plain text.", key, e.getMessage());
-            // Fallback to plain text to avoid errors
-            return Component.text(rawMessage); 
-        }
-    }
-    
-     /**
-     * Gets a parsed Component message using MiniMessage.
-     * Logs a warning and returns a plain text error message if the key is missing.
+     * Moves preferences stored in config.yml by older versions into the preference store.
      */
-    public Component getMessage(String key) {
-        String rawMessage = messageCache.get(key);
-        if (rawMessage == null) {
-             logger.error("Missing required message key '{}'. Please check config.yml!", key);
-             return Component.text("[Error: Missing message key: " + key + "]");
-        }
-        try {
-            return miniMessage.deserialize(rawMessage);
-        } catch (Exception e) {
-            logger.error("Failed to parse MiniMessage for key '{}': {}. Falling back to plain text.", key, e.getMessage());
-            // Fallback to plain text to avoid errors
-            return Component.text(rawMessage); 
+    private void migrateLegacyPreferences() {
+        FileConfiguration config = snapshot.config();
+        ConfigurationSection prefsSection = config.getConfigurationSection("player-preferences");
+        if (prefsSection == null) return;
+        
+        int migrated = 0;
+        for (String key : prefsSection.getKeys(false)) {
+            try {
+                UUID uuid = UUID.fromString(key);
+                String path = "player-preferences." + key;
+                preferenceWriter.write(uuid, new PlayerPreferences(
+                    config.getInt(path + ".totems", getDefaultTotems()),
+                    config.getInt(path + ".duration", getDefaultDuration())));
+                migrated++;
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid UUID in player preferences: {}", key);
+            }
         }
+        preferenceWriter.flush();
+        config.set("player-preferences", null);
+        saveConfig();
+        logger.info("Migrated {} player preferences from config.yml to the {} store", migrated, preferenceStore.getName());
     }
-    
+
     /**
-     * Gets a list of raw String lines for lore.
-     * Returns an empty list if the key is missing or not a list/string.
+     * Loads a player's stored preferences into memory. Blocks on the store; called from
+     * the async pre-login thread so the main thread never waits for disk.
      */
-    public List<String> getRawLore(String key) {
-        String rawLore = messageCache.get(key);
-        if (rawLore == null || rawLore.isEmpty()) {
-            if (!config.isList(key) && !config.isString(key)){
-                 logger.warn("Missing or invalid lore key '{}'. Expected a list or string.", key);
+    public void loadPlayerPreferences(UUID uuid) {
+        try {
+            PlayerPreferences prefs = preferenceWriter.load(uuid);
+            if (prefs != null) {
+                playerPreferences.put(uuid, prefs);
             }
-            return List.of(); // Return empty list
+        } catch (IOException e) {
+            logger.error("Could not load preferences for {}. Using defaults.", uuid, e);
         }
-        // Split the cached string (which might have come from a list joined by \n)
-        return List.of(rawLore.split("\\n")); 
     }
 
-    // --- Player Preferences Management --- 
-    
-    private void loadPlayerPreferences() {
-        playerPreferences.clear();
-        ConfigurationSection prefsSection = config.getConfigurationSection("player-preferences");
-        if (prefsSection != null) {
-            prefsSection.getKeys(false).forEach(key -> {
-                try {
-                    UUID uuid = UUID.fromString(key);
-                    String path = "player-preferences." + key;
-                    
-                    int totems = config.getInt(path + ".totems", getDefaultTotems());
-                    int duration = config.getInt(path + ".duration", getDefaultDuration());
-                    
-                    playerPreferences.put(uuid, new PlayerPreferences(totems, duration));
-                } catch (IllegalArgumentException e) {
-                    logger.warn("Invalid UUID in player preferences: {}", key);
-                } catch (Exception e) {
-                    logger.warn("Error loading preferences for UUID: {}", key, e);
-                }
-            });
-            logger.info("Loaded {} player preferences", playerPreferences.size());
-        }
+    /**
+     * Drops a player's preferences from memory when they leave.
+     */
+    public void evictPlayerPreferences(UUID uuid) {
+        playerPreferences.remove(uuid);
+        preferenceWriter.markSeen(uuid);
     }
 
-    public synchronized void savePlayerPreferences(UUID uuid, PlayerPreferences preferences) {
+    public void savePlayerPreferences(UUID uuid, PlayerPreferences preferences) {
+        long start = System.nanoTime();
         playerPreferences.put(uuid, preferences);
-        // Save to config
-        String path = "player-preferences." + uuid.toString();
-        config.set(path + ".totems", preferences.getTotems());
-        config.set(path + ".duration", preferences.getDuration());
-        saveConfig(); // Save immediately after changing preferences
+        // Written to the store in the background, coalesced with other changes
+        preferenceWriter.write(uuid, preferences);
+        plugin.getMetrics().getPreferenceSaveTimer().recordSince(start);
         logger.debug("Saved preferences for player {}", uuid);
     }
 
     public PlayerPreferences getPlayerPreferences(UUID uuid) {
-        // Return existing prefs or create new default ones (doesn't load from config here)
+        // Return loaded prefs or create new default ones (loading happens at pre-login)
         return playerPreferences.computeIfAbsent(uuid, k -> {
              logger.debug("No preferences found for {}, using defaults.", uuid);
              return new PlayerPreferences(getDefaultTotems(), getDefaultDuration());
@@ -307,19 +595,46 @@ public class ConfigManager {
 
     public void resetPlayerPreferences(UUID uuid) {
         playerPreferences.remove(uuid);
-        config.set("player-preferences." + uuid.toString(), null); // Remove from config
-        saveConfig(); // Save immediately
+        preferenceWriter.write(uuid, null); // Remove from the store
         logger.debug("Reset preferences for player {}", uuid);
     }
 
+    public PreferenceWriter getPreferenceWriter() {
+        return preferenceWriter;
+    }
+
+    /**
+     * Flushes pending preference changes and closes the store; called when the plugin disables.
+     */
+    public void shutdown() {
+        if (watcher != null) {
+            watcher.close();
+        }
+        if (expiryTask != null) {
+            expiryTask.cancel();
+        }
+        preferenceWriter.close();
+        try {
+            preferenceStore.close();
+        } catch (IOException e) {
+            logger.error("Could not close the {} preference store", preferenceStore.getName(), e);
+        }
+    }
+
     // Static class to hold player preferences
     public static class PlayerPreferences {
         private final int totems;
         private final int duration;
+        private final String loadout;
 
         public PlayerPreferences(int totems, int duration) {
+            this(totems, duration, null);
+        }
+
+        public PlayerPreferences(int totems, int duration, String loadout) {
             this.totems = totems;
             this.duration = duration;
+            this.loadout = loadout;
         }
 
         public int getTotems() {
@@ -329,5 +644,12 @@ public class ConfigManager {
         public int getDuration() {
             return duration;
         }
+
+        /**
+         * Name of the chosen loadout, or null for the configured default.
+         */
+        public String getLoadout() {
+            return loadout;
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.takeda.ttrain.config;
+
+import com.takeda.ttrain.gui.GUILayout;
+import com.takeda.ttrain.region.RegionIndex;
+import com.takeda.ttrain.text.MessageService;
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Everything derived from one read of config.yml.
+ * <p>
+ * Built as a unit (off the main thread on reload) and published by {@link ConfigManager} through a
+ * single volatile write, so no reader can see settings from one load next to messages or a GUI
+ * layout from another.
+ *
+ * @param source        the config.yml text this snapshot was parsed from, with any added defaults
+ * @param defaultsAdded whether missing message defaults were added to {@code source}, which then
+ *                      still has to be written back to config.yml
+ * @param config        the parsed config; only read it on the main thread
+ * @param settings      typed config values
+ * @param messages      parsed message cache
+ * @param worlds        where training is allowed
+ * @param regions       training regions within worlds
+ * @param layout        the compiled training menu
+ */
+public record ConfigSnapshot(String source, boolean defaultsAdded, FileConfiguration config,
+                             TTrainSettings settings, MessageService messages, WorldPolicy worlds,
+                             RegionIndex regions, GUILayout layout) {
+}
@@ -0,0 +1,91 @@
+package com.takeda.ttrain.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * A level of reduced per-session work, entered when the server falls behind.
+ * <p>
+ * A tier is entered when MSPT reaches {@code enter-mspt} and left only once it is back below the
+ * (lower) {@code exit-mspt}, so a server hovering around one value does not flip between tiers
+ * every check. TPS is not used: Paper's shortest TPS average spans a minute, so it would hold a
+ * tier long after ticks have recovered.
+ */
+public final class LoadTier {
+    /**
+     * Full fidelity; used while the server keeps up.
+     */
+    public static final LoadTier NORMAL = new LoadTier("normal", Double.MAX_VALUE, Double.MAX_VALUE,
+        1, true, true, false);
+
+    private final String name;
+    private final double enterMspt;
+    private final double exitMspt;
+    private final int nameTagIntervalSeconds;
+    private final boolean sounds;
+    private final boolean actionBar;
+    private final boolean pauseSpawns;
+
+    private LoadTier(String name, double enterMspt, double exitMspt, int nameTagIntervalSeconds, boolean sounds, boolean actionBar, boolean pauseSpawns) {
+        this.name = name;
+        this.enterMspt = enterMspt;
+        this.exitMspt = exitMspt;
+        this.nameTagIntervalSeconds = nameTagIntervalSeconds;
+        this.sounds = sounds;
+        this.actionBar = actionBar;
+        this.pauseSpawns = pauseSpawns;
+    }
+
+    /**
+     * Reads a tier from its config section. The exit threshold defaults to 5 MSPT below the enter
+     * threshold. {@code enter-tps} and {@code exit-tps} from older configs are ignored.
+     */
+    static LoadTier load(String name, ConfigurationSection section) {
+        double enterMspt = section.getDouble("enter-mspt", Double.MAX_VALUE);
+        double exitMspt = Math.min(enterMspt, section.getDouble("exit-mspt", enterMspt - 5.0));
+        return new LoadTier(name, enterMspt, exitMspt,
+            Math.max(1, section.getInt("name-tag-interval", 1)),
+            section.getBoolean("sounds", true),
+            section.getBoolean("action-bar", true),
+            section.getBoolean("pause-spawns", false));
+    }
+
+    public boolean isEnteredBy(double mspt) {
+        return mspt >= enterMspt;
+    }
+
+    public boolean isExitedBy(double mspt) {
+        return mspt < exitMspt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Seconds between zombie name tag refreshes.
+     */
+    public int getNameTagIntervalSeconds() {
+        return nameTagIntervalSeconds;
+    }
+
+    /**
+     * Whether cosmetic sounds (zombie spawn and death, menu open and close) are played.
+     */
+    public boolean playsSounds() {
+        return sounds;
+    }
+
+    /**
+     * Whether informational action bar updates such as totem pops are sent.
+     */
+    public boolean sendsActionBar() {
+        return actionBar;
+    }
+
+    /**
+     * Whether new sessions wait in the admission queue until the server recovers.
+     */
+    public boolean pausesSpawns() {
+        return pauseSpawns;
+    }
+}
@@ -0,0 +1,187 @@
+package com.takeda.ttrain.config;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.ConfigManager.PlayerPreferences;
+import com.takeda.ttrain.config.store.PreferenceBatch;
+import com.takeda.ttrain.config.store.PreferenceStore;
+import com.takeda.ttrain.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind persistence for player preferences.
+ * <p>
+ * Changes are recorded as dirty entries and handed to the {@link PreferenceStore} in one batch
+ * on a background thread once the flush delay has passed, so any number of Save/Reset clicks in
+ * that window cost a single write. Later changes to the same player replace earlier ones.
+ */
+public class PreferenceWriter {
+    private final Logger logger;
+    private final PreferenceStore store;
+    private final long flushDelayMillis;
+    // Empty Optional marks a reset
+    private final Map<UUID, Optional<PlayerPreferences>> pending;
+    private final Set<UUID> seen;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean flushScheduled;
+    private final AtomicLong requestedWrites;
+    private final AtomicLong flushes;
+    // Player entries saved or deleted by the store; last-seen touches are not counted
+    private final AtomicLong appliedWrites;
+    private final LatencyHistogram flushTimer;
+
+    public PreferenceWriter(PreferenceStore store, long flushDelayMillis, LatencyHistogram flushTimer) {
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.store = store;
+        this.flushDelayMillis = flushDelayMillis;
+        this.pending = new ConcurrentHashMap<>();
+        this.seen = ConcurrentHashMap.newKeySet();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "T-Train Preference Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushScheduled = new AtomicBoolean();
+        this.requestedWrites = new AtomicLong();
+        this.flushes = new AtomicLong();
+        this.appliedWrites = new AtomicLong();
+        this.flushTimer = flushTimer;
+    }
+
+    /**
+     * Records a change and schedules a flush. A null value resets the player's preferences.
+     */
+    public void write(UUID uuid, PlayerPreferences preferences) {
+        pending.put(uuid, Optional.ofNullable(preferences));
+        requestedWrites.incrementAndGet();
+        scheduleFlush();
+    }
+
+    /**
+     * Loads a player's preferences, preferring changes that have not been flushed yet.
+     * Blocks on the store, so never call this from the main thread.
+     */
+    public PlayerPreferences load(UUID uuid) throws IOException {
+        Optional<PlayerPreferences> unflushed = pending.get(uuid);
+        if (unflushed != null) {
+            return unflushed.orElse(null);
+        }
+        return store.load(uuid);
+    }
+
+    /**
+     * Refreshes the player's last-seen time so their preferences do not expire.
+     */
+    public void markSeen(UUID uuid) {
+        seen.add(uuid);
+        scheduleFlush();
+    }
+
+    /**
+     * Runs a task on the writer thread, after any flush already queued.
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                flushScheduled.set(false);
+                flush();
+            }, flushDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Hands every pending change to the store now.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty() && seen.isEmpty()) return;
+
+        // Entries stay pending until the store has them, so load() never falls through to stale data
+        Map<UUID, Optional<PlayerPreferences>> flushing = new HashMap<>(pending);
+        Map<UUID, PlayerPreferences> saved = new HashMap<>();
+        Set<UUID> deleted = new HashSet<>();
+        flushing.forEach((uuid, value) -> {
+            if (value.isPresent()) {
+                saved.put(uuid, value.get());
+            } else {
+                deleted.add(uuid);
+            }
+        });
+        Set<UUID> touched = new HashSet<>();
+        for (Iterator<UUID> it = seen.iterator(); it.hasNext(); ) {
+            touched.add(it.next());
+            it.remove();
+        }
+
+        PreferenceBatch batch = new PreferenceBatch(saved, deleted, touched, System.currentTimeMillis());
+        long start = System.nanoTime();
+        try {
+            store.apply(batch);
+            // Keep changes that arrived during the write for the next flush
+            flushing.forEach(pending::remove);
+            flushes.incrementAndGet();
+            appliedWrites.addAndGet(batch.saved().size() + batch.deleted().size());
+            flushTimer.recordSince(start);
+            logger.debug("Flushed {} preference change(s) to the {} store", batch.size(), store.getName());
+        } catch (IOException e) {
+            // The changes are still pending, so the next flush retries them
+            seen.addAll(touched);
+            logger.error("Could not save player preferences to the {} store", store.getName(), e);
+        }
+    }
+
+    /**
+     * Stops the background thread and flushes any pending changes on the calling thread.
+     */
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        logger.info("Preference writer: {} change(s) requested, {} written in {} flush(es), {} write(s) saved",
+            requestedWrites.get(), appliedWrites.get(), flushes.get(), getSavedWrites());
+    }
+
+    /**
+     * Number of preference changes that never reached the store because a later change to the same
+     * player replaced them. Changes still pending are not counted.
+     */
+    public long getSavedWrites() {
+        return Math.max(0L, requestedWrites.get() - appliedWrites.get() - pending.size());
+    }
+
+    /**
+     * Preference changes the store applied, after coalescing.
+     */
+    public long getAppliedWrites() {
+        return appliedWrites.get();
+    }
+
+    public long getRequestedWrites() {
+        return requestedWrites.get();
+    }
+
+    public long getFlushes() {
+        return flushes.get();
+    }
+}
@@ -0,0 +1,43 @@
+package com.takeda.ttrain.config;
+
+/**
+ * Where a session's countdown and totem count are shown, set by {@code zombie.display} in config.yml.
+ */
+public enum SessionDisplay {
+    /**
+     * The zombie's custom name, sent to every player tracking the zombie.
+     */
+    NAME_TAG("name-tag"),
+    /**
+     * A boss bar only the owner sees.
+     */
+    BOSS_BAR("boss-bar"),
+    /**
+     * A sidebar objective on a scoreboard only the owner sees.
+     */
+    SIDEBAR("sidebar");
+
+    private final String key;
+
+    SessionDisplay(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Display with the given config key, or null if there is none.
+     */
+    public static SessionDisplay fromKey(String key) {
+        for (SessionDisplay display : values()) {
+            if (display.key.equalsIgnoreCase(key)) return display;
+        }
+        return null;
+    }
+
+    public boolean isHud() {
+        return this != NAME_TAG;
+    }
+}
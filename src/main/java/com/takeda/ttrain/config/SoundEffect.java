@@ -0,0 +1,42 @@
+package com.takeda.ttrain.config;
+
+import org.bukkit.Sound;
+
+/**
+ * Sound effects configurable under {@code sounds:} in config.yml.
+ */
+public enum SoundEffect {
+    GUI_OPEN("gui-open", Sound.BLOCK_CHEST_OPEN, true),
+    GUI_CLOSE("gui-close", Sound.BLOCK_CHEST_CLOSE, true),
+    ZOMBIE_SPAWN("zombie-spawn", Sound.ENTITY_ZOMBIE_AMBIENT, true),
+    ZOMBIE_DEATH("zombie-death", Sound.ENTITY_ZOMBIE_DEATH, true),
+    TOTEM_USE("totem-use", Sound.ITEM_TOTEM_USE, true),
+    SETTINGS_CHANGE("settings-change", Sound.ENTITY_EXPERIENCE_ORB_PICKUP, false),
+    ERROR("error", Sound.ENTITY_VILLAGER_NO, false),
+    SUCCESS("success", Sound.ENTITY_PLAYER_LEVELUP, false);
+
+    private final String key;
+    private final Sound defaultSound;
+    private final boolean cosmetic;
+
+    SoundEffect(String key, Sound defaultSound, boolean cosmetic) {
+        this.key = key;
+        this.defaultSound = defaultSound;
+        this.cosmetic = cosmetic;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Sound getDefaultSound() {
+        return defaultSound;
+    }
+
+    /**
+     * Cosmetic sounds are dropped while the server is under load; feedback sounds always play.
+     */
+    public boolean isCosmetic() {
+        return cosmetic;
+    }
+}
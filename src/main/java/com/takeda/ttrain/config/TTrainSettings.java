@@ -0,0 +1,690 @@
+package com.takeda.ttrain.config;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.loadout.Loadout;
+import com.takeda.ttrain.text.ComponentTemplate;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Material;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of config.yml with every value parsed and validated up front.
+ * <p>
+ * Built once per config load and published by {@link ConfigManager} through a volatile
+ * reference, so hot paths read plain fields instead of walking the YAML tree, and enum
+ * lookups such as {@link Sound#valueOf} happen only here.
+ */
+public final class TTrainSettings {
+    private static final String DEFAULT_NAME_TAG =
+        "<gradient:#FF6B6B:#4ECDC4>Training Zombie</gradient> <#FF5555>⏱ {time}s <#55FF55>⚡ {totems} totems";
+    private static final String DEFAULT_BOSS_BAR =
+        "<#FF5555>⏱ {time}s <#adb5bd>• <#55FF55>⚡ {totems} totems <#adb5bd>• <white>{pops}</white> popped";
+    private static final String DEFAULT_SIDEBAR_TITLE = "<gradient:#FF6B6B:#4ECDC4><b>Training</b></gradient>";
+    private static final List<String> DEFAULT_SIDEBAR_LINES = List.of(
+        "<#FF5555>⏱ Time left: <white>{time}s",
+        "<#55FF55>⚡ Totems left: <white>{totems}",
+        "<#adb5bd>Totems popped: <white>{pops}");
+    // Sidebars show at most 15 lines
+    private static final int MAX_SIDEBAR_LINES = 15;
+    private static final Map<String, Material> DEFAULT_GUI_MATERIALS = Map.of(
+        "totem", Material.TOTEM_OF_UNDYING,
+        "duration", Material.CLOCK,
+        "spawn", Material.ZOMBIE_HEAD,
+        "save", Material.LIME_CONCRETE,
+        "reset", Material.RED_CONCRETE,
+        "exit", Material.BARRIER,
+        "loadout", Material.NETHERITE_CHESTPLATE,
+        "border", Material.GRAY_STAINED_GLASS_PANE,
+        "special", Material.PURPLE_STAINED_GLASS_PANE);
+    private static final String[] GUI_BUTTONS = {"totem", "duration", "spawn", "save", "reset", "exit", "loadout"};
+
+    // Zombie
+    private final int maxTotems;
+    private final double zombieHealth;
+    private final double spawnHeight;
+    private final boolean endSessionOnLastTotem;
+    private final ComponentTemplate nameTagTemplate;
+    private final SessionDisplay sessionDisplay;
+    private final ComponentTemplate bossBarTemplate;
+    private final BossBar.Color bossBarColor;
+    private final Component sidebarTitle;
+    private final List<ComponentTemplate> sidebarLines;
+    private final boolean ownerOnlyVisibility;
+    private final boolean zombiePoolEnabled;
+    private final int zombiePoolMinIdle;
+    private final int zombiePoolMaxIdle;
+
+    // Loadouts, by lower-case name in config order
+    private final Map<String, Loadout> loadouts;
+    private final List<Loadout> loadoutOrder;
+    private final Loadout defaultLoadout;
+
+    // Sessions
+    private final boolean resumeOrphanedSessions;
+    private final int resumeGraceSeconds;
+
+    // Arena plots
+    private final boolean arenaEnabled;
+    private final String arenaWorld;
+    private final int arenaCenterX;
+    private final int arenaCenterZ;
+    private final int arenaPlotRadius;
+    private final int arenaTrackingRange;
+    private final int arenaColumns;
+    private final int arenaMaxPlots;
+    private final boolean arenaReturnPlayers;
+
+    // Admission; 0 means unlimited
+    private final boolean admissionEnabled;
+    private final int maxActiveSessions;
+    private final int maxSessionsPerWorld;
+    private final Map<String, Integer> worldSessionCaps;
+    private final double spawnRatePerSecond;
+    private final int spawnBurst;
+    private final int queueMaxSize;
+    private final int queueTimeoutSeconds;
+
+    // Training
+    private final int minTotems;
+    private final int defaultTotems;
+    private final int minDuration;
+    private final int maxDuration;
+    private final int defaultDuration;
+
+    // Reload
+    private final boolean watchConfigFile;
+
+    // Load tiers, from least to most severe
+    private final boolean loadMonitorEnabled;
+    private final int loadRecoverSeconds;
+    private final List<LoadTier> loadTiers;
+
+    // Metrics
+    private final boolean jmxEnabled;
+    private final boolean prometheusEnabled;
+    private final String prometheusFile;
+    private final int prometheusIntervalSeconds;
+
+    // Preferences
+    private final String preferenceBackend;
+    private final long preferenceFlushDelayMillis;
+    private final int preferenceExpireAfterDays;
+
+    // GUI
+    private final int guiSize;
+    private final Map<String, Integer> guiSlots;
+    private final Map<String, Material> guiMaterials;
+
+    // Sounds
+    private final EnumMap<SoundEffect, Sound> sounds;
+
+    // Tab completion
+    private final List<String> totemCompletions;
+    private final List<String> durationCompletions;
+    private final List<String> loadoutCompletions;
+
+    private TTrainSettings(ConfigurationSection config, MiniMessage miniMessage, Logger logger) {
+        this.maxTotems = Math.max(1, config.getInt("zombie.max-totems", 5));
+        this.zombieHealth = config.getDouble("zombie.health", 40.0);
+        this.spawnHeight = config.getDouble("zombie.spawn-height", 2.0);
+        this.endSessionOnLastTotem = config.getBoolean("zombie.end-session-on-last-totem", true);
+        this.nameTagTemplate = compileNameTag(config, miniMessage, logger);
+        String displayKey = config.getString("zombie.display", "name-tag");
+        SessionDisplay display = SessionDisplay.fromKey(displayKey);
+        if (display == null) {
+            logger.warn("Invalid zombie.display '{}' in config.yml. Using name-tag.", displayKey);
+            display = SessionDisplay.NAME_TAG;
+        }
+        this.sessionDisplay = display;
+        this.bossBarTemplate = compileHudTemplate(miniMessage, "zombie.hud.boss-bar",
+            config.getString("zombie.hud.boss-bar", DEFAULT_BOSS_BAR), DEFAULT_BOSS_BAR, logger);
+        this.bossBarColor = resolveBossBarColor(config, logger);
+        this.sidebarTitle = parseSidebarTitle(config, miniMessage, logger);
+        this.sidebarLines = compileSidebarLines(config, miniMessage, logger);
+        String visibility = config.getString("zombie.visibility", "everyone");
+        this.ownerOnlyVisibility = "owner".equalsIgnoreCase(visibility);
+        if (!ownerOnlyVisibility && !"everyone".equalsIgnoreCase(visibility)) {
+            logger.warn("Invalid zombie.visibility '{}' in config.yml. Using everyone.", visibility);
+        }
+        this.zombiePoolEnabled = config.getBoolean("zombie.pool.enabled", false);
+        this.zombiePoolMaxIdle = Math.max(0, config.getInt("zombie.pool.max-idle", 8));
+        this.zombiePoolMinIdle = clamp(config.getInt("zombie.pool.min-idle", 1), 0, zombiePoolMaxIdle);
+
+        this.loadouts = compileLoadouts(config, logger);
+        this.loadoutOrder = List.copyOf(loadouts.values());
+        String defaultLoadoutName = config.getString("loadouts.default", "");
+        Loadout configuredDefault = loadouts.get(defaultLoadoutName.toLowerCase());
+        if (configuredDefault == null && !loadouts.isEmpty()) {
+            configuredDefault = loadouts.values().iterator().next();
+            logger.warn("Unknown default loadout '{}' in config.yml. Using '{}'.", defaultLoadoutName, configuredDefault.getName());
+        }
+        this.defaultLoadout = configuredDefault != null ? configuredDefault : Loadout.fallback();
+
+        this.resumeOrphanedSessions = "resume".equalsIgnoreCase(config.getString("sessions.orphan-policy", "resume"));
+        this.resumeGraceSeconds = Math.max(0, config.getInt("sessions.resume-grace-seconds", 300));
+
+        this.arenaEnabled = config.getBoolean("arena.enabled", false);
+        this.arenaWorld = config.getString("arena.world", "training_arena");
+        this.arenaCenterX = config.getInt("arena.center-x", 0);
+        this.arenaCenterZ = config.getInt("arena.center-z", 0);
+        this.arenaPlotRadius = Math.max(1, config.getInt("arena.plot-radius", 24));
+        this.arenaTrackingRange = Math.max(1, config.getInt("arena.tracking-range", 128));
+        this.arenaColumns = Math.max(1, config.getInt("arena.columns", 10));
+        this.arenaMaxPlots = Math.max(1, config.getInt("arena.max-plots", 100));
+        this.arenaReturnPlayers = config.getBoolean("arena.return-players", true);
+
+        this.admissionEnabled = config.getBoolean("admission.enabled", false);
+        this.maxActiveSessions = Math.max(0, config.getInt("admission.max-active", 50));
+        this.maxSessionsPerWorld = Math.max(0, config.getInt("admission.max-per-world", 0));
+        Map<String, Integer> worldCaps = new HashMap<>();
+        ConfigurationSection worldSection = config.getConfigurationSection("admission.worlds");
+        if (worldSection != null) {
+            for (String world : worldSection.getKeys(false)) {
+                worldCaps.put(world, Math.max(0, worldSection.getInt(world)));
+            }
+        }
+        this.worldSessionCaps = Collections.unmodifiableMap(worldCaps);
+        this.spawnRatePerSecond = Math.max(0.0, config.getDouble("admission.spawn-rate", 2.0));
+        this.spawnBurst = Math.max(1, config.getInt("admission.spawn-burst", 5));
+        this.queueMaxSize = Math.max(0, config.getInt("admission.queue.max-size", 100));
+        this.queueTimeoutSeconds = Math.max(1, config.getInt("admission.queue.timeout-seconds", 120));
+
+        this.minTotems = clamp(config.getInt("training.min-totems", 1), 1, maxTotems);
+        this.defaultTotems = clamp(config.getInt("training.default-totems", 1), minTotems, maxTotems);
+        this.maxDuration = Math.max(1, config.getInt("training.max-duration", 300));
+        this.minDuration = clamp(config.getInt("training.min-duration", 10), 1, maxDuration);
+        this.defaultDuration = clamp(config.getInt("training.default-duration", 60), minDuration, maxDuration);
+
+        this.watchConfigFile = config.getBoolean("reload.watch-file", false);
+
+        this.loadMonitorEnabled = config.getBoolean("load.enabled", true);
+        this.loadRecoverSeconds = Math.max(1, config.getInt("load.recover-after-seconds", 15));
+        this.loadTiers = compileLoadTiers(config, logger);
+
+        this.jmxEnabled = config.getBoolean("metrics.jmx", true);
+        this.prometheusEnabled = config.getBoolean("metrics.prometheus.enabled", false);
+        this.prometheusFile = config.getString("metrics.prometheus.file", "metrics/ttrain.prom");
+        this.prometheusIntervalSeconds = Math.max(1, config.getInt("metrics.prometheus.interval-seconds", 15));
+
+        this.preferenceBackend = config.getString("preferences.backend", "sqlite");
+        this.preferenceFlushDelayMillis = Math.max(0L, config.getLong("preferences.flush-delay-ms", 2000L));
+        this.preferenceExpireAfterDays = Math.max(0, config.getInt("preferences.expire-after-days", 90));
+
+        int size = config.getInt("gui.size", 45);
+        if (size <= 0 || size > 54 || size % 9 != 0) {
+            logger.warn("Invalid GUI size ({}) in config.yml. Must be a multiple of 9. Using default 45.", size);
+            size = 45;
+        }
+        this.guiSize = size;
+        Map<String, Integer> slots = new HashMap<>();
+        for (String button : GUI_BUTTONS) {
+            slots.put(button, config.getInt("gui.slots." + button, -1));
+        }
+        this.guiSlots = Collections.unmodifiableMap(slots);
+        Map<String, Material> materials = new HashMap<>();
+        DEFAULT_GUI_MATERIALS.forEach((button, defaultMaterial) ->
+            materials.put(button, resolveMaterial(config, button, defaultMaterial, logger)));
+        this.guiMaterials = Collections.unmodifiableMap(materials);
+
+        this.sounds = new EnumMap<>(SoundEffect.class);
+        for (SoundEffect effect : SoundEffect.values()) {
+            sounds.put(effect, resolveSound(config, effect, logger));
+        }
+
+        List<String> totems = new ArrayList<>();
+        for (int i = minTotems; i <= Math.min(maxTotems, 10); i++) {
+            totems.add(String.valueOf(i));
+        }
+        this.totemCompletions = List.copyOf(totems);
+        List<String> durations = new ArrayList<>();
+        for (int i = 15; i <= Math.min(maxDuration, 300); i += 15) {
+            if (i >= minDuration) durations.add(String.valueOf(i));
+        }
+        this.durationCompletions = List.copyOf(durations);
+        this.loadoutCompletions = List.copyOf(loadouts.keySet());
+    }
+
+    public static TTrainSettings load(ConfigurationSection config, MiniMessage miniMessage) {
+        return new TTrainSettings(config, miniMessage, TTrainPlugin.getPluginLogger());
+    }
+
+    private static ComponentTemplate compileNameTag(ConfigurationSection config, MiniMessage miniMessage, Logger logger) {
+        String format = config.getString("zombie.name-tag", DEFAULT_NAME_TAG);
+        try {
+            return ComponentTemplate.compile(miniMessage, format, "time", "totems");
+        } catch (Exception e) {
+            logger.error("Failed to parse zombie.name-tag '{}': {}. Using the default name tag.", format, e.getMessage());
+            return ComponentTemplate.compile(miniMessage, DEFAULT_NAME_TAG, "time", "totems");
+        }
+    }
+
+    private static ComponentTemplate compileHudTemplate(MiniMessage miniMessage, String path, String format,
+                                                        String defaultFormat, Logger logger) {
+        try {
+            return ComponentTemplate.compile(miniMessage, format, "time", "totems", "pops");
+        } catch (Exception e) {
+            logger.error("Failed to parse {} '{}': {}. Using the default.", path, format, e.getMessage());
+            return ComponentTemplate.compile(miniMessage, defaultFormat, "time", "totems", "pops");
+        }
+    }
+
+    private static List<ComponentTemplate> compileSidebarLines(ConfigurationSection config, MiniMessage miniMessage, Logger logger) {
+        List<String> formats = config.isList("zombie.hud.sidebar") ? config.getStringList("zombie.hud.sidebar") : DEFAULT_SIDEBAR_LINES;
+        if (formats.size() > MAX_SIDEBAR_LINES) {
+            logger.warn("zombie.hud.sidebar has {} lines; only the first {} are shown.", formats.size(), MAX_SIDEBAR_LINES);
+            formats = formats.subList(0, MAX_SIDEBAR_LINES);
+        }
+        List<ComponentTemplate> lines = new ArrayList<>(formats.size());
+        for (String format : formats) {
+            lines.add(compileHudTemplate(miniMessage, "zombie.hud.sidebar line", format, "", logger));
+        }
+        return List.copyOf(lines);
+    }
+
+    private static Component parseSidebarTitle(ConfigurationSection config, MiniMessage miniMessage, Logger logger) {
+        String format = config.getString("zombie.hud.sidebar-title", DEFAULT_SIDEBAR_TITLE);
+        try {
+            return miniMessage.deserialize(format);
+        } catch (Exception e) {
+            logger.error("Failed to parse zombie.hud.sidebar-title '{}': {}. Using the default.", format, e.getMessage());
+            return miniMessage.deserialize(DEFAULT_SIDEBAR_TITLE);
+        }
+    }
+
+    private static BossBar.Color resolveBossBarColor(ConfigurationSection config, Logger logger) {
+        String colorName = config.getString("zombie.hud.boss-bar-color", "RED");
+        try {
+            return BossBar.Color.valueOf(colorName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid zombie.hud.boss-bar-color '{}' in config.yml. Using default: RED", colorName);
+            return BossBar.Color.RED;
+        }
+    }
+
+    private static Map<String, Loadout> compileLoadouts(ConfigurationSection config, Logger logger) {
+        Map<String, Loadout> loadouts = new LinkedHashMap<>();
+        ConfigurationSection kits = config.getConfigurationSection("loadouts.kits");
+        if (kits != null) {
+            for (String name : kits.getKeys(false)) {
+                ConfigurationSection section = kits.getConfigurationSection(name);
+                if (section == null) {
+                    logger.warn("Loadout '{}' in config.yml is not a section. Skipping.", name);
+                    continue;
+                }
+                loadouts.put(name.toLowerCase(), Loadout.compile(name, section, logger));
+            }
+        }
+        return Collections.unmodifiableMap(loadouts);
+    }
+
+    private static List<LoadTier> compileLoadTiers(ConfigurationSection config, Logger logger) {
+        List<LoadTier> tiers = new ArrayList<>();
+        ConfigurationSection section = config.getConfigurationSection("load.tiers");
+        if (section != null) {
+            for (String name : section.getKeys(false)) {
+                ConfigurationSection tier = section.getConfigurationSection(name);
+                if (tier == null) {
+                    logger.warn("Load tier '{}' in config.yml is not a section. Skipping.", name);
+                    continue;
+                }
+                tiers.add(LoadTier.load(name, tier));
+            }
+        }
+        return List.copyOf(tiers);
+    }
+
+    private static Material resolveMaterial(ConfigurationSection config, String button, Material defaultMaterial, Logger logger) {
+        String materialName = config.getString("gui.button-materials." + button);
+        if (materialName == null) {
+            logger.warn("Missing GUI button material for '{}' in config.yml. Using default: {}", button, defaultMaterial.name());
+            return defaultMaterial;
+        }
+        try {
+            return Material.valueOf(materialName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid GUI button material '{}' for '{}' in config.yml. Using default: {}", materialName, button, defaultMaterial.name());
+            return defaultMaterial;
+        }
+    }
+
+    private static Sound resolveSound(ConfigurationSection config, SoundEffect effect, Logger logger) {
+        String soundName = config.getString("sounds." + effect.getKey());
+        if (soundName == null) {
+            return effect.getDefaultSound();
+        }
+        try {
+            return Sound.valueOf(soundName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid sound '{}' for '{}' in config.yml. Using default: {}", soundName, effect.getKey(), effect.getDefaultSound().name());
+            return effect.getDefaultSound();
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public int getMaxTotems() {
+        return maxTotems;
+    }
+
+    public double getZombieHealth() {
+        return zombieHealth;
+    }
+
+    public double getSpawnHeight() {
+        return spawnHeight;
+    }
+
+    public boolean shouldEndSessionOnLastTotem() {
+        return endSessionOnLastTotem;
+    }
+
+    /**
+     * Compiled zombie name tag; render with the remaining seconds and totems, in that order.
+     */
+    public ComponentTemplate getNameTagTemplate() {
+        return nameTagTemplate;
+    }
+
+    /**
+     * Where new sessions show their countdown and totems.
+     */
+    public SessionDisplay getSessionDisplay() {
+        return sessionDisplay;
+    }
+
+    /**
+     * Compiled boss bar title; render with the remaining seconds, totems left and totems popped.
+     */
+    public ComponentTemplate getBossBarTemplate() {
+        return bossBarTemplate;
+    }
+
+    public BossBar.Color getBossBarColor() {
+        return bossBarColor;
+    }
+
+    public Component getSidebarTitle() {
+        return sidebarTitle;
+    }
+
+    /**
+     * Compiled sidebar lines, top to bottom; render like {@link #getBossBarTemplate()}.
+     */
+    public List<ComponentTemplate> getSidebarLines() {
+        return sidebarLines;
+    }
+
+    /**
+     * Whether new training zombies are hidden from everyone but their owner, spectators and admins.
+     */
+    public boolean isOwnerOnlyVisibility() {
+        return ownerOnlyVisibility;
+    }
+
+    public boolean isZombiePoolEnabled() {
+        return zombiePoolEnabled;
+    }
+
+    /**
+     * Idle zombies kept per world even without recent demand.
+     */
+    public int getZombiePoolMinIdle() {
+        return zombiePoolMinIdle;
+    }
+
+    public int getZombiePoolMaxIdle() {
+        return zombiePoolMaxIdle;
+    }
+
+    /**
+     * Loadout by name (case-insensitive), or null if there is none.
+     */
+    public Loadout getLoadout(String name) {
+        return name != null ? loadouts.get(name.toLowerCase()) : null;
+    }
+
+    /**
+     * Loadout by name, falling back to the default loadout for unknown or missing names.
+     */
+    public Loadout getLoadoutOrDefault(String name) {
+        Loadout loadout = getLoadout(name);
+        return loadout != null ? loadout : defaultLoadout;
+    }
+
+    public Loadout getDefaultLoadout() {
+        return defaultLoadout;
+    }
+
+    /**
+     * The loadout after the given one in config order, wrapping around.
+     */
+    public Loadout getNextLoadout(Loadout current) {
+        if (loadoutOrder.isEmpty()) return defaultLoadout;
+        int index = loadoutOrder.indexOf(current);
+        return loadoutOrder.get((index + 1) % loadoutOrder.size());
+    }
+
+    public boolean shouldResumeOrphanedSessions() {
+        return resumeOrphanedSessions;
+    }
+
+    /**
+     * How long a crash leftover whose owner is offline waits for them to join before it is removed.
+     */
+    public int getResumeGraceSeconds() {
+        return resumeGraceSeconds;
+    }
+
+    /**
+     * Whether sessions are moved to their own plot in the arena world; read once at startup.
+     */
+    public boolean isArenaEnabled() {
+        return arenaEnabled;
+    }
+
+    public String getArenaWorld() {
+        return arenaWorld;
+    }
+
+    public int getArenaCenterX() {
+        return arenaCenterX;
+    }
+
+    public int getArenaCenterZ() {
+        return arenaCenterZ;
+    }
+
+    /**
+     * How far from its centre a plot's player and zombie are expected to stay, in blocks.
+     */
+    public int getArenaPlotRadius() {
+        return arenaPlotRadius;
+    }
+
+    /**
+     * The largest entity tracking range on the server, in blocks.
+     */
+    public int getArenaTrackingRange() {
+        return arenaTrackingRange;
+    }
+
+    public int getArenaColumns() {
+        return arenaColumns;
+    }
+
+    public int getArenaMaxPlots() {
+        return arenaMaxPlots;
+    }
+
+    /**
+     * Whether players are sent back to where they were when their session ends.
+     */
+    public boolean shouldReturnArenaPlayers() {
+        return arenaReturnPlayers;
+    }
+
+    public boolean isAdmissionEnabled() {
+        return admissionEnabled;
+    }
+
+    /**
+     * Training sessions allowed at once across all worlds; 0 means unlimited.
+     */
+    public int getMaxActiveSessions() {
+        return maxActiveSessions;
+    }
+
+    /**
+     * Training sessions allowed at once in a world, from admission.worlds or admission.max-per-world;
+     * 0 means unlimited.
+     */
+    public int getMaxSessionsInWorld(String worldName) {
+        return worldSessionCaps.getOrDefault(worldName, maxSessionsPerWorld);
+    }
+
+    /**
+     * Sustained spawns per second; 0 means unlimited.
+     */
+    public double getSpawnRatePerSecond() {
+        return spawnRatePerSecond;
+    }
+
+    public int getSpawnBurst() {
+        return spawnBurst;
+    }
+
+    /**
+     * Players allowed to wait for a slot; 0 rejects spawns outright when full.
+     */
+    public int getQueueMaxSize() {
+        return queueMaxSize;
+    }
+
+    public int getQueueTimeoutSeconds() {
+        return queueTimeoutSeconds;
+    }
+
+    public int getMinTotems() {
+        return minTotems;
+    }
+
+    public int getDefaultTotems() {
+        return defaultTotems;
+    }
+
+    public int getMinDuration() {
+        return minDuration;
+    }
+
+    public int getMaxDuration() {
+        return maxDuration;
+    }
+
+    public int getDefaultDuration() {
+        return defaultDuration;
+    }
+
+    /**
+     * Whether config.yml is reloaded automatically when it changes on disk.
+     */
+    public boolean shouldWatchConfigFile() {
+        return watchConfigFile;
+    }
+
+    public boolean isLoadMonitorEnabled() {
+        return loadMonitorEnabled;
+    }
+
+    /**
+     * Seconds the server must stay below a tier's exit thresholds before stepping down a tier.
+     */
+    public int getLoadRecoverSeconds() {
+        return loadRecoverSeconds;
+    }
+
+    /**
+     * Configured load tiers from least to most severe, not including {@link LoadTier#NORMAL}.
+     */
+    public List<LoadTier> getLoadTiers() {
+        return loadTiers;
+    }
+
+    /**
+     * Whether metrics are registered as a JMX MBean; read once at startup.
+     */
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
+    public boolean isPrometheusEnabled() {
+        return prometheusEnabled;
+    }
+
+    /**
+     * Prometheus textfile path, relative to the plugin folder unless absolute.
+     */
+    public String getPrometheusFile() {
+        return prometheusFile;
+    }
+
+    public int getPrometheusIntervalSeconds() {
+        return prometheusIntervalSeconds;
+    }
+
+    public String getPreferenceBackend() {
+        return preferenceBackend;
+    }
+
+    public long getPreferenceFlushDelayMillis() {
+        return preferenceFlushDelayMillis;
+    }
+
+    public int getPreferenceExpireAfterDays() {
+        return preferenceExpireAfterDays;
+    }
+
+    public int getGuiSize() {
+        return guiSize;
+    }
+
+    /**
+     * Configured slot of a GUI button, or -1 if missing.
+     */
+    public int getGuiSlot(String button) {
+        return guiSlots.getOrDefault(button, -1);
+    }
+
+    public Material getGuiMaterial(String button, Material defaultMaterial) {
+        return guiMaterials.getOrDefault(button, defaultMaterial);
+    }
+
+    public Sound getSound(SoundEffect effect) {
+        return sounds.get(effect);
+    }
+
+    public List<String> getTotemCompletions() {
+        return totemCompletions;
+    }
+
+    public List<String> getDurationCompletions() {
+        return durationCompletions;
+    }
+
+    public List<String> getLoadoutCompletions() {
+        return loadoutCompletions;
+    }
+}
@@ -0,0 +1,163 @@
+package com.takeda.ttrain.config;
+
+import com.takeda.ttrain.TTrainPlugin;
+import org.bukkit.configuration.ConfigurationSection;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The worlds section of config.yml: enabled and disabled worlds plus aliases. Immutable.
+ * <p>
+ * Entries are exact world names, globs such as {@code arena_*} ({@code *} and {@code ?}), or
+ * regular expressions prefixed with {@code regex:}. Patterns are compiled once per config load.
+ * Worlds that are not loaded yet are kept, so a world loaded later (e.g. by Multiverse) follows the
+ * policy as soon as it loads. Decisions per loaded world are cached by
+ * {@link com.takeda.ttrain.managers.WorldPolicyRegistry}.
+ */
+public final class WorldPolicy {
+    private static final String REGEX_PREFIX = "regex:";
+
+    private final Set<String> enabledWorlds;
+    private final Set<String> disabledWorlds;
+    private final List<Pattern> enabledPatterns;
+    private final List<Pattern> disabledPatterns;
+    private final Map<String, String> worldAliases;
+
+    private WorldPolicy(Set<String> enabledWorlds, Set<String> disabledWorlds, List<Pattern> enabledPatterns,
+                        List<Pattern> disabledPatterns, Map<String, String> worldAliases) {
+        this.enabledWorlds = Set.copyOf(enabledWorlds);
+        this.disabledWorlds = Set.copyOf(disabledWorlds);
+        this.enabledPatterns = List.copyOf(enabledPatterns);
+        this.disabledPatterns = List.copyOf(disabledPatterns);
+        this.worldAliases = Map.copyOf(worldAliases);
+    }
+
+    /**
+     * Reads the worlds section. Exact names that none of the given loaded worlds have are kept,
+     * with a warning in case they are typos.
+     */
+    public static WorldPolicy load(ConfigurationSection config, Set<String> loadedWorlds) {
+        Logger logger = TTrainPlugin.getPluginLogger();
+
+        // Load enabled worlds
+        Set<String> enabledWorlds = new HashSet<>();
+        List<Pattern> enabledPatterns = new ArrayList<>();
+        compileEntries(config.getStringList("worlds.enabled"), "worlds.enabled", enabledWorlds, enabledPatterns, logger);
+        logger.info("Loaded {} enabled worlds and {} patterns", enabledWorlds.size(), enabledPatterns.size());
+
+        // Load disabled worlds
+        Set<String> disabledWorlds = new HashSet<>();
+        List<Pattern> disabledPatterns = new ArrayList<>();
+        compileEntries(config.getStringList("worlds.disabled"), "worlds.disabled", disabledWorlds, disabledPatterns, logger);
+        logger.info("Loaded {} disabled worlds and {} patterns", disabledWorlds.size(), disabledPatterns.size());
+
+        // Load world aliases
+        Map<String, String> worldAliases = new HashMap<>();
+        ConfigurationSection aliases = config.getConfigurationSection("worlds.aliases");
+        if (aliases != null) {
+            for (String alias : aliases.getKeys(false)) {
+                String target = aliases.getString(alias);
+                if (target != null) {
+                    worldAliases.put(alias, target);
+                }
+            }
+            logger.info("Loaded {} world aliases", worldAliases.size());
+        }
+
+        // Worlds that are not loaded yet still count once they load
+        for (String worldName : enabledWorlds) {
+            if (!loadedWorlds.contains(worldName)) {
+                logger.warn("Enabled world {} is not loaded; it will be enabled when it loads", worldName);
+            }
+        }
+        for (String worldName : disabledWorlds) {
+            if (!loadedWorlds.contains(worldName)) {
+                logger.warn("Disabled world {} is not loaded; it will be disabled when it loads", worldName);
+            }
+        }
+        for (Map.Entry<String, String> entry : worldAliases.entrySet()) {
+            if (!loadedWorlds.contains(entry.getKey())) {
+                logger.warn("World alias {} -> {} names no loaded world yet", entry.getKey(), entry.getValue());
+            }
+        }
+
+        return new WorldPolicy(enabledWorlds, disabledWorlds, enabledPatterns, disabledPatterns, worldAliases);
+    }
+
+    private static void compileEntries(List<String> entries, String path, Set<String> names, List<Pattern> patterns, Logger logger) {
+        for (String entry : entries) {
+            try {
+                if (entry.startsWith(REGEX_PREFIX)) {
+                    patterns.add(Pattern.compile(entry.substring(REGEX_PREFIX.length())));
+                } else if (entry.indexOf('*') >= 0 || entry.indexOf('?') >= 0) {
+                    patterns.add(globToPattern(entry));
+                } else {
+                    names.add(entry);
+                }
+            } catch (PatternSyntaxException e) {
+                logger.error("Invalid world pattern '{}' in {}: {}. Skipping.", entry, path, e.getDescription());
+            }
+        }
+    }
+
+    private static Pattern globToPattern(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 8);
+        int literalStart = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (i > literalStart) {
+                    regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                }
+                regex.append(c == '*' ? ".*" : ".");
+                literalStart = i + 1;
+            }
+        }
+        if (literalStart < glob.length()) {
+            regex.append(Pattern.quote(glob.substring(literalStart)));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Whether training is allowed in the named world: it, or the world its alias points to, must
+     * match an enabled entry and no disabled entry. Walks the patterns, so callers on a hot path
+     * should ask the registry, which caches the answer per loaded world.
+     */
+    public boolean isEnabled(String worldName) {
+        String resolvedName = resolve(worldName);
+        if (disabledWorlds.contains(resolvedName) || matchesAny(disabledPatterns, resolvedName)) return false;
+        return enabledWorlds.contains(resolvedName) || matchesAny(enabledPatterns, resolvedName);
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String worldName) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(worldName).matches()) return true;
+        }
+        return false;
+    }
+
+    public String resolve(String worldName) {
+        return worldAliases.getOrDefault(worldName, worldName);
+    }
+
+    public Set<String> getEnabledWorlds() {
+        return enabledWorlds;
+    }
+
+    public Set<String> getDisabledWorlds() {
+        return disabledWorlds;
+    }
+
+    public Map<String, String> getWorldAliases() {
+        return worldAliases;
+    }
+}
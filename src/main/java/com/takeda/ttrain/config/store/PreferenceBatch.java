@@ -0,0 +1,26 @@
+package com.takeda.ttrain.config.store;
+
+import com.takeda.ttrain.config.ConfigManager.PlayerPreferences;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A set of preference changes flushed together.
+ *
+ * @param saved       preferences to insert or replace
+ * @param deleted     players whose preferences are reset
+ * @param seen        players whose last-seen time should be refreshed
+ * @param timeMillis  last-seen time recorded for saved and seen players
+ */
+public record PreferenceBatch(Map<UUID, PlayerPreferences> saved, Set<UUID> deleted, Set<UUID> seen, long timeMillis) {
+
+    public boolean isEmpty() {
+        return saved.isEmpty() && deleted.isEmpty() && seen.isEmpty();
+    }
+
+    public int size() {
+        return saved.size() + deleted.size() + seen.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.takeda.ttrain.config.store;
+
+import com.takeda.ttrain.config.ConfigManager.PlayerPreferences;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Backend that persists player preferences.
+ * <p>
+ * Loads are issued from async login threads and writes from the preference writer thread,
+ * so implementations must be thread-safe. Nothing here is called from the main thread
+ * except {@link #open()} and {@link #close()}.
+ */
+public interface PreferenceStore {
+
+    /**
+     * Short name used in logs and config, e.g. "yaml".
+     */
+    String getName();
+
+    void open() throws IOException;
+
+    /**
+     * Loads one player's preferences, or null if none are stored.
+     */
+    PlayerPreferences load(UUID uuid) throws IOException;
+
+    /**
+     * Applies a batch of coalesced changes in one write.
+     */
+    void apply(PreferenceBatch batch) throws IOException;
+
+    /**
+     * Deletes preferences of players not seen since the given time.
+     *
+     * @return the number of entries removed
+     */
+    int purgeUnseenSince(long cutoffMillis) throws IOException;
+
+    void close() throws IOException;
+}
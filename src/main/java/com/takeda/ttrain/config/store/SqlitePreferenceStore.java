@@ -0,0 +1,158 @@
+package com.takeda.ttrain.config.store;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.ConfigManager.PlayerPreferences;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores preferences in an embedded SQLite database ({@code preferences.db}).
+ * <p>
+ * Rows are read one player at a time, so nothing is held in memory for offline players.
+ * Uses the SQLite JDBC driver bundled with the server; one connection is shared and guarded
+ * by this object's monitor.
+ */
+public class SqlitePreferenceStore implements PreferenceStore {
+    private final Logger logger;
+    private final File file;
+    private Connection connection;
+
+    public SqlitePreferenceStore(File file) {
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.file = file;
+    }
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    @Override
+    public synchronized void open() throws IOException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+            file.getParentFile().mkdirs();
+            connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("CREATE TABLE IF NOT EXISTS player_preferences ("
+                    + "uuid TEXT PRIMARY KEY, "
+                    + "totems INTEGER NOT NULL, "
+                    + "duration INTEGER NOT NULL, "
+                    + "loadout TEXT, "
+                    + "last_seen INTEGER NOT NULL)");
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_player_preferences_last_seen "
+                    + "ON player_preferences (last_seen)");
+                addLoadoutColumn(statement);
+            }
+            logger.info("Opened preference database {}", file.getName());
+        } catch (ClassNotFoundException | SQLException e) {
+            throw new IOException("Could not open preference database " + file, e);
+        }
+    }
+
+    /**
+     * Databases created before loadouts existed lack the loadout column.
+     */
+    private void addLoadoutColumn(Statement statement) throws SQLException {
+        try (ResultSet columns = statement.executeQuery("PRAGMA table_info(player_preferences)")) {
+            while (columns.next()) {
+                if ("loadout".equals(columns.getString("name"))) return;
+            }
+        }
+        statement.execute("ALTER TABLE player_preferences ADD COLUMN loadout TEXT");
+        logger.info("Added the loadout column to {}", file.getName());
+    }
+
+    @Override
+    public synchronized PlayerPreferences load(UUID uuid) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT totems, duration, loadout FROM player_preferences WHERE uuid = ?")) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                if (!result.next()) return null;
+                return new PlayerPreferences(result.getInt("totems"), result.getInt("duration"), result.getString("loadout"));
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not load preferences for " + uuid, e);
+        }
+    }
+
+    @Override
+    public synchronized void apply(PreferenceBatch batch) throws IOException {
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement upsert = connection.prepareStatement(
+                    "INSERT INTO player_preferences (uuid, totems, duration, loadout, last_seen) VALUES (?, ?, ?, ?, ?) "
+                        + "ON CONFLICT(uuid) DO UPDATE SET totems = excluded.totems, duration = excluded.duration, "
+                        + "loadout = excluded.loadout, last_seen = excluded.last_seen");
+                 PreparedStatement delete = connection.prepareStatement(
+                    "DELETE FROM player_preferences WHERE uuid = ?");
+                 PreparedStatement touch = connection.prepareStatement(
+                    "UPDATE player_preferences SET last_seen = ? WHERE uuid = ?")) {
+                for (Map.Entry<UUID, PlayerPreferences> entry : batch.saved().entrySet()) {
+                    upsert.setString(1, entry.getKey().toString());
+                    upsert.setInt(2, entry.getValue().getTotems());
+                    upsert.setInt(3, entry.getValue().getDuration());
+                    upsert.setString(4, entry.getValue().getLoadout());
+                    upsert.setLong(5, batch.timeMillis());
+                    upsert.addBatch();
+                }
+                for (UUID uuid : batch.deleted()) {
+                    delete.setString(1, uuid.toString());
+                    delete.addBatch();
+                }
+                for (UUID uuid : batch.seen()) {
+                    touch.setLong(1, batch.timeMillis());
+                    touch.setString(2, uuid.toString());
+                    touch.addBatch();
+                }
+                upsert.executeBatch();
+                delete.executeBatch();
+                touch.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not write " + batch.size() + " preference change(s)", e);
+        }
+    }
+
+    @Override
+    public synchronized int purgeUnseenSince(long cutoffMillis) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM player_preferences WHERE last_seen < ?")) {
+            statement.setLong(1, cutoffMillis);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Could not purge expired preferences", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException("Could not close preference database", e);
+        } finally {
+            connection = null;
+        }
+    }
+}
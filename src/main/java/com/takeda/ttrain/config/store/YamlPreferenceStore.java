@@ -0,0 +1,128 @@
+package com.takeda.ttrain.config.store;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.ConfigManager.PlayerPreferences;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores preferences in {@code preferences.yml}.
+ * <p>
+ * The legacy backend. The file is parsed once on open, every entry stays in memory, and the file
+ * is rewritten in full (temp file + rename) for each batch, so start time and heap grow with every
+ * player ever seen. The sqlite backend, the default, loads per player.
+ */
+public class YamlPreferenceStore implements PreferenceStore {
+    private final Logger logger;
+    private final Path file;
+    private final Map<UUID, Entry> entries;
+
+    private record Entry(PlayerPreferences preferences, long lastSeen) {
+    }
+
+    public YamlPreferenceStore(File file) {
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.file = file.toPath();
+        this.entries = new HashMap<>();
+    }
+
+    @Override
+    public String getName() {
+        return "yaml";
+    }
+
+    @Override
+    public synchronized void open() {
+        entries.clear();
+        if (!Files.exists(file)) return;
+
+        // Entries written before last-seen was tracked count as seen now
+        long now = System.currentTimeMillis();
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file.toFile());
+        for (String key : yaml.getKeys(false)) {
+            ConfigurationSection section = yaml.getConfigurationSection(key);
+            if (section == null) continue;
+            try {
+                entries.put(UUID.fromString(key), new Entry(
+                    new PlayerPreferences(section.getInt("totems"), section.getInt("duration"), section.getString("loadout")),
+                    section.getLong("last-seen", now)));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid UUID in player preferences: {}", key);
+            }
+        }
+        logger.info("Loaded {} player preferences from {}", entries.size(), file.getFileName());
+    }
+
+    @Override
+    public synchronized PlayerPreferences load(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        return entry != null ? entry.preferences() : null;
+    }
+
+    /**
+     * Copy of every stored entry, used to migrate to another backend.
+     */
+    public synchronized Map<UUID, PlayerPreferences> loadAll() {
+        Map<UUID, PlayerPreferences> all = new HashMap<>();
+        entries.forEach((uuid, entry) -> all.put(uuid, entry.preferences()));
+        return all;
+    }
+
+    @Override
+    public synchronized void apply(PreferenceBatch batch) throws IOException {
+        batch.saved().forEach((uuid, prefs) -> entries.put(uuid, new Entry(prefs, batch.timeMillis())));
+        batch.deleted().forEach(entries::remove);
+        for (UUID uuid : batch.seen()) {
+            entries.computeIfPresent(uuid, (key, entry) -> new Entry(entry.preferences(), batch.timeMillis()));
+        }
+        save();
+    }
+
+    @Override
+    public synchronized int purgeUnseenSince(long cutoffMillis) throws IOException {
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.lastSeen() < cutoffMillis);
+        int purged = before - entries.size();
+        if (purged > 0) {
+            save();
+        }
+        return purged;
+    }
+
+    @Override
+    public void close() {
+        // Every batch is written as it is applied
+    }
+
+    private void save() throws IOException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        entries.forEach((uuid, entry) -> {
+            String path = uuid.toString();
+            yaml.set(path + ".totems", entry.preferences().getTotems());
+            yaml.set(path + ".duration", entry.preferences().getDuration());
+            yaml.set(path + ".loadout", entry.preferences().getLoadout());
+            yaml.set(path + ".last-seen", entry.lastSeen());
+        });
+
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, yaml.saveToString(), StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.takeda.ttrain.gui;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.text.ComponentTemplate;
+import com.takeda.ttrain.text.MessageService;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The training menu compiled from config.yml.
+ * <p>
+ * Built once per config load: materials are resolved, names and lore are parsed, and every
+ * slot that does not depend on the player (border, Save, Reset, Exit) is baked into a skeleton.
+ * Opening the menu copies the skeleton and renders only the totem, duration, spawn and loadout
+ * buttons from their lore templates.
+ */
+public final class GUILayout {
+    private static final String[] BUTTON_KEYS = {"totem", "duration", "spawn", "save", "reset", "exit", "loadout"};
+    private static final String DEFAULT_TITLE = "<gradient:#5e72e4:#825ee4><b>Crystal PvP Training</b></gradient>";
+
+    private final int size;
+    private final Component title;
+    private final Map<String, Integer> buttonSlots;
+    private final ItemStack[] skeleton;
+    private final DynamicItem totemItem;
+    private final DynamicItem durationItem;
+    private final DynamicItem spawnItem;
+    private final DynamicItem loadoutItem;
+
+    private GUILayout(int size, Component title, Map<String, Integer> buttonSlots, ItemStack[] skeleton,
+                      DynamicItem totemItem, DynamicItem durationItem, DynamicItem spawnItem, DynamicItem loadoutItem) {
+        this.size = size;
+        this.title = title;
+        this.buttonSlots = buttonSlots;
+        this.skeleton = skeleton;
+        this.totemItem = totemItem;
+        this.durationItem = durationItem;
+        this.spawnItem = spawnItem;
+        this.loadoutItem = loadoutItem;
+    }
+
+    /**
+     * A button whose lore contains per-player values.
+     */
+    private record DynamicItem(int slot, ItemStack prototype, List<ComponentTemplate> lore) {
+        void renderInto(ItemStack[] contents, String... values) {
+            if (slot < 0) return;
+            List<Component> lines = new ArrayList<>(lore.size());
+            for (ComponentTemplate line : lore) {
+                lines.add(line.render(values));
+            }
+            ItemStack item = prototype.clone();
+            ItemMeta meta = item.getItemMeta();
+            meta.lore(lines);
+            item.setItemMeta(meta);
+            contents[slot] = item;
+        }
+    }
+
+    /**
+     * Compiles the menu. Does not touch the server, so it can run off the main thread during a reload.
+     */
+    public static GUILayout compile(TTrainSettings config, MessageService messages) {
+        Logger logger = TTrainPlugin.getPluginLogger();
+        MiniMessage miniMessage = MiniMessage.miniMessage();
+        int size = config.getGuiSize();
+
+        // Load and validate slots
+        Map<String, Integer> buttonSlots = new LinkedHashMap<>();
+        boolean[] usedSlots = new boolean[size];
+        for (String key : BUTTON_KEYS) {
+            int slot = config.getGuiSlot(key);
+            if (slot < 0) {
+                logger.error("Invalid or missing GUI slot for '{}' in config.yml. Button will not be added.", key);
+            } else if (slot >= size) {
+                logger.warn("Configured slot {} for button '{}' is outside the GUI size ({}). Skipping.", slot, key, size);
+            } else {
+                buttonSlots.put(key, slot);
+                usedSlots[slot] = true;
+            }
+        }
+
+        ItemStack[] skeleton = new ItemStack[size];
+        createBorder(config, skeleton, usedSlots);
+
+        // Static buttons; their placeholders only depend on config values
+        placeStatic(config, messages, miniMessage, skeleton, buttonSlots, "save", Material.LIME_CONCRETE, Map.of());
+        placeStatic(config, messages, miniMessage, skeleton, buttonSlots, "reset", Material.RED_CONCRETE,
+            Map.of("{default-totems}", String.valueOf(config.getDefaultTotems()),
+                "{default-duration}", String.valueOf(config.getDefaultDuration())));
+        placeStatic(config, messages, miniMessage, skeleton, buttonSlots, "exit", Material.BARRIER, Map.of());
+
+        DynamicItem totemItem = compileDynamic(config, messages, miniMessage, buttonSlots, "totem", Material.TOTEM_OF_UNDYING,
+            Map.of("{min}", String.valueOf(config.getMinTotems()), "{max}", String.valueOf(config.getMaxTotems())),
+            "count");
+        DynamicItem durationItem = compileDynamic(config, messages, miniMessage, buttonSlots, "duration", Material.CLOCK,
+            Map.of("{min}", String.valueOf(config.getMinDuration()), "{max}", String.valueOf(config.getMaxDuration())),
+            "duration");
+        DynamicItem spawnItem = compileDynamic(config, messages, miniMessage, buttonSlots, "spawn", Material.ZOMBIE_HEAD,
+            Map.of(), "totems", "duration", "loadout");
+        DynamicItem loadoutItem = compileDynamic(config, messages, miniMessage, buttonSlots, "loadout", Material.NETHERITE_CHESTPLATE,
+            Map.of(), "loadout");
+
+        return new GUILayout(size, messages.getOrDefault("gui.title", DEFAULT_TITLE), Collections.unmodifiableMap(buttonSlots), skeleton,
+            totemItem, durationItem, spawnItem, loadoutItem);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Component getTitle() {
+        return title;
+    }
+
+    /**
+     * Configured slot of a button, or -1 if the button is not shown.
+     */
+    public int getSlot(String buttonKey) {
+        return buttonSlots.getOrDefault(buttonKey, -1);
+    }
+
+    public Map<String, Integer> getButtonSlots() {
+        return buttonSlots;
+    }
+
+    /**
+     * Builds the slot -> action array for this layout from handlers keyed by button.
+     */
+    public MenuAction[] bindActions(Map<String, MenuAction> actionsByButton) {
+        MenuAction[] actions = new MenuAction[size];
+        buttonSlots.forEach((key, slot) -> actions[slot] = actionsByButton.get(key));
+        return actions;
+    }
+
+    /**
+     * Inventory contents for a player with the given totem, duration and loadout settings.
+     */
+    public ItemStack[] render(int totems, int duration, String loadoutName) {
+        ItemStack[] contents = skeleton.clone();
+        String totemValue = String.valueOf(totems);
+        String durationValue = String.valueOf(duration);
+        totemItem.renderInto(contents, totemValue);
+        durationItem.renderInto(contents, durationValue);
+        spawnItem.renderInto(contents, totemValue, durationValue, loadoutName);
+        loadoutItem.renderInto(contents, loadoutName);
+        return contents;
+    }
+
+    private static void createBorder(TTrainSettings config, ItemStack[] skeleton, boolean[] usedSlots) {
+        ItemStack borderItem = createFiller(config.getGuiMaterial("border", Material.GRAY_STAINED_GLASS_PANE));
+        ItemStack specialItem = createFiller(config.getGuiMaterial("special", Material.PURPLE_STAINED_GLASS_PANE));
+
+        int size = skeleton.length;
+        int rows = size / 9;
+        for (int i = 0; i < size; i++) {
+            int row = i / 9;
+            int col = i % 9;
+            if ((row == 0 || row == rows - 1 || col == 0 || col == 8) && !usedSlots[i]) {
+                skeleton[i] = borderItem;
+            }
+        }
+
+        // Corners with special item, only if not used by buttons
+        int[] cornerSlots = {0, 8, size - 9, size - 1};
+        for (int cornerSlot : cornerSlots) {
+            if (!usedSlots[cornerSlot]) {
+                skeleton[cornerSlot] = specialItem;
+            }
+        }
+    }
+
+    private static ItemStack createFiller(Material material) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            meta.displayName(Component.text(" "));
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    private static void placeStatic(TTrainSettings config, MessageService messages, MiniMessage miniMessage, ItemStack[] skeleton,
+                                    Map<String, Integer> buttonSlots, String key, Material defaultMaterial, Map<String, String> fixedValues) {
+        Integer slot = buttonSlots.get(key);
+        if (slot == null) return;
+        ItemStack item = createPrototype(config, messages, miniMessage, key, defaultMaterial);
+        List<Component> lore = new ArrayList<>();
+        for (ComponentTemplate line : compileLore(messages, miniMessage, key, fixedValues)) {
+            lore.add(line.render());
+        }
+        ItemMeta meta = item.getItemMeta();
+        meta.lore(lore);
+        item.setItemMeta(meta);
+        skeleton[slot] = item;
+    }
+
+    private static DynamicItem compileDynamic(TTrainSettings config, MessageService messages, MiniMessage miniMessage, Map<String, Integer> buttonSlots,
+                                              String key, Material defaultMaterial, Map<String, String> fixedValues, String... placeholders) {
+        Integer slot = buttonSlots.get(key);
+        return new DynamicItem(slot != null ? slot : -1, createPrototype(config, messages, miniMessage, key, defaultMaterial),
+            compileLore(messages, miniMessage, key, fixedValues, placeholders));
+    }
+
+    private static ItemStack createPrototype(TTrainSettings config, MessageService messages, MiniMessage miniMessage, String key, Material defaultMaterial) {
+        ItemStack item = new ItemStack(config.getGuiMaterial(key, defaultMaterial));
+        ItemMeta meta = item.getItemMeta();
+        String name = messages.getRaw("items." + key + ".name");
+        meta.displayName(miniMessage.deserialize(name != null ? name : "Error: Missing Name"));
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    /**
+     * Compiles lore lines, substituting placeholders whose value is fixed for this config load
+     * so only the per-player placeholders remain.
+     */
+    private static List<ComponentTemplate> compileLore(MessageService messages, MiniMessage miniMessage, String key,
+                                                       Map<String, String> fixedValues, String... placeholders) {
+        String loreKey = "items." + key + ".lore";
+        List<ComponentTemplate> lore = new ArrayList<>();
+        for (String rawLine : messages.getLines(loreKey)) {
+            String line = rawLine;
+            for (Map.Entry<String, String> entry : fixedValues.entrySet()) {
+                line = line.replace(entry.getKey(), entry.getValue());
+            }
+            try {
+                lore.add(ComponentTemplate.compile(miniMessage, line, placeholders));
+            } catch (Exception e) {
+                TTrainPlugin.getPluginLogger().error("Failed to parse MiniMessage lore line for key '{}': {}. Raw Line: '{}'. Using plain text.",
+                    loreKey, e.getMessage(), rawLine);
+                lore.add(ComponentTemplate.compile(miniMessage, miniMessage.escapeTags(line), placeholders));
+            }
+        }
+        return lore;
+    }
+}
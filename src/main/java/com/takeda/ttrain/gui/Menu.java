@@ -0,0 +1,39 @@
+package com.takeda.ttrain.gui;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+/**
+ * Base class for plugin menus. The menu is the holder of its own inventory, so click events
+ * are routed with one {@code instanceof} check on the holder, and clicks are dispatched through
+ * a slot-indexed action array shared by every menu built from the same layout.
+ */
+public abstract class Menu implements InventoryHolder {
+    private final Inventory inventory;
+    private final MenuAction[] actions;
+
+    protected Menu(int size, Component title, MenuAction[] actions) {
+        this.inventory = Bukkit.createInventory(this, size, title);
+        this.actions = actions;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Runs the action bound to the clicked slot, if any. Slots outside the menu
+     * (the player's own inventory) have no action.
+     */
+    public void handleClick(Player player, int rawSlot) {
+        if (rawSlot < 0 || rawSlot >= actions.length) return;
+        MenuAction action = actions[rawSlot];
+        if (action != null) {
+            action.onClick(player);
+        }
+    }
+}
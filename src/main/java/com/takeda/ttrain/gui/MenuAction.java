@@ -0,0 +1,11 @@
+package com.takeda.ttrain.gui;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Handler bound to a menu slot.
+ */
+@FunctionalInterface
+public interface MenuAction {
+    void onClick(Player player);
+}
@@ -0,0 +1,14 @@
+package com.takeda.ttrain.gui;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * The training settings menu opened by {@code /train}.
+ */
+public class TrainingMenu extends Menu {
+
+    public TrainingMenu(GUILayout layout, MenuAction[] actions, ItemStack[] contents) {
+        super(layout.getSize(), layout.getTitle(), actions);
+        getInventory().setContents(contents);
+    }
+}
@@ -0,0 +1,39 @@
+package com.takeda.ttrain.hud;
+
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.session.TrainingSession;
+import com.takeda.ttrain.text.ComponentTemplate;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+/**
+ * A boss bar titled with the countdown and totems, draining as the session runs out.
+ */
+final class BossBarHud implements SessionHud {
+    private final ComponentTemplate title;
+    private final BossBar bar;
+
+    BossBarHud(TTrainSettings settings) {
+        this.title = settings.getBossBarTemplate();
+        this.bar = BossBar.bossBar(Component.empty(), 1.0f, settings.getBossBarColor(), BossBar.Overlay.PROGRESS);
+    }
+
+    @Override
+    public void update(TrainingSession session, int secondsLeft) {
+        int totemsLeft = session.getRemainingTotems();
+        bar.name(title.render(String.valueOf(secondsLeft), String.valueOf(totemsLeft),
+            String.valueOf(session.getTotems() - totemsLeft)));
+        bar.progress(Math.max(0.0f, Math.min(1.0f, (float) secondsLeft / Math.max(1, session.getDurationSeconds()))));
+    }
+
+    @Override
+    public void show(Player owner) {
+        owner.showBossBar(bar);
+    }
+
+    @Override
+    public void hide(Player owner) {
+        owner.hideBossBar(bar);
+    }
+}
@@ -0,0 +1,34 @@
+package com.takeda.ttrain.hud;
+
+import com.takeda.ttrain.config.SessionDisplay;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.session.TrainingSession;
+import org.bukkit.entity.Player;
+
+/**
+ * Countdown, totems and session stats shown only to a session's owner, instead of on the zombie's
+ * name tag where every player tracking the zombie receives each update.
+ * <p>
+ * One HUD lives as long as its session and is reused for every update. Callers only update it when
+ * the shown values change, and show it again when the owner rejoins.
+ */
+public interface SessionHud {
+
+    /**
+     * Creates the HUD for a display mode, or null for {@link SessionDisplay#NAME_TAG}. Sidebars
+     * need per-player scoreboards, which Folia does not support, so they become boss bars there.
+     */
+    static SessionHud create(SessionDisplay display, TTrainSettings settings, boolean regionized) {
+        return switch (display) {
+            case NAME_TAG -> null;
+            case BOSS_BAR -> new BossBarHud(settings);
+            case SIDEBAR -> regionized ? new BossBarHud(settings) : new SidebarHud(settings);
+        };
+    }
+
+    void update(TrainingSession session, int secondsLeft);
+
+    void show(Player owner);
+
+    void hide(Player owner);
+}
@@ -0,0 +1,78 @@
+package com.takeda.ttrain.hud;
+
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.session.TrainingSession;
+import com.takeda.ttrain.text.ComponentTemplate;
+import io.papermc.paper.scoreboard.numbers.NumberFormat;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+
+import java.util.List;
+
+/**
+ * A sidebar on a scoreboard of the session's own, so only the owner sees it. The scoreboard the
+ * owner had before is put back when the HUD is hidden.
+ */
+final class SidebarHud implements SessionHud {
+    private static final String OBJECTIVE = "ttrain";
+
+    private final List<ComponentTemplate> lines;
+    private final Scoreboard scoreboard;
+    private final Score[] scores;
+    private final Component[] shown;
+    private Scoreboard previous;
+
+    SidebarHud(TTrainSettings settings) {
+        this.lines = settings.getSidebarLines();
+        this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        Objective objective = scoreboard.registerNewObjective(OBJECTIVE, Criteria.DUMMY, settings.getSidebarTitle());
+        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        objective.numberFormat(NumberFormat.blank());
+        this.scores = new Score[lines.size()];
+        this.shown = new Component[lines.size()];
+        for (int i = 0; i < scores.length; i++) {
+            // Entry names are never shown; each line is its score's custom name, ordered by score
+            scores[i] = objective.getScore("line" + i);
+            scores[i].setScore(scores.length - i);
+        }
+    }
+
+    @Override
+    public void update(TrainingSession session, int secondsLeft) {
+        int totemsLeft = session.getRemainingTotems();
+        String time = String.valueOf(secondsLeft);
+        String totems = String.valueOf(totemsLeft);
+        String pops = String.valueOf(session.getTotems() - totemsLeft);
+        for (int i = 0; i < scores.length; i++) {
+            Component line = lines.get(i).render(time, totems, pops);
+            // Static lines and lines whose values did not change send nothing
+            if (!line.equals(shown[i])) {
+                shown[i] = line;
+                scores[i].customName(line);
+            }
+        }
+    }
+
+    @Override
+    public void show(Player owner) {
+        Scoreboard current = owner.getScoreboard();
+        if (current != scoreboard) {
+            previous = current;
+            owner.setScoreboard(scoreboard);
+        }
+    }
+
+    @Override
+    public void hide(Player owner) {
+        if (owner.getScoreboard() == scoreboard) {
+            owner.setScoreboard(previous != null ? previous : Bukkit.getScoreboardManager().getMainScoreboard());
+        }
+        previous = null;
+    }
+}
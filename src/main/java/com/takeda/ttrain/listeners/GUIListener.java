@@ -2,16 +2,16 @@ package com.takeda.ttrain.listeners;
 
 import com.takeda.ttrain.TTrainPlugin;
 import com.takeda.ttrain.config.ConfigManager.PlayerPreferences;
-import com.takeda.ttrain.managers.GUIManager;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import org.bukkit.Material;
-import org.bukkit.Sound;
+import com.takeda.ttrain.config.SoundEffect;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.gui.Menu;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
-import org.bukkit.inventory.ItemStack;
 import org.slf4j.Logger;
 
 import java.util.Map;
@@ -22,64 +22,59 @@ public class GUIListener implements Listener {
     private final Logger logger;
     private final TTrainPlugin plugin;
     private final Map<UUID, InputType> awaitingInput;
-    private final MiniMessage miniMessage;
 
     public GUIListener(TTrainPlugin plugin) {
         this.plugin = plugin;
         this.logger = TTrainPlugin.getPluginLogger();
         this.awaitingInput = new ConcurrentHashMap<>();
-        this.miniMessage = MiniMessage.miniMessage();
+        plugin.getGuiManager().registerButtonActions(Map.of(
+            "totem", this::handleTotemClick,
+            "duration", this::handleDurationClick,
+            "spawn", this::handleSpawnClick,
+            "save", this::handleSaveClick,
+            "reset", this::handleResetClick,
+            "exit", this::handleExitClick,
+            "loadout", this::handleLoadoutClick));
     }
 
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player player)) return;
-        if (!event.getView().title().equals(plugin.getConfigManager().getGuiTitle())) return;
+        // Runs for every click on the server; foreign inventories are rejected by their holder
+        if (!(event.getInventory().getHolder(false) instanceof Menu menu)) return;
         
         event.setCancelled(true);
+        if (!(event.getWhoClicked() instanceof Player player)) return;
         
-        ItemStack clickedItem = event.getCurrentItem();
-        if (clickedItem == null || clickedItem.getType() == Material.AIR) return;
-        
-        int slot = event.getRawSlot();
-        Material clickedMaterial = clickedItem.getType();
-        
-        // Handle clicks based on configured slots and materials
-        if (slot == GUIManager.getTotemSlot() && clickedMaterial == plugin.getConfigManager().getGUIMaterial("totem", Material.TOTEM_OF_UNDYING)) {
-            handleTotemClick(player);
-        } else if (slot == GUIManager.getDurationSlot() && clickedMaterial == plugin.getConfigManager().getGUIMaterial("duration", Material.CLOCK)) {
-            handleDurationClick(player);
-        } else if (slot == GUIManager.getSpawnSlot() && clickedMaterial == plugin.getConfigManager().getGUIMaterial("spawn", Material.ZOMBIE_HEAD)) {
-            handleSpawnClick(player);
-        } else if (slot == GUIManager.getSaveSlot() && clickedMaterial == plugin.getConfigManager().getGUIMaterial("save", Material.LIME_CONCRETE)) {
-            handleSaveClick(player);
-        } else if (slot == GUIManager.getResetSlot() && clickedMaterial == plugin.getConfigManager().getGUIMaterial("reset", Material.RED_CONCRETE)) {
-            handleResetClick(player);
-        } else if (slot == GUIManager.getExitSlot() && clickedMaterial == plugin.getConfigManager().getGUIMaterial("exit", Material.BARRIER)) {
-            handleExitClick(player);
+        menu.handleClick(player, event.getRawSlot());
+    }
+
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getInventory().getHolder(false) instanceof Menu) {
+            event.setCancelled(true);
         }
     }
 
     private void handleTotemClick(Player player) {
         player.closeInventory();
-        String message = plugin.getConfigManager().getRawMessage("messages.input.totem-count", "Enter totem count (1-{max}):");
-        message = message.replace("{min}", String.valueOf(plugin.getConfigManager().getMinTotems()))
-                .replace("{max}", String.valueOf(plugin.getConfigManager().getMaxTotems()));
-        player.sendMessage(miniMessage.deserialize(message));
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+        player.sendMessage(plugin.getConfigManager().getMessage("messages.input.totem-count", "Enter totem count ({min}-{max}):",
+            Placeholder.unparsed("min", String.valueOf(settings.getMinTotems())),
+            Placeholder.unparsed("max", String.valueOf(settings.getMaxTotems()))));
         awaitingInput.put(player.getUniqueId(), InputType.TOTEMS);
         player.playSound(player.getLocation(), 
-            Sound.valueOf(plugin.getConfigManager().getSoundEffect("settings-change", "ENTITY_EXPERIENCE_ORB_PICKUP")), 1.0f, 1.0f);
+            plugin.getConfigManager().getSound(SoundEffect.SETTINGS_CHANGE), 1.0f, 1.0f);
     }
 
     private void handleDurationClick(Player player) {
         player.closeInventory();
-        String message = plugin.getConfigManager().getRawMessage("messages.input.duration", "Enter duration in seconds (1-{max}):");
-        message = message.replace("{min}", String.valueOf(plugin.getConfigManager().getMinTrainingDuration()))
-                .replace("{max}", String.valueOf(plugin.getConfigManager().getMaxTrainingDuration()));
-        player.sendMessage(miniMessage.deserialize(message));
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+        player.sendMessage(plugin.getConfigManager().getMessage("messages.input.duration", "Enter duration in seconds ({min}-{max}):",
+            Placeholder.unparsed("min", String.valueOf(settings.getMinDuration())),
+            Placeholder.unparsed("max", String.valueOf(settings.getMaxDuration()))));
         awaitingInput.put(player.getUniqueId(), InputType.DURATION);
         player.playSound(player.getLocation(), 
-            Sound.valueOf(plugin.getConfigManager().getSoundEffect("settings-change", "ENTITY_EXPERIENCE_ORB_PICKUP")), 1.0f, 1.0f);
+            plugin.getConfigManager().getSound(SoundEffect.SETTINGS_CHANGE), 1.0f, 1.0f);
     }
 
     private void handleSpawnClick(Player player) {
@@ -96,7 +91,7 @@ public class GUIListener implements Listener {
         if (plugin.getZombieManager().hasActiveZombie(playerId)) {
             player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.zombie-already-active"));
             player.playSound(player.getLocation(), 
-                Sound.valueOf(plugin.getConfigManager().getSoundEffect("error", "ENTITY_VILLAGER_NO")), 1.0f, 1.0f);
+                plugin.getConfigManager().getSound(SoundEffect.ERROR), 1.0f, 1.0f);
             return;
         }
         
@@ -104,12 +99,13 @@ public class GUIListener implements Listener {
         if (!player.hasPermission("ttrain.spawn.gui")) {
             player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.no-permission"));
             player.playSound(player.getLocation(), 
-                Sound.valueOf(plugin.getConfigManager().getSoundEffect("error", "ENTITY_VILLAGER_NO")), 1.0f, 1.0f);
+                plugin.getConfigManager().getSound(SoundEffect.ERROR), 1.0f, 1.0f);
             return;
         }
         
         player.closeInventory();
-        plugin.getZombieManager().spawnTrainingZombie(player, totems, duration);
+        plugin.getZombieManager().spawnTrainingZombie(player, totems, duration,
+            plugin.getGuiManager().getSelectedLoadout(playerId));
     }
 
     private void handleSaveClick(Player player) {
@@ -122,12 +118,14 @@ public class GUIListener implements Listener {
         int totems = newTotems != null ? newTotems : prefs.getTotems();
         int duration = newDuration != null ? newDuration : prefs.getDuration();
         
-        PlayerPreferences updatedPrefs = new PlayerPreferences(totems, duration);
+        String loadout = plugin.getGuiManager().getSelectedLoadout(player.getUniqueId()).getName();
+        
+        PlayerPreferences updatedPrefs = new PlayerPreferences(totems, duration, loadout);
         plugin.getConfigManager().savePlayerPreferences(player.getUniqueId(), updatedPrefs);
         
         player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.preferences-saved"));
         player.playSound(player.getLocation(), 
-            Sound.valueOf(plugin.getConfigManager().getSoundEffect("success", "ENTITY_PLAYER_LEVELUP")), 1.0f, 1.0f);
+            plugin.getConfigManager().getSound(SoundEffect.SUCCESS), 1.0f, 1.0f);
         plugin.getGuiManager().clearInputs(player.getUniqueId());
         
         // Refresh the GUI to show updated settings
@@ -138,17 +136,26 @@ public class GUIListener implements Listener {
         plugin.getConfigManager().resetPlayerPreferences(player.getUniqueId());
         player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.preferences-reset"));
         player.playSound(player.getLocation(), 
-            Sound.valueOf(plugin.getConfigManager().getSoundEffect("success", "ENTITY_PLAYER_LEVELUP")), 1.0f, 1.0f);
+            plugin.getConfigManager().getSound(SoundEffect.SUCCESS), 1.0f, 1.0f);
         plugin.getGuiManager().clearInputs(player.getUniqueId());
         
         // Refresh the GUI with default values
         plugin.getGuiManager().openTrainingGUI(player);
     }
 
+    private void handleLoadoutClick(Player player) {
+        plugin.getGuiManager().cycleLoadout(player);
+        
+        // Refresh the GUI to show the new loadout
+        plugin.getGuiManager().openTrainingGUI(player);
+    }
+
     private void handleExitClick(Player player) {
         player.closeInventory();
-        player.playSound(player.getLocation(), 
-            Sound.valueOf(plugin.getConfigManager().getSoundEffect("gui-close", "BLOCK_CHEST_CLOSE")), 1.0f, 1.0f);
+        if (plugin.getLoadMonitor().allows(SoundEffect.GUI_CLOSE)) {
+            player.playSound(player.getLocation(), 
+                plugin.getConfigManager().getSound(SoundEffect.GUI_CLOSE), 1.0f, 1.0f);
+        }
     }
 
     @EventHandler
@@ -162,7 +169,7 @@ public class GUIListener implements Listener {
         event.setCancelled(true);
         String input = event.getMessage();
         
-        plugin.getServer().getScheduler().runTask(plugin, () -> {
+        plugin.getTaskScheduler().runAtEntity(player, () -> {
             boolean success = false;
             try {
                 logger.debug("Processing input '{}' from player {} for {}", input, player.getName(), inputType);
@@ -188,13 +195,13 @@ public class GUIListener implements Listener {
         if (!player.isOnline()) return;
         
         // First attempt after 5 ticks (250ms)
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+        plugin.getTaskScheduler().runAtEntityLater(player, () -> {
             if (player.isOnline()) {
                 logger.debug("First attempt to reopen GUI for {}", player.getName());
                 plugin.getGuiManager().openTrainingGUI(player);
                 
                 // If first attempt fails, try again after 10 more ticks (500ms)
-                plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                plugin.getTaskScheduler().runAtEntityLater(player, () -> {
                     if (player.isOnline() && player.getOpenInventory() == null) {
                         logger.debug("Second attempt to reopen GUI for {}", player.getName());
                         plugin.getGuiManager().openTrainingGUI(player);
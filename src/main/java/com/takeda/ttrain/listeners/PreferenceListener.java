@@ -0,0 +1,36 @@
+package com.takeda.ttrain.listeners;
+
+import com.takeda.ttrain.TTrainPlugin;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.UUID;
+
+/**
+ * Loads player preferences while the player logs in and drops them again on quit,
+ * so only online players' preferences are kept in memory.
+ */
+public class PreferenceListener implements Listener {
+    private final TTrainPlugin plugin;
+
+    public PreferenceListener(TTrainPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        // Runs on the login thread; the store may block here without touching the main thread
+        plugin.getConfigManager().loadPlayerPreferences(event.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        plugin.getConfigManager().evictPlayerPreferences(playerId);
+        plugin.getGuiManager().clearInputs(playerId);
+    }
+}
@@ -0,0 +1,35 @@
+package com.takeda.ttrain.listeners;
+
+import com.takeda.ttrain.TTrainPlugin;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+
+import java.util.List;
+
+/**
+ * Finds training zombies in freshly loaded chunks so crash leftovers are resumed or removed.
+ * Only zombies are inspected; every other entity is skipped with a single type check.
+ */
+public class SessionSweepListener implements Listener {
+    private final TTrainPlugin plugin;
+
+    public SessionSweepListener(TTrainPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        List<Entity> entities = event.getEntities();
+        for (int i = 0, size = entities.size(); i < size; i++) {
+            Entity entity = entities.get(i);
+            if (entity.getType() == EntityType.ZOMBIE) {
+                plugin.getZombieManager().sweepLoadedZombie((Zombie) entity);
+            }
+        }
+    }
+}
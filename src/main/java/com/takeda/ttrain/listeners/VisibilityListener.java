@@ -0,0 +1,35 @@
+package com.takeda.ttrain.listeners;
+
+import com.takeda.ttrain.TTrainPlugin;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+
+/**
+ * Keeps culled training zombies visible to the players allowed to see them.
+ */
+public class VisibilityListener implements Listener {
+    private final TTrainPlugin plugin;
+
+    public VisibilityListener(TTrainPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        plugin.getVisibilityManager().refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        plugin.getVisibilityManager().refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        plugin.getVisibilityManager().refresh(event.getPlayer());
+    }
+}
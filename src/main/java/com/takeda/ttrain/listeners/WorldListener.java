@@ -0,0 +1,29 @@
+package com.takeda.ttrain.listeners;
+
+import com.takeda.ttrain.TTrainPlugin;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Keeps the world policy registry in step with worlds loaded and unloaded while the server runs.
+ */
+public class WorldListener implements Listener {
+    private final TTrainPlugin plugin;
+
+    public WorldListener(TTrainPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        plugin.getWorldManager().getPolicyRegistry().worldLoaded(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        plugin.getWorldManager().getPolicyRegistry().worldUnloaded(event.getWorld());
+    }
+}
@@ -0,0 +1,154 @@
+package com.takeda.ttrain.loadout;
+
+import org.bukkit.Keyed;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ArmorMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.trim.ArmorTrim;
+import org.bukkit.inventory.meta.trim.TrimMaterial;
+import org.bukkit.inventory.meta.trim.TrimPattern;
+import org.slf4j.Logger;
+
+/**
+ * A named set of training zombie equipment from the {@code loadouts} section of config.yml.
+ * <p>
+ * Each piece is built once per config load into a prototype ItemStack (material, enchantments,
+ * trim, unbreakable). Equipping a zombie hands the prototypes to {@link EntityEquipment}, which
+ * copies them into the entity, so spawning builds no items or metas and the prototypes are never
+ * shared with the world.
+ */
+public final class Loadout {
+    private final String name;
+    private final String displayName;
+    private final ItemStack helmet;
+    private final ItemStack chestplate;
+    private final ItemStack leggings;
+    private final ItemStack boots;
+    private final ItemStack mainHand;
+
+    private Loadout(String name, String displayName, ItemStack helmet, ItemStack chestplate,
+                    ItemStack leggings, ItemStack boots, ItemStack mainHand) {
+        this.name = name;
+        this.displayName = displayName;
+        this.helmet = helmet;
+        this.chestplate = chestplate;
+        this.leggings = leggings;
+        this.boots = boots;
+        this.mainHand = mainHand;
+    }
+
+    /**
+     * Unenchanted, unbreakable netherite armor; used when no loadouts are configured.
+     */
+    public static Loadout fallback() {
+        return new Loadout("netherite", "Netherite",
+            prototype(Material.NETHERITE_HELMET), prototype(Material.NETHERITE_CHESTPLATE),
+            prototype(Material.NETHERITE_LEGGINGS), prototype(Material.NETHERITE_BOOTS), null);
+    }
+
+    /**
+     * Compiles a loadout section. Each piece is either a material name or a section with
+     * {@code material}, optional {@code enchantments} (key: level) and optional {@code trim}
+     * ({@code material} and {@code pattern} keys).
+     */
+    public static Loadout compile(String name, ConfigurationSection section, Logger logger) {
+        return new Loadout(name, section.getString("display-name", name),
+            compilePiece(name, section, "helmet", logger),
+            compilePiece(name, section, "chestplate", logger),
+            compilePiece(name, section, "leggings", logger),
+            compilePiece(name, section, "boots", logger),
+            compilePiece(name, section, "main-hand", logger));
+    }
+
+    private static ItemStack compilePiece(String loadout, ConfigurationSection section, String piece, Logger logger) {
+        String materialName;
+        ConfigurationSection pieceSection = section.getConfigurationSection(piece);
+        if (pieceSection != null) {
+            materialName = pieceSection.getString("material");
+        } else {
+            materialName = section.getString(piece);
+        }
+        if (materialName == null) return null; // Slot left empty
+
+        Material material = Material.matchMaterial(materialName);
+        if (material == null) {
+            logger.error("Invalid material '{}' for {} of loadout '{}'. Leaving the slot empty.", materialName, piece, loadout);
+            return null;
+        }
+        ItemStack item = prototype(material);
+        if (pieceSection == null) return item;
+
+        ItemMeta meta = item.getItemMeta();
+        ConfigurationSection enchantments = pieceSection.getConfigurationSection("enchantments");
+        if (enchantments != null) {
+            for (String key : enchantments.getKeys(false)) {
+                Enchantment enchantment = lookup(Registry.ENCHANTMENT, key);
+                if (enchantment == null) {
+                    logger.error("Unknown enchantment '{}' for {} of loadout '{}'. Skipping.", key, piece, loadout);
+                    continue;
+                }
+                meta.addEnchant(enchantment, enchantments.getInt(key, 1), true);
+            }
+        }
+        ConfigurationSection trim = pieceSection.getConfigurationSection("trim");
+        if (trim != null) {
+            String materialKey = trim.getString("material", "");
+            String patternKey = trim.getString("pattern", "");
+            TrimMaterial trimMaterial = lookup(Registry.TRIM_MATERIAL, materialKey);
+            TrimPattern trimPattern = lookup(Registry.TRIM_PATTERN, patternKey);
+            if (!(meta instanceof ArmorMeta armorMeta)) {
+                logger.error("{} of loadout '{}' is not armor and cannot be trimmed.", piece, loadout);
+            } else if (trimMaterial == null || trimPattern == null) {
+                logger.error("Invalid trim '{}'/'{}' for {} of loadout '{}'. Skipping.", materialKey, patternKey, piece, loadout);
+            } else {
+                armorMeta.setTrim(new ArmorTrim(trimMaterial, trimPattern));
+            }
+        }
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private static <T extends Keyed> T lookup(Registry<T> registry, String key) {
+        NamespacedKey namespacedKey = NamespacedKey.fromString(key.toLowerCase());
+        return namespacedKey != null ? registry.get(namespacedKey) : null;
+    }
+
+    private static ItemStack prototype(Material material) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            meta.setUnbreakable(true);
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    /**
+     * Puts this loadout's armor and main hand item on an entity. The offhand is left alone.
+     */
+    public void apply(EntityEquipment equipment) {
+        // The equipment copies each stack, so the prototypes stay untouched
+        equipment.setHelmet(helmet);
+        equipment.setChestplate(chestplate);
+        equipment.setLeggings(leggings);
+        equipment.setBoots(boots);
+        equipment.setItemInMainHand(mainHand);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Plain-text name shown in the GUI and messages.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
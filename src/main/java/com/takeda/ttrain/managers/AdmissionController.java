@@ -0,0 +1,378 @@
+package com.takeda.ttrain.managers;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.SoundEffect;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.loadout.Loadout;
+import com.takeda.ttrain.scheduler.TaskHandle;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Decides whether a training zombie may spawn now, later or not at all.
+ * <p>
+ * A spawn is admitted when the global and per-world session caps have room and the spawn-rate token
+ * bucket has a token left. Otherwise the player waits in a single FIFO queue and is shown their
+ * position on the action bar. The queue is drained in order a few times a second. A waiting player
+ * whose world is full keeps their place but does not hold up players in other worlds; a full global
+ * cap or an empty bucket stops the drain until the next run. While the {@link LoadMonitor} tier
+ * pauses spawns, every request is queued.
+ * <p>
+ * An admitted player holds a reserved slot from the admit decision until their session starts, so
+ * spawns that finish later (on another thread, or after a teleport to an arena plot) still count
+ * against the caps. The spawner releases the slot if it gives up.
+ * <p>
+ * The queue is drained on the global region, while requests and session counts come from the
+ * threads that own the players, so the state methods are synchronized. Admitted requests are handed
+ * to the spawner only after the lock is released, since a spawn may run inline on the calling
+ * thread. Action bar feedback is sent on the player's own thread.
+ */
+public class AdmissionController implements Runnable {
+    private static final long DRAIN_PERIOD_TICKS = 5L;
+    // Action bar text fades after a few seconds, so positions are re-sent every second
+    private static final int POSITION_REFRESH_RUNS = 4;
+
+    /**
+     * A player's spawn settings, kept while they wait for a slot.
+     */
+    public record SpawnRequest(Player player, int totems, int duration, Loadout loadout) {
+    }
+
+    private static final class Ticket {
+        SpawnRequest request;
+        final long enqueuedNanos;
+        int shownPosition;
+
+        Ticket(SpawnRequest request, long enqueuedNanos) {
+            this.request = request;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private final Logger logger;
+    private final TTrainPlugin plugin;
+    private final Consumer<SpawnRequest> spawner;
+
+    // Waiting players in arrival order
+    private final LinkedHashMap<UUID, Ticket> queue;
+
+    // Owner -> world the session was admitted in, and sessions per world; both include reservations
+    private final Map<UUID, UUID> sessionWorlds;
+    private final Map<UUID, Integer> worldSessions;
+    // Owners admitted whose session has not started yet
+    private final Set<UUID> reservations;
+
+    // Spawn rate
+    private double tokens;
+    private long lastRefillNanos;
+
+    private final LongAdder admitted;
+    private final LongAdder queued;
+    private final LongAdder rejected;
+    private final LongAdder timedOut;
+
+    private TaskHandle task;
+    private int runs;
+
+    /**
+     * @param spawner spawns the zombie for an admitted request
+     */
+    public AdmissionController(TTrainPlugin plugin, Consumer<SpawnRequest> spawner) {
+        this.plugin = plugin;
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.spawner = spawner;
+        this.queue = new LinkedHashMap<>();
+        this.sessionWorlds = new HashMap<>();
+        this.worldSessions = new HashMap<>();
+        this.reservations = new HashSet<>();
+        this.lastRefillNanos = System.nanoTime();
+        this.tokens = plugin.getConfigManager().getSettings().getSpawnBurst();
+        this.admitted = new LongAdder();
+        this.queued = new LongAdder();
+        this.rejected = new LongAdder();
+        this.timedOut = new LongAdder();
+    }
+
+    public synchronized void start() {
+        if (task == null) {
+            task = plugin.getTaskScheduler().runGlobalTimer(this, DRAIN_PERIOD_TICKS, DRAIN_PERIOD_TICKS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        queue.clear();
+        sessionWorlds.clear();
+        worldSessions.clear();
+        reservations.clear();
+    }
+
+    /**
+     * Spawns right away if there is room and nobody is waiting, otherwise queues the player.
+     * A player who is already waiting keeps their place with the new settings.
+     */
+    public void request(SpawnRequest request) {
+        if (admit(request)) {
+            spawner.accept(request);
+        }
+    }
+
+    // Whether the request is admitted now, with its slot reserved; otherwise it is queued or rejected
+    private synchronized boolean admit(SpawnRequest request) {
+        Player player = request.player();
+        UUID playerId = player.getUniqueId();
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+
+        boolean paused = plugin.getLoadMonitor().areSpawnsPaused();
+        if (!settings.isAdmissionEnabled() && !paused) {
+            admitted.increment();
+            return true;
+        }
+
+        Ticket waiting = queue.get(playerId);
+        if (waiting != null) {
+            waiting.request = request;
+            sendPosition(player, positionOf(playerId));
+            return false;
+        }
+
+        // Jumping the queue is only allowed when it is empty
+        World world = sessionWorld(player);
+        if (queue.isEmpty() && !paused && tryAdmit(settings, world)) {
+            reserve(playerId, world);
+            admitted.increment();
+            return true;
+        }
+
+        if (queue.size() >= settings.getQueueMaxSize()) {
+            rejected.increment();
+            logger.debug("Rejected spawn for {}: queue is full ({} waiting)", player.getName(), queue.size());
+            sendError(player, settings, "messages.action-bar.spawn-queue-full");
+            return false;
+        }
+
+        Ticket ticket = new Ticket(request, System.nanoTime());
+        ticket.shownPosition = queue.size() + 1;
+        queue.put(playerId, ticket);
+        queued.increment();
+        logger.debug("Queued spawn for {} at position {}", player.getName(), ticket.shownPosition);
+        sendPosition(player, ticket.shownPosition);
+        return false;
+    }
+
+    /**
+     * Removes a waiting player and frees a slot reserved for them, e.g. when they log out.
+     */
+    public synchronized void cancel(UUID playerId) {
+        queue.remove(playerId);
+        release(playerId);
+    }
+
+    /**
+     * Frees the slot reserved for an admitted player whose spawn was given up. Does nothing once
+     * their session has started.
+     */
+    public synchronized void release(UUID ownerId) {
+        if (reservations.remove(ownerId)) {
+            sessionEnded(ownerId);
+        }
+    }
+
+    /**
+     * Counts a session that started in the given world, whether spawned or resumed.
+     */
+    public synchronized void sessionStarted(UUID ownerId, World world) {
+        reservations.remove(ownerId);
+        UUID previous = sessionWorlds.put(ownerId, world.getUID());
+        if (previous != null) {
+            worldSessions.computeIfPresent(previous, (id, count) -> count > 1 ? count - 1 : null);
+        }
+        worldSessions.merge(world.getUID(), 1, Integer::sum);
+    }
+
+    public synchronized void sessionEnded(UUID ownerId) {
+        reservations.remove(ownerId);
+        UUID worldId = sessionWorlds.remove(ownerId);
+        if (worldId != null) {
+            worldSessions.computeIfPresent(worldId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    @Override
+    public void run() {
+        for (SpawnRequest request : drain()) {
+            spawner.accept(request);
+        }
+    }
+
+    // Removes the requests admitted this run from the queue, with their slots reserved
+    private synchronized List<SpawnRequest> drain() {
+        if (queue.isEmpty()) return List.of();
+
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+        boolean paused = plugin.getLoadMonitor().areSpawnsPaused();
+        List<SpawnRequest> admittedNow = new ArrayList<>();
+        if (!settings.isAdmissionEnabled() && !paused) {
+            // Admission was switched off by a reload; let everyone through
+            for (Ticket ticket : queue.values()) {
+                if (ticket.request.player().isOnline()) {
+                    admitted.increment();
+                    admittedNow.add(ticket.request);
+                }
+            }
+            queue.clear();
+            return admittedNow;
+        }
+
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(settings.getQueueTimeoutSeconds());
+        boolean refreshPositions = ++runs % POSITION_REFRESH_RUNS == 0;
+        boolean blocked = paused;
+        int position = 0;
+
+        Iterator<Ticket> iterator = queue.values().iterator();
+        while (iterator.hasNext()) {
+            Ticket ticket = iterator.next();
+            Player player = ticket.request.player();
+            if (!player.isOnline()) {
+                iterator.remove();
+                continue;
+            }
+            if (now - ticket.enqueuedNanos > timeoutNanos) {
+                iterator.remove();
+                timedOut.increment();
+                logger.debug("Spawn request of {} timed out after {}s in the queue", player.getName(), settings.getQueueTimeoutSeconds());
+                sendError(player, settings, "messages.action-bar.spawn-queue-timeout");
+                continue;
+            }
+
+            if (!blocked && isGloballyFull(settings)) {
+                blocked = true;
+            }
+            World world = sessionWorld(player);
+            if (!blocked && hasWorldRoom(settings, world)) {
+                if (takeToken(settings)) {
+                    iterator.remove();
+                    reserve(player.getUniqueId(), world);
+                    admitted.increment();
+                    admittedNow.add(ticket.request);
+                    continue;
+                }
+                blocked = true;
+            }
+
+            position++;
+            if (refreshPositions || ticket.shownPosition != position) {
+                ticket.shownPosition = position;
+                sendPosition(player, position);
+            }
+        }
+        return admittedNow;
+    }
+
+    // With arena plots every session runs in the arena world, wherever the player stands now
+    private World sessionWorld(Player player) {
+        PlotAllocator plots = plugin.getWorldManager().getPlotAllocator();
+        World arena = plots != null ? plots.getWorld() : null;
+        return arena != null ? arena : player.getWorld();
+    }
+
+    private boolean tryAdmit(TTrainSettings settings, World world) {
+        return !isGloballyFull(settings) && hasWorldRoom(settings, world) && takeToken(settings);
+    }
+
+    // Counts an admitted player like a session until it starts; an owner with a session already
+    // is turned away by the spawner and needs no slot
+    private void reserve(UUID ownerId, World world) {
+        if (sessionWorlds.putIfAbsent(ownerId, world.getUID()) == null) {
+            worldSessions.merge(world.getUID(), 1, Integer::sum);
+            reservations.add(ownerId);
+        }
+    }
+
+    private boolean isGloballyFull(TTrainSettings settings) {
+        int cap = settings.getMaxActiveSessions();
+        return cap > 0 && sessionWorlds.size() >= cap;
+    }
+
+    private boolean hasWorldRoom(TTrainSettings settings, World world) {
+        int cap = settings.getMaxSessionsInWorld(world.getName());
+        return cap <= 0 || worldSessions.getOrDefault(world.getUID(), 0) < cap;
+    }
+
+    private boolean takeToken(TTrainSettings settings) {
+        double rate = settings.getSpawnRatePerSecond();
+        if (rate <= 0) return true;
+
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        tokens = Math.min(settings.getSpawnBurst(), tokens + elapsedSeconds * rate);
+        lastRefillNanos = now;
+        if (tokens < 1.0) return false;
+        tokens -= 1.0;
+        return true;
+    }
+
+    private int positionOf(UUID playerId) {
+        int position = 0;
+        for (UUID waiting : queue.keySet()) {
+            position++;
+            if (waiting.equals(playerId)) return position;
+        }
+        return position;
+    }
+
+    private void sendPosition(Player player, int position) {
+        Component message = plugin.getConfigManager().getMessage("messages.action-bar.spawn-queued",
+            Placeholder.unparsed("position", String.valueOf(position)),
+            Placeholder.unparsed("size", String.valueOf(queue.size())));
+        plugin.getTaskScheduler().executeAt(player, () -> player.sendActionBar(message));
+    }
+
+    private void sendError(Player player, TTrainSettings settings, String messageKey) {
+        Component message = plugin.getConfigManager().getMessage(messageKey);
+        plugin.getTaskScheduler().executeAt(player, () -> {
+            player.sendActionBar(message);
+            player.playSound(player.getLocation(), settings.getSound(SoundEffect.ERROR), 1.0f, 1.0f);
+        });
+    }
+
+    public synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+}
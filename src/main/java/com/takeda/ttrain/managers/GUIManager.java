@@ -2,19 +2,16 @@ package com.takeda.ttrain.managers;
 
 import com.takeda.ttrain.TTrainPlugin;
 import com.takeda.ttrain.config.ConfigManager.PlayerPreferences;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import org.bukkit.Bukkit;
-import org.bukkit.Material;
-import org.bukkit.Sound;
+import com.takeda.ttrain.config.SoundEffect;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.gui.GUILayout;
+import com.takeda.ttrain.gui.MenuAction;
+import com.takeda.ttrain.gui.TrainingMenu;
+import com.takeda.ttrain.loadout.Loadout;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.slf4j.Logger;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,75 +21,73 @@ public class GUIManager {
     private final TTrainPlugin plugin;
     private final Map<UUID, Integer> totemInputs;
     private final Map<UUID, Integer> durationInputs;
-    private final MiniMessage miniMessage;
+    private final Map<UUID, String> loadoutInputs;
 
-    // Slot storage (loaded from config)
-    private final Map<String, Integer> buttonSlots = new ConcurrentHashMap<>();
+    // Button key -> click handler, registered by the GUI listener
+    private final Map<String, MenuAction> buttonActions;
+
+    // Current menu layout with its slot -> action array; rebound when a reload swaps the layout
+    private volatile BoundLayout boundLayout;
+
+    private record BoundLayout(GUILayout layout, MenuAction[] actions) {
+    }
 
     public GUIManager(TTrainPlugin plugin) {
         this.plugin = plugin;
         this.logger = TTrainPlugin.getPluginLogger();
         this.totemInputs = new ConcurrentHashMap<>();
         this.durationInputs = new ConcurrentHashMap<>();
-        this.miniMessage = MiniMessage.miniMessage();
-        loadButtonSlots(); // Load slots on init
+        this.loadoutInputs = new ConcurrentHashMap<>();
+        this.buttonActions = new ConcurrentHashMap<>();
     }
 
-    // Load and validate slots from config
-    private void loadButtonSlots() {
-        buttonSlots.clear();
-        String[] buttonKeys = {"totem", "duration", "spawn", "save", "reset", "exit"};
-        for (String key : buttonKeys) {
-            int slot = plugin.getConfigManager().getGUISlot(key);
-            if (slot >= 0) { // Basic validation (non-negative)
-                buttonSlots.put(key, slot);
-            } else {
-                logger.error("Invalid or missing GUI slot for '{}' in config.yml. Button will not be added.", key);
-            }
+    /**
+     * Binds click handlers to buttons by key ("totem", "spawn", ...).
+     */
+    public void registerButtonActions(Map<String, MenuAction> actions) {
+        buttonActions.putAll(actions);
+        this.boundLayout = null; // Rebind on next open
+    }
+
+    // The layout is compiled with the config; only the action array is built here, once per layout
+    private BoundLayout currentLayout() {
+        GUILayout layout = plugin.getConfigManager().getGuiLayout();
+        BoundLayout bound = this.boundLayout;
+        if (bound == null || bound.layout() != layout) {
+            bound = new BoundLayout(layout, layout.bindActions(buttonActions));
+            this.boundLayout = bound;
+            logger.debug("Bound training GUI layout with {} buttons", layout.getButtonSlots().size());
         }
+        return bound;
     }
 
     public void openTrainingGUI(Player player) {
         try {
-            if (!Bukkit.isPrimaryThread()) {
-                Bukkit.getScheduler().runTask(plugin, () -> openTrainingGUI(player));
+            if (!plugin.getTaskScheduler().isOwnedByCurrentThread(player)) {
+                plugin.getTaskScheduler().runAtEntity(player, () -> openTrainingGUI(player));
                 return;
             }
             
-            int size = plugin.getConfigManager().getGUISize();
-            Component title = plugin.getConfigManager().getGuiTitle();
-            Inventory gui = Bukkit.createInventory(null, size, title);
-            
-            createBorder(gui);
+            long start = System.nanoTime();
+            BoundLayout bound = currentLayout();
             
             UUID playerId = player.getUniqueId();
             PlayerPreferences prefs = plugin.getConfigManager().getPlayerPreferences(playerId);
             int currentTotems = totemInputs.getOrDefault(playerId, prefs.getTotems());
             int currentDuration = durationInputs.getOrDefault(playerId, prefs.getDuration());
+            Loadout currentLoadout = getSelectedLoadout(playerId);
             
-            // Add buttons based on configured slots
-            buttonSlots.forEach((key, slot) -> {
-                ItemStack item = switch (key) {
-                    case "totem" -> createTotemItem(currentTotems);
-                    case "duration" -> createDurationItem(currentDuration);
-                    case "spawn" -> createSpawnItem(currentTotems, currentDuration);
-                    case "save" -> createSaveItem();
-                    case "reset" -> createResetItem();
-                    case "exit" -> createExitItem();
-                    default -> null;
-                };
-                if (item != null) {
-                    if (slot < size) { // Ensure slot is within bounds
-                         gui.setItem(slot, item);
-                    } else {
-                        logger.warn("Configured slot {} for button '{}' is outside the GUI size ({}). Skipping.", slot, key, size);
-                    }
-                }
-            });
+            // Copy the prebuilt skeleton; only the player-specific buttons are rendered
+            TrainingMenu menu = new TrainingMenu(bound.layout(), bound.actions(),
+                bound.layout().render(currentTotems, currentDuration, currentLoadout.getDisplayName()));
             
-            player.openInventory(gui);
-            player.playSound(player.getLocation(), 
-                Sound.valueOf(plugin.getConfigManager().getSoundEffect("gui-open", "BLOCK_CHEST_OPEN")), 1.0f, 1.0f);
+            player.openInventory(menu.getInventory());
+            if (plugin.getLoadMonitor().allows(SoundEffect.GUI_OPEN)) {
+                player.playSound(player.getLocation(), 
+                    plugin.getConfigManager().getSound(SoundEffect.GUI_OPEN), 1.0f, 1.0f);
+            }
+            plugin.getMetrics().getGuiOpens().increment();
+            plugin.getMetrics().getGuiOpenTimer().recordSince(start);
             
             logger.debug("Opened training GUI for player {}", player.getName());
         } catch (Exception e) {
@@ -101,135 +96,6 @@ public class GUIManager {
         }
     }
 
-    private ItemStack createItem(String buttonKey, Material defaultMaterial, String nameKey, String loreKey, Map<String, String> placeholders) {
-        Material material = plugin.getConfigManager().getGUIMaterial(buttonKey, defaultMaterial);
-        ItemStack item = new ItemStack(material);
-        ItemMeta meta = item.getItemMeta();
-
-        // Set Name
-        String name = plugin.getConfigManager().getRawMessage(nameKey, "Error: Missing Name");
-        meta.displayName(miniMessage.deserialize(name));
-
-        // Set Lore with Placeholders
-        List<String> rawLore = plugin.getConfigManager().getRawLore(loreKey);
-        List<Component> processedLore = new ArrayList<>();
-        for (String rawLine : rawLore) {
-            String lineWithPlaceholders = rawLine;
-            if (placeholders != null) {
-                for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                    lineWithPlaceholders = lineWithPlaceholders.replace(entry.getKey(), entry.getValue());
-                }
-            }
-            try {
-                processedLore.add(miniMessage.deserialize(lineWithPlaceholders));
-            } catch (Exception e) {
-                logger.error("Failed to parse MiniMessage lore line for key '{}': {}. Raw Line: '{}'. Skipping line.", loreKey, e.getMessage(), rawLine);
-                processedLore.add(Component.text(lineWithPlaceholders));
-            }
-        }
-        meta.lore(processedLore);
-
-        item.setItemMeta(meta);
-        return item;
-    }
-
-    private ItemStack createTotemItem(int totems) {
-        int min = plugin.getConfigManager().getMinTotems();
-        int max = plugin.getConfigManager().getMaxTotems();
-        return createItem("totem", Material.TOTEM_OF_UNDYING, "items.totem.name", "items.totem.lore",
-                Map.of("{count}", String.valueOf(totems), "{min}", String.valueOf(min), "{max}", String.valueOf(max)));
-    }
-    
-    private ItemStack createDurationItem(int duration) {
-        int min = plugin.getConfigManager().getMinTrainingDuration();
-        int max = plugin.getConfigManager().getMaxTrainingDuration();
-        return createItem("duration", Material.CLOCK, "items.duration.name", "items.duration.lore",
-                Map.of("{duration}", String.valueOf(duration), "{min}", String.valueOf(min), "{max}", String.valueOf(max)));
-    }
-    
-    private ItemStack createSpawnItem(int totems, int duration) {
-        return createItem("spawn", Material.ZOMBIE_HEAD, "items.spawn.name", "items.spawn.lore",
-                Map.of("{totems}", String.valueOf(totems), "{duration}", String.valueOf(duration)));
-    }
-    
-    private ItemStack createSaveItem() {
-        return createItem("save", Material.LIME_CONCRETE, "items.save.name", "items.save.lore", null);
-    }
-    
-    private ItemStack createResetItem() {
-        int defaultTotems = plugin.getConfigManager().getDefaultTotems();
-        int defaultDuration = plugin.getConfigManager().getDefaultDuration();
-        return createItem("reset", Material.RED_CONCRETE, "items.reset.name", "items.reset.lore",
-                Map.of("{default-totems}", String.valueOf(defaultTotems), "{default-duration}", String.valueOf(defaultDuration)));
-    }
-    
-    private ItemStack createExitItem() {
-        return createItem("exit", Material.BARRIER, "items.exit.name", "items.exit.lore", null);
-    }
-
-    private void createBorder(Inventory inventory) {
-        Material borderMaterial = plugin.getConfigManager().getGUIMaterial("border", Material.GRAY_STAINED_GLASS_PANE);
-        Material specialMaterial = plugin.getConfigManager().getGUIMaterial("special", Material.PURPLE_STAINED_GLASS_PANE);
-        
-        ItemStack borderItem = new ItemStack(borderMaterial);
-        ItemMeta borderMeta = borderItem.getItemMeta();
-        if (borderMeta != null) {
-             borderMeta.displayName(Component.text(" "));
-             borderItem.setItemMeta(borderMeta);
-        }
-        
-        ItemStack specialItem = new ItemStack(specialMaterial);
-        ItemMeta specialMeta = specialItem.getItemMeta();
-         if (specialMeta != null) {
-             specialMeta.displayName(Component.text(" "));
-             specialItem.setItemMeta(specialMeta);
-         }
-        
-        int size = inventory.getSize();
-        int rows = size / 9;
-        
-        for (int i = 0; i < size; i++) {
-            int row = i / 9;
-            int col = i % 9;
-            
-            if (row == 0 || row == rows - 1 || col == 0 || col == 8) {
-                 if (inventory.getItem(i) == null) { 
-                     // Check if this slot is used by a configured button
-                     boolean isButtonSlot = buttonSlots.containsValue(i);
-                     if (!isButtonSlot) {
-                         inventory.setItem(i, borderItem.clone());
-                     }
-                 }
-            }
-        }
-        
-        // Example: corners with special item, only if not used by buttons
-        int[] cornerSlots = {0, 8, size - 9, size - 1};
-        for (int cornerSlot : cornerSlots) {
-            if (!buttonSlots.containsValue(cornerSlot) && inventory.getItem(cornerSlot) == null) {
-                 inventory.setItem(cornerSlot, specialItem.clone());
-            }
-        }
-    }
-    
-    // --- Slot Getters (using loaded map) --- 
-    public static int getTotemSlot() { return getInstance().getSlotOrDefault("totem", 20); }
-    public static int getDurationSlot() { return getInstance().getSlotOrDefault("duration", 24); }
-    public static int getSpawnSlot() { return getInstance().getSlotOrDefault("spawn", 22); }
-    public static int getSaveSlot() { return getInstance().getSlotOrDefault("save", 38); }
-    public static int getResetSlot() { return getInstance().getSlotOrDefault("reset", 40); }
-    public static int getExitSlot() { return getInstance().getSlotOrDefault("exit", 42); }
-
-    // Helper to get slot from map or return default
-    private int getSlotOrDefault(String key, int defaultSlot) {
-        return buttonSlots.getOrDefault(key, defaultSlot);
-    }
-    
-    // Need instance for static getters
-    private static GUIManager getInstance() {
-        return TTrainPlugin.getInstance().getGuiManager();
-    }
-    
     // --- Input Handling & Validation --- 
 
     public Integer getTotemInput(UUID playerId) {
@@ -240,29 +106,58 @@ public class GUIManager {
         return durationInputs.get(playerId);
     }
     
+    public String getLoadoutInput(UUID playerId) {
+        return loadoutInputs.get(playerId);
+    }
+    
+    /**
+     * The loadout the player picked in the menu, else their saved one, else the default.
+     */
+    public Loadout getSelectedLoadout(UUID playerId) {
+        String name = loadoutInputs.get(playerId);
+        if (name == null) {
+            name = plugin.getConfigManager().getPlayerPreferences(playerId).getLoadout();
+        }
+        return plugin.getConfigManager().getSettings().getLoadoutOrDefault(name);
+    }
+    
     public void clearInputs(UUID playerId) {
         totemInputs.remove(playerId);
         durationInputs.remove(playerId);
+        loadoutInputs.remove(playerId);
+    }
+    
+    /**
+     * Selects the next configured loadout for the player.
+     */
+    public void cycleLoadout(Player player) {
+        Loadout next = plugin.getConfigManager().getSettings().getNextLoadout(getSelectedLoadout(player.getUniqueId()));
+        loadoutInputs.put(player.getUniqueId(), next.getName());
+        player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.loadout-set",
+            Placeholder.unparsed("loadout", next.getDisplayName())));
+        player.playSound(player.getLocation(), 
+            plugin.getConfigManager().getSound(SoundEffect.SETTINGS_CHANGE), 1.0f, 1.0f);
     }
     
     public boolean handleTotemInput(Player player, String input) {
         try {
             int value = Integer.parseInt(input);
-            int minTotems = plugin.getConfigManager().getMinTotems();
-            int maxTotems = plugin.getConfigManager().getMaxTotems();
+            TTrainSettings settings = plugin.getConfigManager().getSettings();
+            int minTotems = settings.getMinTotems();
+            int maxTotems = settings.getMaxTotems();
             
             if (value < minTotems || value > maxTotems) {
-                player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-totem-count")
-                    .replaceText(builder -> builder.matchLiteral("{min}").replacement(String.valueOf(minTotems)))
-                    .replaceText(builder -> builder.matchLiteral("{max}").replacement(String.valueOf(maxTotems))));
+                player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-totem-count",
+                    Placeholder.unparsed("min", String.valueOf(minTotems)),
+                    Placeholder.unparsed("max", String.valueOf(maxTotems))));
                 return true; 
             }
             
             totemInputs.put(player.getUniqueId(), value);
-            player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.totem-count-set")
-                .replaceText(builder -> builder.matchLiteral("{count}").replacement(String.valueOf(value))));
+            player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.totem-count-set",
+                Placeholder.unparsed("count", String.valueOf(value))));
             player.playSound(player.getLocation(), 
-                Sound.valueOf(plugin.getConfigManager().getSoundEffect("settings-change", "ENTITY_EXPERIENCE_ORB_PICKUP")), 1.0f, 1.0f);
+                plugin.getConfigManager().getSound(SoundEffect.SETTINGS_CHANGE), 1.0f, 1.0f);
             return true; 
         } catch (NumberFormatException e) {
             player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-number"));
@@ -273,21 +168,22 @@ public class GUIManager {
     public boolean handleDurationInput(Player player, String input) {
         try {
             int value = Integer.parseInt(input);
-            int minDuration = plugin.getConfigManager().getMinTrainingDuration();
-            int maxDuration = plugin.getConfigManager().getMaxTrainingDuration();
+            TTrainSettings settings = plugin.getConfigManager().getSettings();
+            int minDuration = settings.getMinDuration();
+            int maxDuration = settings.getMaxDuration();
             
             if (value < minDuration || value > maxDuration) {
-                player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-duration")
-                     .replaceText(builder -> builder.matchLiteral("{min}").replacement(String.valueOf(minDuration)))
-                     .replaceText(builder -> builder.matchLiteral("{max}").replacement(String.valueOf(maxDuration))));
+                player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-duration",
+                    Placeholder.unparsed("min", String.valueOf(minDuration)),
+                    Placeholder.unparsed("max", String.valueOf(maxDuration))));
                 return true; 
             }
             
             durationInputs.put(player.getUniqueId(), value);
-            player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.duration-set")
-                .replaceText(builder -> builder.matchLiteral("{duration}").replacement(String.valueOf(value))));
+            player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.duration-set",
+                Placeholder.unparsed("duration", String.valueOf(value))));
             player.playSound(player.getLocation(), 
-                Sound.valueOf(plugin.getConfigManager().getSoundEffect("settings-change", "ENTITY_EXPERIENCE_ORB_PICKUP")), 1.0f, 1.0f);
+                plugin.getConfigManager().getSound(SoundEffect.SETTINGS_CHANGE), 1.0f, 1.0f);
             return true;
         } catch (NumberFormatException e) {
             player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.invalid-number"));
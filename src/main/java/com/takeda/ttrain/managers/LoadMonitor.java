@@ -0,0 +1,173 @@
+package com.takeda.ttrain.managers;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.LoadTier;
+import com.takeda.ttrain.config.SoundEffect;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.scheduler.TaskHandle;
+import org.bukkit.Server;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Follows Paper's MSPT and picks how much per-session work T-Train does.
+ * <p>
+ * MSPT is Paper's average over the last 100 ticks, so tiers follow the last five seconds. TPS is
+ * only read for display.
+ * <p>
+ * Checked once a second. When the server falls behind, the monitor jumps straight to the most
+ * severe tier whose enter threshold is hit. It steps back down one tier at a time, and only after
+ * the server has stayed below the current tier's exit threshold for {@code load.recover-after-seconds}.
+ */
+public class LoadMonitor implements Runnable {
+    private static final long CHECK_PERIOD_TICKS = 20L;
+
+    private final Logger logger;
+    private final TTrainPlugin plugin;
+    private final LongAdder tierChanges;
+    private volatile LoadTier tier;
+    private volatile double lastMspt;
+    private volatile double lastTps;
+    private volatile int level; // 0 = normal, else 1-based index into the configured tiers
+    private long calmSinceNanos;
+    private TaskHandle task;
+    private boolean unsupported; // No server-wide tick time, e.g. on Folia
+
+    public LoadMonitor(TTrainPlugin plugin) {
+        this.plugin = plugin;
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.tierChanges = new LongAdder();
+        this.tier = LoadTier.NORMAL;
+        this.lastTps = 20.0;
+        this.calmSinceNanos = -1L;
+    }
+
+    public void start() {
+        if (task == null) {
+            task = plugin.getTaskScheduler().runGlobalTimer(this, CHECK_PERIOD_TICKS, CHECK_PERIOD_TICKS);
+        }
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+        List<LoadTier> tiers = settings.getLoadTiers();
+        if (!settings.isLoadMonitorEnabled() || tiers.isEmpty() || unsupported) {
+            if (level != 0) changeTier(0, LoadTier.NORMAL);
+            return;
+        }
+
+        Server server = plugin.getServer();
+        double mspt;
+        double tps;
+        try {
+            mspt = server.getAverageTickTime();
+            tps = server.getTPS()[0];
+        } catch (UnsupportedOperationException e) {
+            unsupported = true;
+            logger.warn("This server does not report a server-wide tick time; load tiers are disabled");
+            return;
+        }
+        lastMspt = mspt;
+        lastTps = tps;
+
+        // A reload may have replaced or removed tiers; keep the level and pick up the new settings
+        if (level > tiers.size()) {
+            changeTier(tiers.size(), tiers.get(tiers.size() - 1));
+        } else if (level > 0) {
+            tier = tiers.get(level - 1);
+        }
+
+        int target = 0;
+        for (int i = tiers.size() - 1; i >= 0; i--) {
+            if (tiers.get(i).isEnteredBy(mspt)) {
+                target = i + 1;
+                break;
+            }
+        }
+        if (target > level) {
+            changeTier(target, tiers.get(target - 1));
+            calmSinceNanos = -1L;
+            return;
+        }
+        if (level == 0) return;
+
+        if (!tiers.get(level - 1).isExitedBy(mspt)) {
+            calmSinceNanos = -1L;
+            return;
+        }
+        long now = System.nanoTime();
+        if (calmSinceNanos < 0) {
+            calmSinceNanos = now;
+        } else if (now - calmSinceNanos >= TimeUnit.SECONDS.toNanos(settings.getLoadRecoverSeconds())) {
+            int lower = level - 1;
+            changeTier(lower, lower == 0 ? LoadTier.NORMAL : tiers.get(lower - 1));
+            calmSinceNanos = now; // The next step down needs its own calm period
+        }
+    }
+
+    private void changeTier(int newLevel, LoadTier newTier) {
+        LoadTier previous = this.tier;
+        this.level = newLevel;
+        this.tier = newTier;
+        tierChanges.increment();
+        if (newTier == LoadTier.NORMAL) {
+            logger.info("Server load recovered (MSPT {}, TPS {}); training back to full fidelity",
+                String.format("%.1f", lastMspt), String.format("%.1f", lastTps));
+        } else {
+            logger.warn("Server load tier changed from '{}' to '{}' (MSPT {}, TPS {})", previous.getName(), newTier.getName(),
+                String.format("%.1f", lastMspt), String.format("%.1f", lastTps));
+        }
+    }
+
+    /**
+     * The tier in effect; {@link LoadTier#NORMAL} while the server keeps up.
+     */
+    public LoadTier getTier() {
+        return tier;
+    }
+
+    /**
+     * 0 while the server keeps up, otherwise the 1-based position of the current tier in config.yml.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public long getTierChangeCount() {
+        return tierChanges.sum();
+    }
+
+    public double getLastMspt() {
+        return lastMspt;
+    }
+
+    public double getLastTps() {
+        return lastTps;
+    }
+
+    /**
+     * Whether a sound should be played under the current load.
+     */
+    public boolean allows(SoundEffect effect) {
+        return !effect.isCosmetic() || tier.playsSounds();
+    }
+
+    public boolean shouldSendActionBar() {
+        return tier.sendsActionBar();
+    }
+
+    public boolean areSpawnsPaused() {
+        return tier.pausesSpawns();
+    }
+}
@@ -0,0 +1,214 @@
+package com.takeda.ttrain.managers;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.TTrainSettings;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.slf4j.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands out plots on a grid in the arena world, one per session, so sessions are spread out
+ * instead of crowding the chunks where players happen to stand.
+ * <p>
+ * Plots are {@link #getSpacing()} blocks apart, centre to centre. The spacing covers a plot's
+ * radius on both sides plus the tracking range, so nobody in one plot tracks entities in another.
+ * It is rounded up to whole chunks, so plots never share a chunk either. Free plots are kept in a
+ * doubly linked list over two int arrays. Taking the first free plot, freeing one, and reserving
+ * a given one are all O(1).
+ */
+public class PlotAllocator {
+    private static final int NONE = -1;
+
+    /**
+     * A player's plot, and where they were before they were moved there (null if unknown).
+     */
+    public record Lease(int plot, Location returnLocation) {
+    }
+
+    private final Logger logger;
+    private final TTrainPlugin plugin;
+    private final String worldName;
+    private final int centerX;
+    private final int centerZ;
+    private final int columns;
+    private final int spacing;
+    private final boolean returnPlayers;
+
+    // Free list: next[i] and prev[i] link free plot i, or hold NONE
+    private final int[] next;
+    private final int[] prev;
+    private final boolean[] taken;
+    private int head;
+    private int free;
+
+    private final Map<UUID, Lease> leases;
+
+    public PlotAllocator(TTrainPlugin plugin, TTrainSettings settings) {
+        this.plugin = plugin;
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.worldName = settings.getArenaWorld();
+        this.centerX = settings.getArenaCenterX();
+        this.centerZ = settings.getArenaCenterZ();
+        this.columns = settings.getArenaColumns();
+        this.returnPlayers = settings.shouldReturnArenaPlayers();
+        int minimum = 2 * settings.getArenaPlotRadius() + settings.getArenaTrackingRange();
+        this.spacing = (minimum + 15) & ~15;
+
+        int plots = settings.getArenaMaxPlots();
+        this.next = new int[plots];
+        this.prev = new int[plots];
+        this.taken = new boolean[plots];
+        for (int i = 0; i < plots; i++) {
+            next[i] = i + 1 < plots ? i + 1 : NONE;
+            prev[i] = i - 1;
+        }
+        this.head = 0;
+        this.free = plots;
+        this.leases = new HashMap<>();
+        logger.info("Arena: {} plots in {}, {} blocks apart", plots, worldName, spacing);
+    }
+
+    /**
+     * The arena world, or null if it is not loaded.
+     */
+    public World getWorld() {
+        return plugin.getServer().getWorld(worldName);
+    }
+
+    /**
+     * Takes the first free plot for a player.
+     *
+     * @param returnLocation where to send the player back to when the plot is released
+     * @return the lease, or null if every plot is taken or the player already holds one
+     */
+    public synchronized Lease allocate(UUID playerId, Location returnLocation) {
+        if (head == NONE || leases.containsKey(playerId)) return null;
+
+        int plot = head;
+        unlink(plot);
+        Lease lease = new Lease(plot, returnLocation);
+        leases.put(playerId, lease);
+        return lease;
+    }
+
+    /**
+     * Takes the plot containing a location for a player, e.g. for a session resumed after a crash.
+     *
+     * @return false if the location is outside the grid or its plot is already taken
+     */
+    public synchronized boolean reserve(UUID playerId, Location location) {
+        if (leases.containsKey(playerId) || location.getWorld() == null
+            || !location.getWorld().getName().equals(worldName)) {
+            return false;
+        }
+        int plot = plotAt(location.getBlockX(), location.getBlockZ());
+        if (plot == NONE || taken[plot]) return false;
+
+        unlink(plot);
+        leases.put(playerId, new Lease(plot, null));
+        return true;
+    }
+
+    /**
+     * Frees the player's plot, if they hold one, and sends them back to where they came from if
+     * arena.return-players is on and they are still in the arena world.
+     */
+    public void release(UUID playerId, boolean returnPlayer) {
+        Lease lease;
+        synchronized (this) {
+            lease = leases.remove(playerId);
+            if (lease == null) return;
+            push(lease.plot());
+        }
+
+        Player player = plugin.getServer().getPlayer(playerId);
+        if (!returnPlayer || !returnPlayers || lease.returnLocation() == null || player == null || !player.isOnline()) return;
+        plugin.getTaskScheduler().executeAt(player, () -> {
+            if (player.getWorld().getName().equals(worldName)) {
+                player.teleportAsync(lease.returnLocation());
+            }
+        });
+    }
+
+    public synchronized boolean hasLease(UUID playerId) {
+        return leases.containsKey(playerId);
+    }
+
+    /**
+     * Teleports a player to the centre of their plot, standing on the highest block. The plot's
+     * chunk is loaded first without blocking the calling thread.
+     *
+     * @return completes with whether the player arrived
+     */
+    public CompletableFuture<Boolean> moveTo(Player player, Lease lease) {
+        World world = getWorld();
+        if (world == null) {
+            logger.error("Arena world '{}' is not loaded", worldName);
+            return CompletableFuture.completedFuture(false);
+        }
+        int x = centerX + (lease.plot() % columns) * spacing;
+        int z = centerZ + (lease.plot() / columns) * spacing;
+        return world.getChunkAtAsync(x >> 4, z >> 4).thenCompose(chunk -> {
+            Location center = new Location(world, x + 0.5, world.getHighestBlockYAt(x, z) + 1.0, z + 0.5);
+            return player.teleportAsync(center);
+        });
+    }
+
+    /**
+     * Blocks between the centres of neighbouring plots.
+     */
+    public int getSpacing() {
+        return spacing;
+    }
+
+    public synchronized int getFreeCount() {
+        return free;
+    }
+
+    public int getPlotCount() {
+        return taken.length;
+    }
+
+    // Index of the plot whose cell contains the block, or NONE outside the grid
+    private int plotAt(int blockX, int blockZ) {
+        int column = Math.floorDiv(blockX - centerX + spacing / 2, spacing);
+        int row = Math.floorDiv(blockZ - centerZ + spacing / 2, spacing);
+        if (column < 0 || column >= columns || row < 0) return NONE;
+        int plot = row * columns + column;
+        return plot < taken.length ? plot : NONE;
+    }
+
+    private void unlink(int plot) {
+        if (prev[plot] != NONE) {
+            next[prev[plot]] = next[plot];
+        } else {
+            head = next[plot];
+        }
+        if (next[plot] != NONE) {
+            prev[next[plot]] = prev[plot];
+        }
+        next[plot] = NONE;
+        prev[plot] = NONE;
+        taken[plot] = true;
+        free--;
+    }
+
+    // Freed plots are handed out first again, while their chunks are likely still loaded
+    private void push(int plot) {
+        if (!taken[plot]) return;
+        taken[plot] = false;
+        next[plot] = head;
+        prev[plot] = NONE;
+        if (head != NONE) {
+            prev[head] = plot;
+        }
+        head = plot;
+        free++;
+    }
+}
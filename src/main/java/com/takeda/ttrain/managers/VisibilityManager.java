@@ -0,0 +1,181 @@
+package com.takeda.ttrain.managers;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.session.TrainingSession;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.slf4j.Logger;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hides training zombies from everyone but their owner, players spectating the owner and admins
+ * with {@value #BYPASS_PERMISSION}, when {@code zombie.visibility} is {@code owner}.
+ * <p>
+ * A culled zombie is not visible by default, so the server never starts tracking it for other
+ * players, including ones who join later. Each allowed viewer gets a per-player override, which
+ * Paper keeps across world changes and respawns but drops on logout; {@link #refresh(Player)}
+ * puts them back. Sessions keep the mode they started with across a reload.
+ */
+public class VisibilityManager {
+    public static final String BYPASS_PERMISSION = "ttrain.visibility.bypass";
+
+    private final Logger logger;
+    private final TTrainPlugin plugin;
+
+    // Owner of a culled session -> players spectating it
+    private final Map<UUID, Set<UUID>> culledSessions;
+    // Players shown culled zombies through the bypass permission, pruned once they are offline
+    private final Set<UUID> bypassViewers;
+
+    public VisibilityManager(TTrainPlugin plugin) {
+        this.plugin = plugin;
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.culledSessions = new ConcurrentHashMap<>();
+        this.bypassViewers = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Hides a new or resumed session's zombie if owner-only visibility is on. Call from the thread
+     * that owns the zombie.
+     */
+    public void sessionStarted(TrainingSession session) {
+        if (!plugin.getConfigManager().getSettings().isOwnerOnlyVisibility()) return;
+
+        culledSessions.putIfAbsent(session.getOwnerId(), ConcurrentHashMap.newKeySet());
+        Zombie zombie = session.getZombie();
+        zombie.setVisibleByDefault(false);
+        for (Player viewer : plugin.getServer().getOnlinePlayers()) {
+            boolean bypass = viewer.hasPermission(BYPASS_PERMISSION);
+            if (bypass) {
+                bypassViewers.add(viewer.getUniqueId());
+            }
+            if (bypass || viewer.getUniqueId().equals(session.getOwnerId())) {
+                show(viewer, zombie);
+            }
+        }
+    }
+
+    /**
+     * Re-applies culling after the session's zombie was loaded as a new entity instance.
+     */
+    public void sessionRebound(TrainingSession session) {
+        if (culledSessions.containsKey(session.getOwnerId())) {
+            session.getZombie().setVisibleByDefault(false);
+        }
+    }
+
+    /**
+     * Forgets a session and drops every viewer override on its zombie, so a pooled zombie stays
+     * hidden from its previous viewers. The zombie itself is left hidden. Only the owner,
+     * spectators and bypass viewers can hold an override, and offline players hold none.
+     */
+    public void sessionEnded(TrainingSession session, Zombie zombie) {
+        Set<UUID> spectators = culledSessions.remove(session.getOwnerId());
+        if (spectators == null || zombie == null) return;
+
+        Set<UUID> viewers = new HashSet<>(spectators);
+        viewers.add(session.getOwnerId());
+        viewers.addAll(bypassViewers);
+        for (UUID viewerId : viewers) {
+            Player viewer = plugin.getServer().getPlayer(viewerId);
+            if (viewer == null) {
+                bypassViewers.remove(viewerId);
+                continue;
+            }
+            plugin.getTaskScheduler().executeAt(viewer, () -> viewer.hideEntity(plugin, zombie));
+        }
+    }
+
+    public boolean isCulled(UUID ownerId) {
+        return culledSessions.containsKey(ownerId);
+    }
+
+    /**
+     * Starts or stops showing an owner's culled zombie to a spectator.
+     *
+     * @return true if the player now spectates the owner, false if they stopped
+     */
+    public boolean toggleSpectator(UUID ownerId, Player spectator) {
+        Set<UUID> spectators = culledSessions.get(ownerId);
+        Zombie zombie = plugin.getZombieManager().getActiveZombie(ownerId);
+        if (spectators == null || zombie == null) return false;
+
+        if (spectators.add(spectator.getUniqueId())) {
+            show(spectator, zombie);
+            logger.debug("{} is spectating the training zombie of {}", spectator.getName(), ownerId);
+            return true;
+        }
+        spectators.remove(spectator.getUniqueId());
+        if (!spectator.hasPermission(BYPASS_PERMISSION)) {
+            plugin.getTaskScheduler().executeAt(spectator, () -> spectator.hideEntity(plugin, zombie));
+        }
+        logger.debug("{} stopped spectating the training zombie of {}", spectator.getName(), ownerId);
+        return false;
+    }
+
+    /**
+     * Shows a player every culled zombie they are allowed to see. Overrides are kept per player
+     * object, so this runs on join, and on world change and respawn in case another plugin reset them.
+     */
+    public void refresh(Player player) {
+        if (culledSessions.isEmpty()) return;
+
+        UUID playerId = player.getUniqueId();
+        boolean bypass = player.hasPermission(BYPASS_PERMISSION);
+        if (bypass) {
+            bypassViewers.add(playerId);
+        }
+        culledSessions.forEach((ownerId, spectators) -> {
+            if (bypass || ownerId.equals(playerId) || spectators.contains(playerId)) {
+                Zombie zombie = plugin.getZombieManager().getActiveZombie(ownerId);
+                if (zombie != null) {
+                    show(player, zombie);
+                }
+            }
+        });
+    }
+
+    private void show(Player viewer, Zombie zombie) {
+        plugin.getTaskScheduler().executeAt(viewer, () -> viewer.showEntity(plugin, zombie));
+    }
+
+    public int getCulledSessionCount() {
+        return culledSessions.size();
+    }
+
+    public int getSpectatorCount() {
+        int count = 0;
+        for (Set<UUID> spectators : culledSessions.values()) {
+            count += spectators.size();
+        }
+        return count;
+    }
+
+    /**
+     * Online player and culled zombie pairs where the player is kept from seeing the zombie.
+     */
+    public long getCulledPairCount() {
+        if (culledSessions.isEmpty()) return 0L;
+
+        Set<UUID> restricted = new HashSet<>();
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            if (!player.hasPermission(BYPASS_PERMISSION)) {
+                restricted.add(player.getUniqueId());
+            }
+        }
+        // Every restricted player misses every culled zombie, except their own and those they spectate
+        long hidden = (long) restricted.size() * culledSessions.size();
+        for (Map.Entry<UUID, Set<UUID>> entry : culledSessions.entrySet()) {
+            if (restricted.contains(entry.getKey())) hidden--;
+            for (UUID spectator : entry.getValue()) {
+                if (restricted.contains(spectator)) hidden--;
+            }
+        }
+        return hidden;
+    }
+}
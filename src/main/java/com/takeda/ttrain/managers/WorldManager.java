@@ -1,101 +1,43 @@
 package com.takeda.ttrain.managers;
 
 import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.config.WorldPolicy;
+import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.entity.Player;
 import org.slf4j.Logger;
 
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class WorldManager {
     private final Logger logger;
     private final TTrainPlugin plugin;
-    private final Set<String> enabledWorlds;
-    private final Set<String> disabledWorlds;
-    private final Map<String, String> worldAliases;
+    private final PlotAllocator plotAllocator;
+    private final WorldPolicyRegistry policyRegistry;
 
     public WorldManager(TTrainPlugin plugin) {
         this.plugin = plugin;
         this.logger = TTrainPlugin.getPluginLogger();
-        this.enabledWorlds = new HashSet<>();
-        this.disabledWorlds = new HashSet<>();
-        this.worldAliases = new ConcurrentHashMap<>();
-        loadWorldConfig();
-    }
-
-    public void loadWorldConfig() {
-        try {
-            // Clear existing configurations
-            enabledWorlds.clear();
-            disabledWorlds.clear();
-            worldAliases.clear();
-
-            // Load enabled worlds
-            enabledWorlds.addAll(plugin.getConfig().getStringList("worlds.enabled"));
-            logger.info("Loaded {} enabled worlds", enabledWorlds.size());
-
-            // Load disabled worlds
-            disabledWorlds.addAll(plugin.getConfig().getStringList("worlds.disabled"));
-            logger.info("Loaded {} disabled worlds", disabledWorlds.size());
-
-            // Load world aliases
-            if (plugin.getConfig().contains("worlds.aliases")) {
-                plugin.getConfig().getConfigurationSection("worlds.aliases").getKeys(false)
-                    .forEach(alias -> worldAliases.put(alias, 
-                        plugin.getConfig().getString("worlds.aliases." + alias)));
-                logger.info("Loaded {} world aliases", worldAliases.size());
+        this.policyRegistry = new WorldPolicyRegistry(plugin);
+
+        // Arena plots are laid out once; changing them needs a restart
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+        if (settings.isArenaEnabled()) {
+            this.plotAllocator = new PlotAllocator(plugin, settings);
+            if (!policy().isEnabled(settings.getArenaWorld())) {
+                logger.warn("Arena world {} is not an enabled world; no sessions can start there", settings.getArenaWorld());
             }
-
-            // Validate worlds
-            validateWorlds();
-        } catch (Exception e) {
-            logger.error("Error loading world configuration", e);
+        } else {
+            this.plotAllocator = null;
         }
     }
 
-    private void validateWorlds() {
-        Set<String> invalidWorlds = new HashSet<>();
-
-        // Check enabled worlds
-        for (String worldName : enabledWorlds) {
-            if (!isValidWorld(worldName)) {
-                invalidWorlds.add(worldName);
-                logger.warn("Invalid enabled world: {}", worldName);
-            }
-        }
-
-        // Check disabled worlds
-        for (String worldName : disabledWorlds) {
-            if (!isValidWorld(worldName)) {
-                invalidWorlds.add(worldName);
-                logger.warn("Invalid disabled world: {}", worldName);
-            }
-        }
-
-        // Check aliases
-        for (Map.Entry<String, String> entry : worldAliases.entrySet()) {
-            if (!isValidWorld(entry.getValue())) {
-                invalidWorlds.add(entry.getValue());
-                logger.warn("Invalid world alias target: {} -> {}", entry.getKey(), entry.getValue());
-            }
-        }
-
-        // Remove invalid worlds
-        invalidWorlds.forEach(worldName -> {
-            enabledWorlds.remove(worldName);
-            disabledWorlds.remove(worldName);
-            worldAliases.values().remove(worldName);
-        });
-
-        if (!invalidWorlds.isEmpty()) {
-            logger.warn("Removed {} invalid worlds from configuration", invalidWorlds.size());
-        }
-    }
-
-    private boolean isValidWorld(String worldName) {
-        return plugin.getServer().getWorld(worldName) != null;
+    // Built with the rest of the config and swapped on reload
+    private WorldPolicy policy() {
+        return plugin.getConfigManager().getWorldPolicy();
     }
 
     public boolean isWorldEnabled(World world) {
@@ -103,33 +45,56 @@ public class WorldManager {
             logger.warn("Attempted to check if null world is enabled");
             return false;
         }
+        return policyRegistry.isEnabled(world);
+    }
 
-        String worldName = world.getName();
-        String resolvedName = worldAliases.getOrDefault(worldName, worldName);
+    /**
+     * Whether the player may start a session. With arena plots, sessions run in the arena world
+     * wherever the player is, so the arena world is checked instead of the player's.
+     */
+    public boolean canStartSession(Player player) {
+        World world = plotAllocator != null ? plotAllocator.getWorld() : player.getWorld();
+        return world != null && isWorldEnabled(world);
+    }
 
-        if (disabledWorlds.contains(resolvedName)) {
-            logger.debug("World {} is disabled", worldName);
-            return false;
-        }
+    /**
+     * Whether the training regions allow a session where the player stands. Sessions in arena
+     * plots are placed by the allocator, so regions do not apply to them.
+     */
+    public boolean isInTrainingRegion(Player player) {
+        if (plotAllocator != null) return true;
+        Location location = player.getLocation();
+        return plugin.getConfigManager().getRegions().isAllowed(location.getWorld().getName(),
+            location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * The arena plot allocator, or null when arena plots are off.
+     */
+    public PlotAllocator getPlotAllocator() {
+        return plotAllocator;
+    }
 
-        boolean enabled = enabledWorlds.contains(resolvedName);
-        logger.debug("World {} is {}", worldName, enabled ? "enabled" : "disabled");
-        return enabled;
+    /**
+     * Cached policy decisions per loaded world.
+     */
+    public WorldPolicyRegistry getPolicyRegistry() {
+        return policyRegistry;
     }
 
     public String resolveWorldName(String worldName) {
-        return worldAliases.getOrDefault(worldName, worldName);
+        return policy().resolve(worldName);
     }
 
     public Set<String> getEnabledWorlds() {
-        return new HashSet<>(enabledWorlds);
+        return new HashSet<>(policy().getEnabledWorlds());
     }
 
     public Set<String> getDisabledWorlds() {
-        return new HashSet<>(disabledWorlds);
+        return new HashSet<>(policy().getDisabledWorlds());
     }
 
     public Map<String, String> getWorldAliases() {
-        return new ConcurrentHashMap<>(worldAliases);
+        return policy().getWorldAliases();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.takeda.ttrain.managers;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.WorldPolicy;
+import org.bukkit.World;
+import org.slf4j.Logger;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The world policy's answer for every loaded world, worked out once per world and config load so
+ * a spawn check is a single identity-map lookup.
+ * <p>
+ * Worlds are added and dropped as they load and unload, so worlds loaded after startup follow the
+ * policy right away. The map is copied on write and published through a volatile field, so reads
+ * take no lock from any thread. A reload publishes a new {@link WorldPolicy}; the first lookup
+ * after that sees a different policy instance and rebuilds the map.
+ */
+public class WorldPolicyRegistry {
+    private record Decisions(WorldPolicy policy, Map<World, Boolean> byWorld) {
+    }
+
+    private final Logger logger;
+    private final TTrainPlugin plugin;
+    private volatile Decisions decisions;
+
+    public WorldPolicyRegistry(TTrainPlugin plugin) {
+        this.plugin = plugin;
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.decisions = new Decisions(null, new IdentityHashMap<>());
+    }
+
+    public boolean isEnabled(World world) {
+        Decisions current = decisions;
+        if (current.policy() != plugin.getConfigManager().getWorldPolicy()) {
+            current = rebuild();
+        }
+        Boolean enabled = current.byWorld().get(world);
+        if (enabled != null) return enabled;
+
+        // Not seen loading, or already unloaded; answer without keeping the world
+        return current.policy().isEnabled(world.getName());
+    }
+
+    /**
+     * Decides for a newly loaded world.
+     *
+     * @return whether training is allowed there
+     */
+    public synchronized boolean worldLoaded(World world) {
+        Decisions current = decisions;
+        WorldPolicy policy = plugin.getConfigManager().getWorldPolicy();
+        if (current.policy() != policy) {
+            current = rebuild();
+        }
+        boolean enabled = policy.isEnabled(world.getName());
+        Map<World, Boolean> byWorld = new IdentityHashMap<>(current.byWorld());
+        byWorld.put(world, enabled);
+        decisions = new Decisions(policy, byWorld);
+        logger.debug("World {} loaded; training {}", world.getName(), enabled ? "enabled" : "disabled");
+        return enabled;
+    }
+
+    /**
+     * Forgets an unloaded world so the registry does not keep it alive.
+     */
+    public synchronized void worldUnloaded(World world) {
+        Decisions current = decisions;
+        if (!current.byWorld().containsKey(world)) return;
+        Map<World, Boolean> byWorld = new IdentityHashMap<>(current.byWorld());
+        byWorld.remove(world);
+        decisions = new Decisions(current.policy(), byWorld);
+    }
+
+    // Decides for every loaded world under the current policy
+    private synchronized Decisions rebuild() {
+        WorldPolicy policy = plugin.getConfigManager().getWorldPolicy();
+        Decisions current = decisions;
+        if (current.policy() == policy) return current;
+
+        Map<World, Boolean> byWorld = new IdentityHashMap<>();
+        int enabled = 0;
+        for (World world : plugin.getServer().getWorlds()) {
+            boolean allowed = policy.isEnabled(world.getName());
+            byWorld.put(world, allowed);
+            if (allowed) enabled++;
+        }
+        Decisions rebuilt = new Decisions(policy, byWorld);
+        decisions = rebuilt;
+        logger.info("Training is enabled in {} of {} loaded worlds", enabled, byWorld.size());
+        return rebuilt;
+    }
+}
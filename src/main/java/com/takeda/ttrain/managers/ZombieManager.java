@@ -1,268 +1,358 @@
 package com.takeda.ttrain.managers;
 
 import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.SoundEffect;
+import com.takeda.ttrain.config.SessionDisplay;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.hud.SessionHud;
+import com.takeda.ttrain.loadout.Loadout;
+import com.takeda.ttrain.scheduler.TaskScheduler;
+import com.takeda.ttrain.session.SessionClock;
+import com.takeda.ttrain.session.SessionIndex;
+import com.takeda.ttrain.session.SessionRecord;
+import com.takeda.ttrain.session.SessionRecordType;
+import com.takeda.ttrain.session.TrainingSession;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Zombie;
+import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.metadata.FixedMetadataValue;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.persistence.PersistentDataContainer;
 import org.slf4j.Logger;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
-import org.bukkit.metadata.MetadataValue;
 import org.bukkit.event.entity.EntityResurrectEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class ZombieManager implements SessionClock.Listener {
+    // How often the remaining time is written back to the zombie's PersistentDataContainer
+    private static final int PERSIST_INTERVAL_SECONDS = 5;
 
-public class ZombieManager {
     private final Logger logger;
     private final TTrainPlugin plugin;
-    private final Map<UUID, Zombie> activeZombies;
-    private final Map<UUID, BukkitTask> activeTimers;
-    private final MiniMessage miniMessage;
+    private final Map<UUID, TrainingSession> activeSessions;
+    private final SessionIndex sessionIndex;
+    private final SessionClock sessionClock;
+    private final SessionRecordType recordType;
+    private final ZombiePool zombiePool;
+    private final AdmissionController admissionController;
+    private final long runId;
+
+    // Crash leftovers waiting for their owner to join, by owner
+    private final Map<UUID, PendingResume> pendingResumes;
+
+    private record PendingResume(Zombie zombie, long deadlineNanos) {
+    }
 
     public ZombieManager(TTrainPlugin plugin) {
         this.plugin = plugin;
         this.logger = TTrainPlugin.getPluginLogger();
-        this.activeZombies = new ConcurrentHashMap<>();
-        this.activeTimers = new ConcurrentHashMap<>();
-        this.miniMessage = MiniMessage.miniMessage();
+        this.activeSessions = new ConcurrentHashMap<>();
+        this.pendingResumes = new ConcurrentHashMap<>();
+        this.sessionIndex = new SessionIndex();
+        this.sessionClock = new SessionClock(plugin, this);
+        this.recordType = new SessionRecordType(plugin);
+        this.zombiePool = new ZombiePool(plugin,
+            zombie -> prepareZombie(zombie, plugin.getConfigManager().getSettings().getDefaultLoadout()));
+        // Admitted requests may be drained on the global region; spawn on the player's own thread
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+        this.admissionController = new AdmissionController(plugin,
+            request -> scheduler.executeAt(request.player(), () -> spawnAdmitted(request)));
+        this.runId = ThreadLocalRandom.current().nextLong();
+        this.sessionClock.start();
+        this.zombiePool.start();
+        this.admissionController.start();
     }
 
-    public void spawnTrainingZombie(Player player, int totems, int duration) {
-        Location spawnLoc = player.getLocation().add(0, plugin.getConfig().getDouble("zombie.spawn-height", 2.0), 0);
+    /**
+     * Requests a training zombie for the player. It spawns right away if the admission limits allow,
+     * otherwise the player is queued and the zombie spawns when a slot frees up.
+     */
+    public void spawnTrainingZombie(Player player, int totems, int duration, Loadout loadout) {
+        // Don't queue players for a world they can't train in
+        if (!checkWorldEnabled(player)) return;
+
+        admissionController.request(new AdmissionController.SpawnRequest(player, totems, duration, loadout));
+    }
+
+    private boolean checkWorldEnabled(Player player) {
+        WorldManager worlds = plugin.getWorldManager();
+        if (worlds.canStartSession(player)) {
+            if (worlds.isInTrainingRegion(player)) return true;
+
+            logger.debug("Player {} attempted to spawn zombie outside the training regions of {}",
+                player.getName(), player.getWorld().getName());
+            player.sendMessage(plugin.getConfigManager().getMessage("messages.action-bar.outside-region"));
+            return false;
+        }
         
-        // Check if world is enabled
-        if (!plugin.getWorldManager().isWorldEnabled(spawnLoc.getWorld())) {
-            logger.warn("Player {} attempted to spawn zombie in disabled world: {}", 
-                player.getName(), spawnLoc.getWorld().getName());
-            player.sendMessage(plugin.getConfigManager().getMessage("errors.world-disabled"));
+        logger.warn("Player {} attempted to spawn zombie in disabled world: {}", 
+            player.getName(), player.getWorld().getName());
+        player.sendMessage(plugin.getConfigManager().getMessage("messages.action-bar.world-disabled"));
+        return false;
+    }
+
+    private void spawnAdmitted(AdmissionController.SpawnRequest request) {
+        Player player = request.player();
+        
+        // A queued player may have moved or resumed a session in the meantime
+        if (!checkWorldEnabled(player)) {
+            admissionController.release(player.getUniqueId());
+            return;
+        }
+        PlotAllocator plots = plugin.getWorldManager().getPlotAllocator();
+        if (hasActiveZombie(player.getUniqueId()) || (plots != null && plots.hasLease(player.getUniqueId()))) {
+            admissionController.release(player.getUniqueId());
+            player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.zombie-already-active"));
+            return;
+        }
+        if (plots == null) {
+            spawnAtPlayer(request);
             return;
         }
 
+        // Move the player to a plot of their own first; the zombie spawns next to them there
+        PlotAllocator.Lease lease = plots.allocate(player.getUniqueId(), player.getLocation());
+        if (lease == null) {
+            admissionController.release(player.getUniqueId());
+            player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.arena-full"));
+            return;
+        }
+        plots.moveTo(player, lease).whenComplete((arrived, error) -> plugin.getTaskScheduler().executeAt(player, () -> {
+            if (error != null || !Boolean.TRUE.equals(arrived) || !player.isOnline()) {
+                plots.release(player.getUniqueId(), false);
+                admissionController.release(player.getUniqueId());
+                logger.warn("Could not move {} to arena plot {}: {}", player.getName(), lease.plot(),
+                    error != null ? error.getMessage() : "teleport refused");
+                player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.spawn-failed"));
+                return;
+            }
+            spawnAtPlayer(request);
+        }));
+    }
+
+    private void spawnAtPlayer(AdmissionController.SpawnRequest request) {
+        Player player = request.player();
+        int totems = request.totems();
+        int duration = request.duration();
+        Loadout loadout = request.loadout();
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+        Location spawnLoc = player.getLocation().add(0, settings.getSpawnHeight(), 0);
+
+        long start = System.nanoTime();
         try {
-            Zombie zombie = player.getWorld().spawn(spawnLoc, Zombie.class);
-            
-            // Set zombie properties
-            updateZombieNameTag(zombie, totems, duration);
-            zombie.setCustomNameVisible(true);
+            // Reuse a parked zombie when pooling is on, otherwise spawn a new one
+            Zombie zombie = zombiePool.checkout(spawnLoc);
+            if (zombie != null) {
+                loadout.apply(zombie.getEquipment());
+            } else {
+                // Hidden before it is added to the world when only its owner may see it
+                boolean culled = settings.isOwnerOnlyVisibility();
+                zombie = spawnLoc.getWorld().spawn(spawnLoc, Zombie.class, fresh -> {
+                    prepareZombie(fresh, loadout);
+                    fresh.setVisibleByDefault(!culled);
+                });
+            }
             zombie.setPersistent(true);
-            zombie.setRemoveWhenFarAway(false);
-            zombie.setCanPickupItems(false);
-            zombie.setShouldBurnInDay(false);
-            zombie.setBaby(false);
             
             // Set health attributes
-            double zombieHealth = plugin.getConfig().getDouble("zombie.health", 40.0);
+            double zombieHealth = settings.getZombieHealth();
             zombie.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(zombieHealth);
             zombie.setHealth(zombieHealth);
             
-            // Set metadata for tracking
-            zombie.setMetadata("training_zombie", new FixedMetadataValue(plugin, true));
-            zombie.setMetadata("owner", new FixedMetadataValue(plugin, player.getUniqueId()));
-            zombie.setMetadata("totem_count", new FixedMetadataValue(plugin, totems));
-            zombie.setMetadata("spawn_time", new FixedMetadataValue(plugin, System.currentTimeMillis()));
-            zombie.setMetadata("duration", new FixedMetadataValue(plugin, duration));
-            zombie.setMetadata("remaining_totems", new FixedMetadataValue(plugin, totems));
-            
-            // Equip the zombie
-            equipZombie(zombie, totems);
-            
-            // Store the zombie
-            activeZombies.put(player.getUniqueId(), zombie);
+            // Hand the zombie its totems
+            equipTotems(zombie, totems);
             
-            // Schedule removal
-            scheduleZombieRemoval(zombie, duration);
-            
-            // Start name tag update timer
-            startNameTagTimer(zombie, totems, duration);
+            // Track the session; the shared clock drives the countdown and removal,
+            // the entity-id index serves the damage/resurrect handlers
+            TrainingSession session = new TrainingSession(player.getUniqueId(), zombie, totems, duration, sessionClock.now());
+            session.setOwner(player);
+            attachDisplay(session, player);
+            updateSessionDisplay(session, duration);
+            activeSessions.put(player.getUniqueId(), session);
+            sessionIndex.put(zombie.getEntityId(), session);
+            sessionClock.schedule(session);
+            admissionController.sessionStarted(player.getUniqueId(), zombie.getWorld());
+            plugin.getVisibilityManager().sessionStarted(session);
+            persistSession(session);
             
             // Play effects
-            player.playSound(spawnLoc, Sound.valueOf(plugin.getConfigManager().getSoundEffect("zombie-spawn", "ENTITY_ZOMBIE_AMBIENT")), 1.0f, 1.0f);
+            if (plugin.getLoadMonitor().allows(SoundEffect.ZOMBIE_SPAWN)) {
+                player.playSound(spawnLoc, settings.getSound(SoundEffect.ZOMBIE_SPAWN), 1.0f, 1.0f);
+            }
             
             // Send success message using ConfigManager
-            Component messageComponent = plugin.getConfigManager().getMessage("messages.action-bar.zombie-spawned"); // Action Bar
-            if (messageComponent != null) {
-                messageComponent = messageComponent.replaceText(builder -> builder
-                    .matchLiteral("{totems}")
-                    .replacement(String.valueOf(totems)))
-                .replaceText(builder -> builder
-                    .matchLiteral("{duration}")
-                    .replacement(String.valueOf(duration)));
-                player.sendActionBar(messageComponent);
-            } else {
-                // Fallback message if key is somehow missing despite checks
-                player.sendActionBar(Component.text("✔ Zombie spawned: " + totems + " totems, " + duration + "s duration!"));
-                logger.warn("Missing message key: messages.action-bar.zombie-spawned - using fallback message");
-            }
+            player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.zombie-spawned",
+                Placeholder.unparsed("totems", String.valueOf(totems)),
+                Placeholder.unparsed("duration", String.valueOf(duration)))); // Action Bar
             
-            logger.info("Player {} spawned a training zombie with {} totems for {} seconds", 
-                player.getName(), totems, duration);
+            plugin.getMetrics().getSpawns().increment();
+            plugin.getMetrics().getSpawnTimer().recordSince(start);
+            logger.info("Player {} spawned a training zombie with {} totems for {} seconds ({} loadout)", 
+                player.getName(), totems, duration, loadout.getName());
         } catch (Exception e) {
             logger.error("Failed to spawn training zombie for player {}: {}", player.getName(), e.getMessage());
+            releasePlot(player.getUniqueId());
+            admissionController.release(player.getUniqueId());
             player.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.spawn-failed")); // Action Bar
         }
     }
 
-    private void updateZombieNameTag(Zombie zombie, int totems, int timeRemaining) {
-        // Create name tag with colored time and totem count using StringBuilder
-        StringBuilder nameTagBuilder = new StringBuilder();
-        nameTagBuilder.append("<gradient:#FF6B6B:#4ECDC4>Training Zombie</gradient> ");
-        nameTagBuilder.append("<#FF5555>⏱ ").append(timeRemaining).append("s");
-        nameTagBuilder.append(" <#55FF55>⚡ ").append(totems).append(" totems");
+    /**
+     * Sets up where a new or resumed session shows its countdown: the zombie's name tag, or a HUD
+     * only the owner sees. Sessions keep their display until they end, even across a reload.
+     */
+    private void attachDisplay(TrainingSession session, Player owner) {
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+        SessionDisplay display = settings.getSessionDisplay();
+        Zombie zombie = session.getZombie();
+        zombie.setCustomNameVisible(!display.isHud());
+        if (!display.isHud()) return;
+
+        zombie.customName(null); // Left over from an earlier run in name-tag mode
+        SessionHud hud = SessionHud.create(display, settings, plugin.getTaskScheduler().isRegionized());
+        session.setHud(hud);
+        plugin.getTaskScheduler().executeAt(owner, () -> hud.show(owner));
+    }
+
+    private void updateSessionDisplay(TrainingSession session, int timeRemaining) {
+        // Skip the render and the packet when nothing visible changed
+        int totems = session.getRemainingTotems();
+        if (!session.updateShown(timeRemaining, totems)) return;
         
-        zombie.customName(miniMessage.deserialize(nameTagBuilder.toString()));
+        SessionHud hud = session.getHud();
+        if (hud != null) {
+            hud.update(session, timeRemaining);
+            return;
+        }
+        session.getZombie().customName(plugin.getConfigManager().getNameTagTemplate()
+            .render(String.valueOf(timeRemaining), String.valueOf(totems)));
     }
 
-    private void equipZombie(Zombie zombie, int totems) {
+    /**
+     * Setup of a new training zombie: behaviour flags and the loadout's equipment.
+     */
+    private void prepareZombie(Zombie zombie, Loadout loadout) {
+        zombie.setRemoveWhenFarAway(false);
+        zombie.setCanPickupItems(false);
+        zombie.setShouldBurnInDay(false);
+        zombie.setBaby(false);
+        equipZombie(zombie, loadout);
+    }
+
+    private void equipZombie(Zombie zombie, Loadout loadout) {
         try {
-            // Set netherite armor
-            ItemStack helmet = new ItemStack(Material.NETHERITE_HELMET);
-            ItemStack chestplate = new ItemStack(Material.NETHERITE_CHESTPLATE);
-            ItemStack leggings = new ItemStack(Material.NETHERITE_LEGGINGS);
-            ItemStack boots = new ItemStack(Material.NETHERITE_BOOTS);
-            
-            // Make armor unbreakable
-            ItemMeta helmetMeta = helmet.getItemMeta();
-            helmetMeta.setUnbreakable(true);
-            helmet.setItemMeta(helmetMeta);
-            
-            ItemMeta chestplateMeta = chestplate.getItemMeta();
-            chestplateMeta.setUnbreakable(true);
-            chestplate.setItemMeta(chestplateMeta);
-            
-            ItemMeta leggingsMeta = leggings.getItemMeta();
-            leggingsMeta.setUnbreakable(true);
-            leggings.setItemMeta(leggingsMeta);
-            
-            ItemMeta bootsMeta = boots.getItemMeta();
-            bootsMeta.setUnbreakable(true);
-            boots.setItemMeta(bootsMeta);
-            
-            // Apply armor to zombie
-            zombie.getEquipment().setHelmet(helmet);
-            zombie.getEquipment().setChestplate(chestplate);
-            zombie.getEquipment().setLeggings(leggings);
-            zombie.getEquipment().setBoots(boots);
-            
-            // Set ALL totems in the offhand only
-            ItemStack offHandTotem = new ItemStack(Material.TOTEM_OF_UNDYING, totems);
-            zombie.getEquipment().setItemInOffHand(offHandTotem);
-            zombie.getEquipment().setItemInMainHand(null); // Ensure main hand is empty
+            // Armor comes from the loadout's prebuilt prototypes
+            EntityEquipment equipment = zombie.getEquipment();
+            loadout.apply(equipment);
             
             // Make equipment stay
-            zombie.getEquipment().setHelmetDropChance(0.0f);
-            zombie.getEquipment().setChestplateDropChance(0.0f);
-            zombie.getEquipment().setLeggingsDropChance(0.0f);
-            zombie.getEquipment().setBootsDropChance(0.0f);
-            zombie.getEquipment().setItemInMainHandDropChance(0.0f);
-            zombie.getEquipment().setItemInOffHandDropChance(0.0f);
+            equipment.setHelmetDropChance(0.0f);
+            equipment.setChestplateDropChance(0.0f);
+            equipment.setLeggingsDropChance(0.0f);
+            equipment.setBootsDropChance(0.0f);
+            equipment.setItemInMainHandDropChance(0.0f);
+            equipment.setItemInOffHandDropChance(0.0f);
         } catch (Exception e) {
             logger.error("Failed to equip zombie: {}", e.getMessage());
         }
     }
 
-    private void scheduleZombieRemoval(Zombie zombie, int duration) {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (zombie.isValid() && zombie.hasMetadata("owner")) {
-                     try {
-                         UUID ownerUuid = (UUID) zombie.getMetadata("owner").get(0).value();
-                         // Use the helper, don't force remove here (let it despawn or die naturally if time runs out)
-                         removeZombie(zombie, ownerUuid, false); 
-                         logger.debug("Scheduled removal task finished for zombie owned by {}", ownerUuid);
-                     } catch (IndexOutOfBoundsException | ClassCastException e) {
-                          logger.warn("Error retrieving owner UUID from zombie metadata during scheduled removal.");
-                          // Attempt cleanup without owner UUID if possible
-                          activeZombies.entrySet().removeIf(entry -> entry.getValue().equals(zombie));
-                          removeZombieMetadata(zombie); // Remove metadata anyway
-                     }
-                } else {
-                    // Zombie might have already been removed (e.g., last totem pop)
-                    logger.debug("Scheduled removal task found invalid or ownerless zombie.");
-                }
-            }
-        }.runTaskLater(plugin, duration * 20L);
+    private void equipTotems(Zombie zombie, int totems) {
+        // Set ALL totems in the offhand only
+        zombie.getEquipment().setItemInOffHand(new ItemStack(Material.TOTEM_OF_UNDYING, totems));
     }
-    
-    private void startNameTagTimer(Zombie zombie, int totems, int duration) {
+
+    @Override
+    public void onCountdown(TrainingSession session, int secondsLeft) {
+        Zombie zombie = session.getZombie();
         if (!zombie.isValid()) return;
-        
-        UUID ownerUuid = (UUID) zombie.getMetadata("owner").get(0).value();
-        
-        // Cancel any existing timer
-        BukkitTask existingTask = activeTimers.remove(ownerUuid);
-        if (existingTask != null) {
-            existingTask.cancel();
+
+        // Update the name tag or HUD with remaining time and current totem count. Name tags reach
+        // every nearby player and are refreshed less often under load; a HUD only reaches the owner
+        int interval = session.getHud() != null ? 1 : plugin.getLoadMonitor().getTier().getNameTagIntervalSeconds();
+        if (interval <= 1 || secondsLeft % interval == 0) {
+            updateSessionDisplay(session, secondsLeft);
         }
         
-        // Start a new timer that updates the name tag
-        BukkitTask task = new BukkitRunnable() {
-            private int timeRemaining = duration;
-            
-            @Override
-            public void run() {
-                if (timeRemaining <= 0 || !zombie.isValid() || !activeZombies.containsKey(ownerUuid)) {
-                    cancel();
-                    activeTimers.remove(ownerUuid);
-                    return;
-                }
-                
-                // Get current totem count from metadata
-                int currentTotems = 0;
-                if (zombie.hasMetadata("remaining_totems")) {
-                    currentTotems = (int) zombie.getMetadata("remaining_totems").get(0).value();
-                }
-                
-                // Update name tag with remaining time and current totem count
-                updateZombieNameTag(zombie, currentTotems, timeRemaining);
-                
-                timeRemaining--;
-            }
-        }.runTaskTimer(plugin, 0L, 20L); // Update every second
-        
-        activeTimers.put(ownerUuid, task);
+        if (secondsLeft % PERSIST_INTERVAL_SECONDS == 0) {
+            persistSession(session);
+        }
+    }
+
+    @Override
+    public void onExpire(TrainingSession session) {
+        plugin.getMetrics().getSessionsTimedOut().increment();
+        // Don't force remove here (let it despawn or die naturally if time runs out)
+        removeZombie(session.getZombie(), session.getOwnerId(), false);
+        logger.debug("Training session timed out for {}", session.getOwnerId());
     }
 
     public void cleanupAllZombies() {
-        activeZombies.values().forEach(Zombie::remove);
-        activeZombies.clear();
+        // Folia only disables plugins at shutdown, when no region may be entered; the zombies keep
+        // their session records and are resumed or removed by the sweep on the next start
+        if (!plugin.getTaskScheduler().isRegionized()) {
+            for (TrainingSession session : activeSessions.values()) {
+                session.getZombie().remove();
+                Player owner = session.getOwner();
+                if (session.getHud() != null && owner != null) {
+                    session.getHud().hide(owner);
+                }
+            }
+        }
+        activeSessions.clear();
+        sessionIndex.clear();
+        zombiePool.stop();
+        admissionController.stop();
         
-        // Cancel all timers
-        activeTimers.values().forEach(BukkitTask::cancel);
-        activeTimers.clear();
+        // Stop the session clock
+        sessionClock.stop();
         
         logger.info("Cleaned up all active training zombies");
     }
 
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    public SessionClock getSessionClock() {
+        return sessionClock;
+    }
+
+    public int getActiveSessionCount() {
+        return activeSessions.size();
+    }
+
+    public int getIdleZombieCount() {
+        return zombiePool.getIdleCount();
+    }
+
     public boolean hasActiveZombie(UUID playerUuid) {
-        return activeZombies.containsKey(playerUuid);
+        return activeSessions.containsKey(playerUuid);
     }
 
     public Zombie getActiveZombie(UUID playerUuid) {
-        return activeZombies.get(playerUuid);
+        TrainingSession session = activeSessions.get(playerUuid);
+        return session != null ? session.getZombie() : null;
     }
     
     public int getActiveZombieTotemCount(UUID playerUuid) {
-        Zombie zombie = activeZombies.get(playerUuid);
-        if (zombie != null && zombie.hasMetadata("totem_count")) {
-            return (int) zombie.getMetadata("totem_count").get(0).value();
-        }
-        return 0;
+        TrainingSession session = activeSessions.get(playerUuid);
+        return session != null ? session.getTotems() : 0;
     }
 
     /**
@@ -273,150 +363,351 @@ public class ZombieManager {
         plugin.getServer().getPluginManager().registerEvents(new Listener() {
             @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
             public void onEntityDamage(EntityDamageEvent event) {
-                if (!(event.getEntity() instanceof Zombie zombie)) return;
-                if (!zombie.hasMetadata("training_zombie")) return;
-                
-                // Ignore zero or negative damage events
-                if (event.getFinalDamage() <= 0) return; 
-                
-                // If the zombie *would* die but has no totems, remove metadata 
-                // before the EntityDeathEvent fires, preventing drops.
-                if (zombie.getHealth() - event.getFinalDamage() <= 0) {
-                    List<MetadataValue> meta = zombie.getMetadata("remaining_totems");
-                    if (meta.isEmpty() || meta.get(0).asInt() <= 0) {
-                        double currentHealth = zombie.getHealth();
-                        double finalDamage = event.getFinalDamage();
-                        logger.info("Training zombie taking lethal damage (Health: {}, Damage: {}) with 0 totems. Removing metadata before death.", 
-                            currentHealth, finalDamage);
-                        // Remove metadata *before* death to prevent potential drops/weirdness
-                        removeZombieMetadata(zombie);
-                        // Let the event proceed (death happens)
-                    }
-                    // If totems > 0, the EntityResurrectEvent will handle it.
+                long start = System.nanoTime();
+                try {
+                    handleEntityDamage(event);
+                } finally {
+                    plugin.getMetrics().getDamageEventTimer().recordSince(start);
                 }
             }
             
             @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
             public void onEntityResurrect(EntityResurrectEvent event) {
-                if (!(event.getEntity() instanceof Zombie zombie)) return;
-                if (!zombie.hasMetadata("training_zombie")) return;
-                
-                // Check if the resurrection is happening via Totem (should always be the case here)
-                if (event.isCancelled()) return; // Should not happen if totem used
+                long start = System.nanoTime();
+                try {
+                    handleEntityResurrect(event);
+                } finally {
+                    plugin.getMetrics().getResurrectEventTimer().recordSince(start);
+                }
+            }
+            
+            @EventHandler
+            public void onPlayerJoin(PlayerJoinEvent event) {
+                resumePending(event.getPlayer());
                 
-                // Get remaining totems metadata
-                List<MetadataValue> meta = zombie.getMetadata("remaining_totems");
-                if (!meta.isEmpty()) {
-                    int remainingTotems = meta.get(0).asInt();
-                    
-                    // Ensure we actually had totems (this check might be redundant but safe)
-                    if (remainingTotems > 0) {
-                        // Decrement totem count in metadata
-                        remainingTotems--;
-                        zombie.setMetadata("remaining_totems", new FixedMetadataValue(plugin, remainingTotems));
-                        
-                        // Bukkit handles setting health and the particle/sound effect automatically.
-                        // We just need to update the count and notify the owner.
-                        
-                        // Get owner for notification
-                        final UUID ownerUuid; // Make final
-                        List<MetadataValue> ownerMeta = zombie.getMetadata("owner"); // Get metadata first
-                        if (!ownerMeta.isEmpty()) {
-                            ownerUuid = (UUID) ownerMeta.get(0).value();
-                        } else {
-                            ownerUuid = null; // Explicitly null if no owner meta
-                            logger.warn("Could not find owner metadata on resurrected zombie {}", zombie.getUniqueId());
-                        }
-                        
-                        if (ownerUuid != null) { // Check if ownerUuid is not null before using it
-                            Player owner = plugin.getServer().getPlayer(ownerUuid);
-                            if (owner != null && owner.isOnline()) {
-                                String rawMessage = plugin.getConfigManager().getRawMessage("messages.action-bar.totem-used", 
-                                    "<#f5365c>⚠ Zombie used totem! <white>{count}</white> left.</#f5365c>");
-                                rawMessage = rawMessage.replace("{count}", String.valueOf(remainingTotems));
-                                owner.sendActionBar(miniMessage.deserialize(rawMessage)); // Action Bar
-                            }
-                        }
-                        
-                        logger.debug("Training zombie resurrected using a totem. {} totems remaining.", remainingTotems);
-                        
-                        // Check if session should end now
-                        if (ownerUuid != null && remainingTotems <= 0 && plugin.getConfigManager().shouldEndSessionOnLastTotem()) {
-                            logger.info("Ending training session for {} as last totem popped.", ownerUuid);
-                            // Manually trigger removal and cleanup (use a slight delay to ensure event processing completes)
-                            plugin.getServer().getScheduler().runTaskLater(plugin, () -> removeZombie(zombie, ownerUuid, true), 1L); 
-                        } else if (remainingTotems <= 0) {
-                             // If session doesn't end, ensure the zombie's offhand is now empty
-                             // Bukkit *should* handle removing 1 totem, but let's ensure it's 0
-                             plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                                 if (zombie.isValid()) {
-                                      zombie.getEquipment().setItemInOffHand(null);
-                                 }
-                             }, 1L);
-                        }
-                        
-                    } else {
-                        // This case should ideally not be reached if EntityResurrectEvent fired,
-                        // but log it just in case.
-                        logger.warn("EntityResurrectEvent fired for zombie with 0 'remaining_totems' metadata. This might indicate an issue.");
-                        event.setCancelled(true); // Prevent resurrection if metadata says 0
-                        removeZombieMetadata(zombie); // Clean up just in case
+                // Refresh the cached owner reference for a session that outlived a relog
+                TrainingSession session = activeSessions.get(event.getPlayer().getUniqueId());
+                if (session != null) {
+                    session.setOwner(event.getPlayer());
+                    if (session.getHud() != null) {
+                        session.getHud().show(event.getPlayer());
+                    }
+                }
+            }
+            
+            @EventHandler
+            public void onPlayerQuit(PlayerQuitEvent event) {
+                admissionController.cancel(event.getPlayer().getUniqueId());
+                TrainingSession session = activeSessions.get(event.getPlayer().getUniqueId());
+                if (session != null) {
+                    session.setOwner(null);
+                    if (session.getHud() != null) {
+                        session.getHud().hide(event.getPlayer());
                     }
-                } else {
-                     // Metadata missing, cancel resurrection
-                     logger.warn("EntityResurrectEvent fired for training zombie but missing 'remaining_totems' metadata. Cancelling resurrection.");
-                     event.setCancelled(true); // Prevent resurrection if metadata is missing
-                     removeZombieMetadata(zombie); // Clean up just in case
                 }
             }
         }, plugin);
     }
     
+    private void handleEntityDamage(EntityDamageEvent event) {
+        // Runs for every damage event on the server; reject foreign entities by id first
+        if (sessionIndex.isEmpty()) return;
+        TrainingSession session = sessionIndex.get(event.getEntity().getEntityId());
+        if (session == null) return;
+        Zombie zombie = session.getZombie();
+        
+        // Ignore zero or negative damage events
+        if (event.getFinalDamage() <= 0) return; 
+        
+        // If the zombie *would* die but has no totems, stop tracking it
+        // before the EntityDeathEvent fires, preventing drops.
+        if (zombie.getHealth() - event.getFinalDamage() <= 0) {
+            if (session.getRemainingTotems() <= 0) {
+                double currentHealth = zombie.getHealth();
+                double finalDamage = event.getFinalDamage();
+                logger.info("Training zombie taking lethal damage (Health: {}, Damage: {}) with 0 totems. Untracking before death.", 
+                    currentHealth, finalDamage);
+                // Untrack *before* death to prevent potential drops/weirdness
+                sessionIndex.remove(zombie.getEntityId());
+                // Let the event proceed (death happens)
+            }
+            // If totems > 0, the EntityResurrectEvent will handle it.
+        }
+    }
+
+    private void handleEntityResurrect(EntityResurrectEvent event) {
+        if (sessionIndex.isEmpty()) return;
+        TrainingSession session = sessionIndex.get(event.getEntity().getEntityId());
+        if (session == null) return;
+        Zombie zombie = session.getZombie();
+        
+        // Check if the resurrection is happening via Totem (should always be the case here)
+        if (event.isCancelled()) return; // Should not happen if totem used
+        
+        int remainingTotems = session.getRemainingTotems();
+        
+        // Ensure we actually had totems (this check might be redundant but safe)
+        if (remainingTotems > 0) {
+            // Decrement totem count on the session
+            remainingTotems--;
+            session.setRemainingTotems(remainingTotems);
+            plugin.getMetrics().getTotemPops().increment();
+            persistSession(session);
+            updateSessionDisplay(session, session.getRemainingSeconds(sessionClock.now()));
+            
+            // Bukkit handles setting health and the particle/sound effect automatically.
+            // We just need to update the count and notify the owner.
+            final UUID ownerUuid = session.getOwnerId();
+            Player owner = session.getOwner();
+            if (owner != null && owner.isOnline() && plugin.getLoadMonitor().shouldSendActionBar()) {
+                Component message = plugin.getConfigManager().getMessage("messages.action-bar.totem-used",
+                    Placeholder.unparsed("count", String.valueOf(remainingTotems)));
+                plugin.getTaskScheduler().executeAt(owner, () -> owner.sendActionBar(message)); // Action Bar
+            }
+            
+            logger.debug("Training zombie resurrected using a totem. {} totems remaining.", remainingTotems);
+            
+            // Check if session should end now
+            if (remainingTotems <= 0 && plugin.getConfigManager().shouldEndSessionOnLastTotem()) {
+                logger.info("Ending training session for {} as last totem popped.", ownerUuid);
+                plugin.getMetrics().getSessionsEndedByLastTotem().increment();
+                // Manually trigger removal and cleanup (use a slight delay to ensure event processing completes)
+                plugin.getTaskScheduler().runAtEntityLater(zombie, () -> removeZombie(zombie, ownerUuid, true), 1L);
+            } else if (remainingTotems <= 0) {
+                 // If session doesn't end, ensure the zombie's offhand is now empty
+                 // Bukkit *should* handle removing 1 totem, but let's ensure it's 0
+                 plugin.getTaskScheduler().runAtEntityLater(zombie, () -> {
+                     if (zombie.isValid()) {
+                          zombie.getEquipment().setItemInOffHand(null);
+                     }
+                 }, 1L);
+            }
+        } else {
+            // This case should ideally not be reached if EntityResurrectEvent fired,
+            // but log it just in case.
+            logger.warn("EntityResurrectEvent fired for training zombie with 0 remaining totems. This might indicate an issue.");
+            event.setCancelled(true); // Prevent resurrection if the session says 0
+            sessionIndex.remove(zombie.getEntityId()); // Clean up just in case
+        }
+    }
+
     /**
-     * Helper method to remove metadata from a zombie.
+     * Writes the session's current state to its zombie so it can be recovered after a crash.
      */
-    private void removeZombieMetadata(Zombie zombie) {
-        if (zombie.hasMetadata("training_zombie")) {
-            zombie.removeMetadata("training_zombie", plugin);
+    private void persistSession(TrainingSession session) {
+        Zombie zombie = session.getZombie();
+        if (zombie.isValid()) {
+            zombie.getPersistentDataContainer().set(recordType.getKey(), recordType,
+                session.toRecord(runId, sessionClock.now()));
         }
-        if (zombie.hasMetadata("remaining_totems")) {
-             zombie.removeMetadata("remaining_totems", plugin);
+    }
+
+    /**
+     * Sweeps the zombies of every loaded world, for chunks that were loaded before the plugin enabled.
+     */
+    public void sweepLoadedWorlds() {
+        for (World world : plugin.getServer().getWorlds()) {
+            for (Zombie zombie : world.getEntitiesByClass(Zombie.class)) {
+                sweepLoadedZombie(zombie);
+            }
         }
-         if (zombie.hasMetadata("owner")) {
-             zombie.removeMetadata("owner", plugin);
-         }
-         // Remove other metadata if needed...
     }
-    
+
+    /**
+     * Handles a zombie that was just loaded from a chunk. Zombies without a session record are ignored;
+     * training zombies are either rebound to their live session, resumed, or removed as orphans.
+     */
+    public void sweepLoadedZombie(Zombie zombie) {
+        PersistentDataContainer container = zombie.getPersistentDataContainer();
+        if (container.isEmpty()) return;
+        if (zombiePool.isPooled(zombie)) {
+            // Pool members are never saved, so a loaded one was left behind by an earlier run
+            removeOrphan(zombie);
+            return;
+        }
+        if (!container.has(recordType.getKey())) return;
+
+        SessionRecord record;
+        try {
+            record = container.get(recordType.getKey(), recordType);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Removing training zombie {} with an unreadable session record: {}", zombie.getUniqueId(), e.getMessage());
+            removeOrphan(zombie);
+            return;
+        }
+        if (record == null) return;
+
+        TrainingSession active = activeSessions.get(record.ownerId());
+        if (active != null && active.getZombie().getUniqueId().equals(zombie.getUniqueId())) {
+            // The session's own zombie came back with its chunk; point the session at the new instance
+            sessionIndex.remove(active.getZombie().getEntityId());
+            active.rebind(zombie);
+            sessionIndex.put(zombie.getEntityId(), active);
+            sessionClock.rebind(active);
+            plugin.getVisibilityManager().sessionRebound(active);
+            logger.debug("Rebound training zombie for {} after chunk reload", record.ownerId());
+            return;
+        }
+
+        Player owner = plugin.getServer().getPlayer(record.ownerId());
+        boolean resumable = record.runId() != runId // Sessions of this run that ended while unloaded are done
+            && active == null
+            && plugin.getConfigManager().shouldResumeOrphanedSessions()
+            && record.remainingMillis() > 0;
+        if (!resumable) {
+            logger.info("Removing orphaned training zombie {} owned by {}", zombie.getUniqueId(), record.ownerId());
+            removeOrphan(zombie);
+            return;
+        }
+        if (owner == null || !owner.isOnline()) {
+            parkUntilOwnerJoins(zombie, record.ownerId());
+            return;
+        }
+        pendingResumes.remove(record.ownerId());
+        // Undo parking; the zombie may have been parked by an earlier run too
+        zombie.setAI(true);
+        zombie.setInvulnerable(false);
+
+        TrainingSession session = TrainingSession.resume(record, zombie, sessionClock.now());
+        session.setOwner(owner);
+        activeSessions.put(record.ownerId(), session);
+        sessionIndex.put(zombie.getEntityId(), session);
+        sessionClock.schedule(session);
+        admissionController.sessionStarted(record.ownerId(), zombie.getWorld());
+        plugin.getVisibilityManager().sessionStarted(session);
+        PlotAllocator plots = plugin.getWorldManager().getPlotAllocator();
+        if (plots != null) {
+            plots.reserve(record.ownerId(), zombie.getLocation()); // Keep the plot from being handed out again
+        }
+        persistSession(session);
+        attachDisplay(session, owner);
+        updateSessionDisplay(session, session.getRemainingSeconds(sessionClock.now()));
+        Component resumed = plugin.getConfigManager().getMessage("messages.action-bar.training-resumed");
+        plugin.getTaskScheduler().executeAt(owner, () -> owner.sendActionBar(resumed)); // Action Bar
+        logger.info("Resumed training session for {} with {} totems and {}s left", 
+            owner.getName(), session.getRemainingTotems(), session.getRemainingSeconds(sessionClock.now()));
+    }
+
+    /**
+     * Freezes a crash leftover whose owner is offline, with its time paused, until the owner joins.
+     * Removed once the grace period runs out, counted from when this run first found it.
+     */
+    private void parkUntilOwnerJoins(Zombie zombie, UUID ownerId) {
+        long now = sessionClock.now();
+        PendingResume previous = pendingResumes.get(ownerId);
+        if (previous != null && previous.zombie().isValid() && !previous.zombie().getUniqueId().equals(zombie.getUniqueId())) {
+            // Only one session per owner can come back
+            logger.info("Removing duplicate orphaned training zombie {} owned by {}", zombie.getUniqueId(), ownerId);
+            removeOrphan(zombie);
+            return;
+        }
+        long deadline = previous != null ? previous.deadlineNanos()
+            : now + TimeUnit.SECONDS.toNanos(plugin.getConfigManager().getSettings().getResumeGraceSeconds());
+        if (deadline - now <= 0) {
+            logger.info("Removing orphaned training zombie {}; its owner {} did not return in time", zombie.getUniqueId(), ownerId);
+            removeOrphan(zombie);
+            return;
+        }
+
+        PendingResume pending = new PendingResume(zombie, deadline);
+        pendingResumes.put(ownerId, pending);
+        zombie.setAI(false);
+        zombie.setInvulnerable(true);
+        long delayTicks = TimeUnit.NANOSECONDS.toMillis(deadline - now) / 50L + 1L;
+        plugin.getTaskScheduler().runAtEntityLater(zombie, () -> {
+            // Still waiting; a resume or a newer instance replaces the entry
+            if (pendingResumes.get(ownerId) == pending && zombie.isValid()) {
+                logger.info("Removing orphaned training zombie {}; its owner {} did not return in time", zombie.getUniqueId(), ownerId);
+                removeOrphan(zombie);
+            }
+        }, delayTicks);
+        logger.info("Training zombie {} is waiting for its owner {} to join", zombie.getUniqueId(), ownerId);
+    }
+
+    // Resumes a parked leftover of a player who just joined
+    private void resumePending(Player player) {
+        PendingResume pending = pendingResumes.get(player.getUniqueId());
+        if (pending == null || pending.deadlineNanos() - sessionClock.now() <= 0) return;
+
+        Zombie zombie = pending.zombie();
+        plugin.getTaskScheduler().runAtEntity(zombie, () -> {
+            // An unloaded zombie is swept again when its chunk loads, with its owner online by then
+            if (zombie.isValid() && pendingResumes.get(player.getUniqueId()) == pending) {
+                sweepLoadedZombie(zombie);
+            }
+        });
+    }
+
+    private void removeOrphan(Zombie zombie) {
+        zombie.getPersistentDataContainer().remove(recordType.getKey());
+        zombie.setPersistent(false);
+        // Remove on the next tick rather than while the chunk's entities are still being loaded
+        plugin.getTaskScheduler().runAtEntity(zombie, () -> {
+            if (zombie.isValid()) {
+                zombie.remove();
+            }
+        });
+    }
+
+    private void releasePlot(UUID ownerUuid) {
+        PlotAllocator plots = plugin.getWorldManager().getPlotAllocator();
+        if (plots != null) {
+            plots.release(ownerUuid, true);
+        }
+    }
+
     /**
-     * Helper method to cleanly remove a zombie and cancel its timers.
+     * Helper method to cleanly remove a zombie and stop its session.
      * @param zombie The zombie entity.
      * @param ownerUuid The UUID of the owner.
      * @param forceRemove Should the entity be removed immediately?
      */
     private void removeZombie(Zombie zombie, UUID ownerUuid, boolean forceRemove) {
-        activeZombies.remove(ownerUuid);
+        // Stop the session so the clock no longer updates it
+        TrainingSession session = activeSessions.remove(ownerUuid);
+        if (session != null) {
+            sessionClock.cancel(session);
+            admissionController.sessionEnded(ownerUuid);
+            plugin.getVisibilityManager().sessionEnded(session, zombie);
+            releasePlot(ownerUuid);
+        }
         
-        // Cancel the name tag timer
-        BukkitTask timerTask = activeTimers.remove(ownerUuid);
-        if (timerTask != null) {
-            timerTask.cancel();
+        if (zombie != null) {
+            sessionIndex.remove(zombie.getEntityId()); // Ensure it is no longer tracked
         }
         
-        if (zombie != null && zombie.isValid()) {
-            removeZombieMetadata(zombie); // Ensure metadata is gone
-            if (forceRemove) {
+        // A session that expired while its zombie was unloaded ends on the global region; the stale
+        // record is of this run, so the sweep removes the zombie when its chunk loads again
+        if (zombie != null && plugin.getTaskScheduler().isOwnedByCurrentThread(zombie) && zombie.isValid()) {
+            // Drop the persisted session and keep a leftover zombie out of the chunk save
+            zombie.getPersistentDataContainer().remove(recordType.getKey());
+            zombie.setPersistent(false);
+            if (zombiePool.release(zombie)) {
+                logger.debug("Returned training zombie for {} to the pool", ownerUuid);
+            } else if (forceRemove) {
                 zombie.remove(); // Remove immediately
                 logger.debug("Force removed training zombie for {}", ownerUuid);
+            } else {
+                zombie.setVisibleByDefault(true); // Left to despawn; no longer anyone's in particular
             }
         }
         
         // Send finished message to player if online
-        Player owner = plugin.getServer().getPlayer(ownerUuid);
+        Player owner = session != null ? session.getOwner() : plugin.getServer().getPlayer(ownerUuid);
         if (owner != null && owner.isOnline()) {
-            owner.sendActionBar(plugin.getConfigManager().getMessage("messages.action-bar.training-complete")); // Action Bar
-            owner.playSound(owner.getLocation(), 
-                Sound.valueOf(plugin.getConfigManager().getSoundEffect("zombie-death", "ENTITY_ZOMBIE_DEATH")), 1.0f, 1.0f);
+            Component message = plugin.getConfigManager().getMessage("messages.action-bar.training-complete");
+            boolean playSound = plugin.getLoadMonitor().allows(SoundEffect.ZOMBIE_DEATH);
+            SessionHud hud = session != null ? session.getHud() : null;
+            plugin.getTaskScheduler().executeAt(owner, () -> {
+                if (hud != null) {
+                    hud.hide(owner);
+                }
+                owner.sendActionBar(message); // Action Bar
+                if (playSound) {
+                    owner.playSound(owner.getLocation(), 
+                        plugin.getConfigManager().getSound(SoundEffect.ZOMBIE_DEATH), 1.0f, 1.0f);
+                }
+            });
         }
     }
 } 
\ No newline at end of file
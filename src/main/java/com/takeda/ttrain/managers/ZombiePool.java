@@ -0,0 +1,277 @@
+package com.takeda.ttrain.managers;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.scheduler.TaskHandle;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.entity.Zombie;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.potion.PotionEffect;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Hidden, pre-equipped training zombies kept ready in each enabled world.
+ * <p>
+ * Idle zombies are parked at the world spawn, invisible to every client, without AI, invulnerable
+ * and non-persistent, so they are never saved with their chunk. The pool holds a plugin chunk
+ * ticket on the parking chunk so it stays loaded; should a parked zombie still be unloaded, it is
+ * dropped from the pool. With arena plots every session runs in the arena world, so only that world
+ * keeps a pool. A session checks one out instead of
+ * spawning a new entity, and hands it back when it ends. Once a second the pool tops itself up or
+ * trims itself towards a target size that follows recent demand: the number of checkouts per
+ * {@link #DEMAND_WINDOW_RUNS}-second window, smoothed with an exponentially weighted moving average.
+ * <p>
+ * Not available on Folia: a checkout would move a parked zombie into another region, so every
+ * session spawns its own zombie there.
+ */
+public class ZombiePool implements Runnable {
+    private static final long MAINTENANCE_PERIOD_TICKS = 20L;
+    private static final int DEMAND_WINDOW_RUNS = 30;
+    private static final double DEMAND_SMOOTHING = 0.3;
+    // Spread refills over several ticks instead of spawning a burst
+    private static final int MAX_SPAWNS_PER_RUN = 2;
+
+    private final Logger logger;
+    private final TTrainPlugin plugin;
+    private final NamespacedKey pooledKey;
+    private final Consumer<Zombie> preparer;
+    private final Map<UUID, WorldPool> pools;
+    private TaskHandle task;
+    private int runs;
+
+    private static final class WorldPool {
+        final ArrayDeque<Zombie> idle = new ArrayDeque<>();
+        final Location parking;
+        int checkouts;
+        double demand;
+
+        WorldPool(Location parking) {
+            this.parking = parking;
+        }
+    }
+
+    /**
+     * @param preparer sets up a freshly spawned zombie (attributes, armor) before it is added to the world
+     */
+    public ZombiePool(TTrainPlugin plugin, Consumer<Zombie> preparer) {
+        this.plugin = plugin;
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.pooledKey = new NamespacedKey(plugin, "pooled");
+        this.preparer = preparer;
+        this.pools = new HashMap<>();
+    }
+
+    public void start() {
+        if (task != null) return;
+        if (plugin.getTaskScheduler().isRegionized()) {
+            if (plugin.getConfigManager().getSettings().isZombiePoolEnabled()) {
+                logger.warn("zombie.pool is not supported on Folia; every session spawns its own zombie");
+            }
+            return;
+        }
+        task = plugin.getTaskScheduler().runGlobalTimer(this, MAINTENANCE_PERIOD_TICKS, MAINTENANCE_PERIOD_TICKS);
+    }
+
+    /**
+     * Stops maintenance and removes every idle zombie.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        pools.values().forEach(this::discard);
+        pools.clear();
+    }
+
+    /**
+     * Takes an idle zombie from the pool of the location's world, moves it there and makes it visible.
+     * Returns null if pooling is off or the pool is empty; the caller then spawns a zombie itself.
+     */
+    public Zombie checkout(Location location) {
+        if (task == null || !plugin.getConfigManager().getSettings().isZombiePoolEnabled()) return null;
+
+        if (!wantsPool(location.getWorld())) return null;
+
+        WorldPool pool = poolOf(location.getWorld());
+        pool.checkouts++; // Misses count as demand too
+        Zombie zombie;
+        while ((zombie = pool.idle.pollFirst()) != null) {
+            if (zombie.isValid()) {
+                activate(zombie, location);
+                return zombie;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parks a zombie whose session ended. Returns false if the pool does not want it, in which case
+     * the caller removes it as usual.
+     */
+    public boolean release(Zombie zombie) {
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+        if (task == null || !settings.isZombiePoolEnabled() || !zombie.isValid() || zombie.isDead()) return false;
+        if (!wantsPool(zombie.getWorld())) return false;
+
+        WorldPool pool = poolOf(zombie.getWorld());
+        if (pool.idle.size() >= settings.getZombiePoolMaxIdle()) return false;
+
+        park(zombie, pool.parking);
+        pool.idle.addLast(zombie);
+        return true;
+    }
+
+    /**
+     * Whether the zombie is (or was, in an earlier run) an idle pool member.
+     */
+    public boolean isPooled(Zombie zombie) {
+        return zombie.getPersistentDataContainer().has(pooledKey);
+    }
+
+    public int getIdleCount() {
+        int count = 0;
+        for (WorldPool pool : pools.values()) {
+            count += pool.idle.size();
+        }
+        return count;
+    }
+
+    @Override
+    public void run() {
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+        if (!settings.isZombiePoolEnabled()) {
+            if (!pools.isEmpty()) {
+                stopPools();
+            }
+            return;
+        }
+
+        boolean windowEnded = ++runs % DEMAND_WINDOW_RUNS == 0;
+        for (World world : plugin.getServer().getWorlds()) {
+            if (!wantsPool(world)) {
+                WorldPool unwanted = pools.remove(world.getUID());
+                if (unwanted != null) {
+                    discard(unwanted);
+                }
+                continue;
+            }
+            WorldPool pool = poolOf(world);
+
+            // Idle zombies vanish if their chunk unloads anyway
+            pool.idle.removeIf(zombie -> !zombie.isValid());
+
+            if (windowEnded) {
+                pool.demand = DEMAND_SMOOTHING * pool.checkouts + (1 - DEMAND_SMOOTHING) * pool.demand;
+                pool.checkouts = 0;
+            }
+            int target = Math.max(settings.getZombiePoolMinIdle(),
+                Math.min(settings.getZombiePoolMaxIdle(), (int) Math.ceil(pool.demand)));
+
+            int spawns = 0;
+            while (pool.idle.size() < target && spawns++ < MAX_SPAWNS_PER_RUN) {
+                pool.idle.addLast(spawnIdle(world, pool.parking));
+            }
+            while (pool.idle.size() > target) {
+                pool.idle.pollLast().remove();
+            }
+        }
+
+        // Forget worlds that were unloaded; their tickets went with them
+        Iterator<Map.Entry<UUID, WorldPool>> iterator = pools.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, WorldPool> entry = iterator.next();
+            if (plugin.getServer().getWorld(entry.getKey()) == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void stopPools() {
+        int removed = getIdleCount();
+        pools.values().forEach(this::discard);
+        pools.clear();
+        logger.info("Zombie pooling disabled; removed {} idle zombies", removed);
+    }
+
+    // Pools follow the enabled worlds, or only the arena world with arena plots
+    private boolean wantsPool(World world) {
+        PlotAllocator plots = plugin.getWorldManager().getPlotAllocator();
+        if (plots != null) {
+            World arena = plots.getWorld();
+            return arena != null && arena.getUID().equals(world.getUID());
+        }
+        return plugin.getWorldManager().isWorldEnabled(world);
+    }
+
+    // The world's pool, holding a ticket on its parking chunk from the moment it is created
+    private WorldPool poolOf(World world) {
+        return pools.computeIfAbsent(world.getUID(), id -> {
+            Location parking = world.getSpawnLocation();
+            world.addPluginChunkTicket(parking.getBlockX() >> 4, parking.getBlockZ() >> 4, plugin);
+            return new WorldPool(parking);
+        });
+    }
+
+    // Removes a pool's idle zombies and releases its parking chunk
+    private void discard(WorldPool pool) {
+        pool.idle.forEach(Zombie::remove);
+        pool.idle.clear();
+        World world = pool.parking.getWorld();
+        if (world != null && plugin.getServer().getWorld(world.getUID()) != null) {
+            world.removePluginChunkTicket(pool.parking.getBlockX() >> 4, pool.parking.getBlockZ() >> 4, plugin);
+        }
+    }
+
+    private Zombie spawnIdle(World world, Location parking) {
+        // Configured before it is added to the world, so clients never see it
+        return world.spawn(parking, Zombie.class, zombie -> {
+            preparer.accept(zombie);
+            park(zombie, parking);
+        });
+    }
+
+    private void park(Zombie zombie, Location parking) {
+        zombie.setVisibleByDefault(false);
+        zombie.setPersistent(false);
+        zombie.setAI(false);
+        zombie.setGravity(false);
+        zombie.setSilent(true);
+        zombie.setInvulnerable(true);
+        zombie.setCollidable(false);
+        zombie.customName(null);
+        zombie.setCustomNameVisible(false);
+        zombie.getEquipment().setItemInOffHand(null);
+        // Totem pops leave regeneration, absorption and fire resistance behind
+        for (PotionEffect effect : zombie.getActivePotionEffects()) {
+            zombie.removePotionEffect(effect.getType());
+        }
+        zombie.getPersistentDataContainer().set(pooledKey, PersistentDataType.BYTE, (byte) 1);
+        if (zombie.isInWorld()) {
+            zombie.teleport(parking);
+        }
+    }
+
+    private void activate(Zombie zombie, Location location) {
+        zombie.teleport(location);
+        zombie.getPersistentDataContainer().remove(pooledKey);
+        zombie.setAI(true);
+        zombie.setGravity(true);
+        zombie.setSilent(false);
+        zombie.setInvulnerable(false);
+        zombie.setCollidable(true);
+        zombie.setFireTicks(0);
+        zombie.setFallDistance(0);
+        // Owner-only zombies stay hidden; the session shows them to their viewers
+        zombie.setVisibleByDefault(!plugin.getConfigManager().getSettings().isOwnerOnlyVisibility());
+    }
+}
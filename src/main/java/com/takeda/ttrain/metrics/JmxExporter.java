@@ -0,0 +1,137 @@
+package com.takeda.ttrain.metrics;
+
+import com.takeda.ttrain.TTrainPlugin;
+import org.slf4j.Logger;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Exposes the registry as read-only attributes of the {@code com.takeda.ttrain:type=Metrics} MBean.
+ * <p>
+ * Counters and gauges keep their names; each timer becomes {@code <name>_count} and
+ * {@code <name>_p50_us}, {@code _p99_us}, {@code _p999_us} and {@code _max_us} in microseconds.
+ */
+public class JmxExporter implements DynamicMBean {
+    private static final String OBJECT_NAME = "com.takeda.ttrain:type=Metrics";
+
+    private final Logger logger;
+    private final Map<String, Supplier<Object>> attributes;
+    private final MBeanInfo info;
+    private ObjectName registeredName;
+
+    public JmxExporter(MetricsRegistry registry) {
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.attributes = new LinkedHashMap<>();
+        List<MBeanAttributeInfo> infos = new ArrayList<>();
+
+        for (MetricsRegistry.CounterMetric counter : registry.getCounters()) {
+            add(infos, counter.name(), counter.help(), "long", () -> counter.value().getAsLong());
+        }
+        List<MetricsRegistry.GaugeMetric> gauges = registry.getGauges();
+        for (int i = 0; i < gauges.size(); i++) {
+            int index = i;
+            add(infos, gauges.get(i).name(), gauges.get(i).help(), "double", () -> registry.getGaugeValue(index));
+        }
+        for (MetricsRegistry.TimerMetric timer : registry.getTimers()) {
+            LatencyHistogram histogram = timer.histogram();
+            add(infos, timer.name() + "_count", timer.help() + " (count)", "long", () -> histogram.snapshot().getCount());
+            add(infos, timer.name() + "_p50_us", timer.help() + " (median, µs)", "double",
+                () -> histogram.snapshot().getValueAtPercentile(50.0) / 1000.0);
+            add(infos, timer.name() + "_p99_us", timer.help() + " (99th percentile, µs)", "double",
+                () -> histogram.snapshot().getValueAtPercentile(99.0) / 1000.0);
+            add(infos, timer.name() + "_p999_us", timer.help() + " (99.9th percentile, µs)", "double",
+                () -> histogram.snapshot().getValueAtPercentile(99.9) / 1000.0);
+            add(infos, timer.name() + "_max_us", timer.help() + " (max, µs)", "double",
+                () -> histogram.snapshot().getMaxNanos() / 1000.0);
+        }
+        this.info = new MBeanInfo(getClass().getName(), "T-Train metrics",
+            infos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+
+    private void add(List<MBeanAttributeInfo> infos, String name, String description, String type, Supplier<Object> value) {
+        attributes.put(name, value);
+        infos.add(new MBeanAttributeInfo(name, type, description, true, false, false));
+    }
+
+    public void register() {
+        if (registeredName != null) return;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name); // Left behind by a plugin reload
+            }
+            server.registerMBean(this, name);
+            registeredName = name;
+            logger.info("Registered JMX metrics as {}", OBJECT_NAME);
+        } catch (JMException e) {
+            logger.error("Could not register JMX metrics: {}", e.getMessage());
+        }
+    }
+
+    public void unregister() {
+        if (registeredName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            logger.warn("Could not unregister JMX metrics: {}", e.getMessage());
+        }
+        registeredName = null;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Supplier<Object> value = attributes.get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value.get();
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("T-Train metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            Supplier<Object> value = attributes.get(name);
+            if (value != null) {
+                list.add(new Attribute(name, value.get()));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        return info;
+    }
+}
@@ -0,0 +1,102 @@
+package com.takeda.ttrain.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Named counters, gauges and latency timers, registered once at startup and read by the exporters.
+ * <p>
+ * Counters and timers are lock-free and safe to update and read from any thread. Gauges often read
+ * plain collections owned by the main thread, so their suppliers are only called from
+ * {@link #sampleGauges()} on the main thread; exporters on other threads see the last sample.
+ */
+public final class MetricsRegistry {
+    public static final String PREFIX = "ttrain_";
+
+    public record CounterMetric(String name, String help, LongSupplier value) {
+    }
+
+    public record GaugeMetric(String name, String help, DoubleSupplier supplier) {
+    }
+
+    public record TimerMetric(String name, String help, LatencyHistogram histogram) {
+    }
+
+    private final List<CounterMetric> counters;
+    private final List<GaugeMetric> gauges;
+    private final List<TimerMetric> timers;
+    private volatile double[] gaugeValues;
+
+    public MetricsRegistry() {
+        this.counters = new ArrayList<>();
+        this.gauges = new ArrayList<>();
+        this.timers = new ArrayList<>();
+        this.gaugeValues = new double[0];
+    }
+
+    /**
+     * Registers a counter owned by the registry.
+     */
+    public LongAdder counter(String name, String help) {
+        LongAdder adder = new LongAdder();
+        counters.add(new CounterMetric(PREFIX + name, help, adder::sum));
+        return adder;
+    }
+
+    /**
+     * Registers a counter kept elsewhere, e.g. by a manager that already counts the events.
+     */
+    public void counter(String name, String help, LongSupplier value) {
+        counters.add(new CounterMetric(PREFIX + name, help, value));
+    }
+
+    public void gauge(String name, String help, DoubleSupplier supplier) {
+        gauges.add(new GaugeMetric(PREFIX + name, help, supplier));
+        gaugeValues = new double[gauges.size()];
+    }
+
+    public LatencyHistogram timer(String name, String help) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        timers.add(new TimerMetric(PREFIX + name, help, histogram));
+        return histogram;
+    }
+
+    /**
+     * Reads every gauge. Call from the main thread.
+     */
+    public void sampleGauges() {
+        double[] values = new double[gauges.size()];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = gauges.get(i).supplier().getAsDouble();
+            } catch (RuntimeException e) {
+                values[i] = Double.NaN; // A manager that is not up yet
+            }
+        }
+        gaugeValues = values;
+    }
+
+    /**
+     * Last sampled value of the gauge at the given index in {@link #getGauges()}.
+     */
+    public double getGaugeValue(int index) {
+        double[] values = gaugeValues;
+        return index < values.length ? values[index] : Double.NaN;
+    }
+
+    public List<CounterMetric> getCounters() {
+        return Collections.unmodifiableList(counters);
+    }
+
+    public List<GaugeMetric> getGauges() {
+        return Collections.unmodifiableList(gauges);
+    }
+
+    public List<TimerMetric> getTimers() {
+        return Collections.unmodifiableList(timers);
+    }
+}
@@ -0,0 +1,190 @@
+package com.takeda.ttrain.metrics;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.TTrainSettings;
+import com.takeda.ttrain.managers.PlotAllocator;
+import com.takeda.ttrain.scheduler.TaskHandle;
+import org.slf4j.Logger;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The plugin's metrics: what is timed and counted, and the task that samples gauges and rewrites
+ * the Prometheus file.
+ * <p>
+ * Timers and counters are updated directly from the hot paths. Gauges read the managers once a
+ * second on the main thread. Counters the managers already keep (admission, preferences, message
+ * cache) are registered as views rather than counted twice.
+ */
+public class PluginMetrics implements Runnable {
+    private static final long SAMPLE_PERIOD_TICKS = 20L;
+
+    private final Logger logger;
+    private final TTrainPlugin plugin;
+    private final MetricsRegistry registry;
+
+    // Timers
+    private final LatencyHistogram damageEventTimer;
+    private final LatencyHistogram resurrectEventTimer;
+    private final LatencyHistogram guiOpenTimer;
+    private final LatencyHistogram spawnTimer;
+    private final LatencyHistogram preferenceSaveTimer;
+    private final LatencyHistogram preferenceFlushTimer;
+
+    // Counters
+    private final LongAdder spawns;
+    private final LongAdder totemPops;
+    private final LongAdder sessionsTimedOut;
+    private final LongAdder sessionsEndedByLastTotem;
+    private final LongAdder guiOpens;
+
+    private final PrometheusExporter prometheus;
+    private JmxExporter jmx;
+    private TaskHandle task;
+    private int runs;
+
+    public PluginMetrics(TTrainPlugin plugin) {
+        this.plugin = plugin;
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.registry = new MetricsRegistry();
+
+        this.damageEventTimer = registry.timer("damage_event_seconds", "Time spent in the entity damage handler");
+        this.resurrectEventTimer = registry.timer("resurrect_event_seconds", "Time spent in the entity resurrect handler");
+        this.guiOpenTimer = registry.timer("gui_open_seconds", "Time to build and open the training menu");
+        this.spawnTimer = registry.timer("spawn_seconds", "Time to spawn or check out and equip a training zombie");
+        this.preferenceSaveTimer = registry.timer("preference_save_seconds", "Time to record a preference change on the main thread");
+        this.preferenceFlushTimer = registry.timer("preference_flush_seconds", "Time to write a preference batch to the store");
+
+        this.spawns = registry.counter("spawns_total", "Training zombies spawned");
+        this.totemPops = registry.counter("totem_pops_total", "Totems popped by training zombies");
+        this.sessionsTimedOut = registry.counter("sessions_timed_out_total", "Sessions that ended because their time ran out");
+        this.sessionsEndedByLastTotem = registry.counter("sessions_last_totem_total", "Sessions that ended when the last totem popped");
+        this.guiOpens = registry.counter("gui_opens_total", "Training menus opened");
+
+        registry.counter("admission_admitted_total", "Spawn requests admitted",
+            () -> plugin.getZombieManager().getAdmissionController().getAdmittedCount());
+        registry.counter("admission_queued_total", "Spawn requests that had to wait in the queue",
+            () -> plugin.getZombieManager().getAdmissionController().getQueuedCount());
+        registry.counter("admission_rejected_total", "Spawn requests rejected because the queue was full",
+            () -> plugin.getZombieManager().getAdmissionController().getRejectedCount());
+        registry.counter("admission_timed_out_total", "Spawn requests that timed out in the queue",
+            () -> plugin.getZombieManager().getAdmissionController().getTimedOutCount());
+        registry.counter("load_tier_changes_total", "Load tier changes",
+            () -> plugin.getLoadMonitor().getTierChangeCount());
+        registry.counter("message_cache_hits_total", "Message lookups served from the parsed cache",
+            () -> plugin.getConfigManager().getMessages().getHits());
+        registry.counter("message_cache_misses_total", "Messages parsed",
+            () -> plugin.getConfigManager().getMessages().getMisses());
+        registry.counter("preference_writes_total", "Preference changes requested",
+            () -> plugin.getConfigManager().getPreferenceWriter().getRequestedWrites());
+        registry.counter("preference_writes_applied_total", "Preference changes written to the store after coalescing",
+            () -> plugin.getConfigManager().getPreferenceWriter().getAppliedWrites());
+        registry.counter("preference_flushes_total", "Preference batches written to the store",
+            () -> plugin.getConfigManager().getPreferenceWriter().getFlushes());
+
+        registry.gauge("active_sessions", "Training sessions in progress",
+            () -> plugin.getZombieManager().getActiveSessionCount());
+        registry.gauge("pooled_zombies_idle", "Idle zombies waiting in the pool",
+            () -> plugin.getZombieManager().getIdleZombieCount());
+        registry.gauge("admission_queue_size", "Players waiting for a training slot",
+            () -> plugin.getZombieManager().getAdmissionController().getQueueSize());
+        registry.gauge("culled_sessions", "Training zombies only their owner, spectators and admins can see",
+            () -> plugin.getVisibilityManager().getCulledSessionCount());
+        registry.gauge("culled_viewer_pairs", "Online players and training zombies they are kept from seeing",
+            () -> plugin.getVisibilityManager().getCulledPairCount());
+        registry.gauge("arena_plots_in_use", "Arena plots held by a session, 0 when arena plots are off",
+            () -> {
+                PlotAllocator plots = plugin.getWorldManager().getPlotAllocator();
+                return plots != null ? plots.getPlotCount() - plots.getFreeCount() : 0;
+            });
+        registry.gauge("load_tier", "Current load tier, 0 when the server keeps up",
+            () -> plugin.getLoadMonitor().getLevel());
+        registry.gauge("server_mspt", "Average tick time the load monitor last saw",
+            () -> plugin.getLoadMonitor().getLastMspt());
+
+        this.prometheus = new PrometheusExporter(registry);
+    }
+
+    public void start() {
+        if (task != null) return;
+        if (plugin.getConfigManager().getSettings().isJmxEnabled()) {
+            jmx = new JmxExporter(registry);
+            jmx.register();
+        }
+        task = plugin.getTaskScheduler().runGlobalTimer(this, SAMPLE_PERIOD_TICKS, SAMPLE_PERIOD_TICKS);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (jmx != null) {
+            jmx.unregister();
+            jmx = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        registry.sampleGauges();
+
+        TTrainSettings settings = plugin.getConfigManager().getSettings();
+        if (!settings.isPrometheusEnabled() || ++runs % settings.getPrometheusIntervalSeconds() != 0) return;
+
+        // Render here so the file matches this sample; only the disk write leaves the main thread
+        String text = prometheus.render();
+        Path target = plugin.getDataFolder().toPath().resolve(settings.getPrometheusFile());
+        plugin.getTaskScheduler().runAsync(() -> prometheus.write(target, text));
+        logger.debug("Scheduled Prometheus metrics write to {}", target);
+    }
+
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    public LatencyHistogram getDamageEventTimer() {
+        return damageEventTimer;
+    }
+
+    public LatencyHistogram getResurrectEventTimer() {
+        return resurrectEventTimer;
+    }
+
+    public LatencyHistogram getGuiOpenTimer() {
+        return guiOpenTimer;
+    }
+
+    public LatencyHistogram getSpawnTimer() {
+        return spawnTimer;
+    }
+
+    public LatencyHistogram getPreferenceSaveTimer() {
+        return preferenceSaveTimer;
+    }
+
+    public LatencyHistogram getPreferenceFlushTimer() {
+        return preferenceFlushTimer;
+    }
+
+    public LongAdder getSpawns() {
+        return spawns;
+    }
+
+    public LongAdder getTotemPops() {
+        return totemPops;
+    }
+
+    public LongAdder getSessionsTimedOut() {
+        return sessionsTimedOut;
+    }
+
+    public LongAdder getSessionsEndedByLastTotem() {
+        return sessionsEndedByLastTotem;
+    }
+
+    public LongAdder getGuiOpens() {
+        return guiOpens;
+    }
+}
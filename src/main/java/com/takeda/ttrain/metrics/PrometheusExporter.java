@@ -0,0 +1,89 @@
+package com.takeda.ttrain.metrics;
+
+import com.takeda.ttrain.TTrainPlugin;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Renders the registry in the Prometheus text exposition format and writes it to a file, for the
+ * node-exporter textfile collector. The file is written next to its final name and moved into
+ * place, so the collector never reads half a file.
+ */
+public class PrometheusExporter {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final Logger logger;
+    private final MetricsRegistry registry;
+
+    public PrometheusExporter(MetricsRegistry registry) {
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.registry = registry;
+    }
+
+    /**
+     * Current values as exposition text. Gauges are the last values sampled on the main thread.
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder(4096);
+        for (MetricsRegistry.CounterMetric counter : registry.getCounters()) {
+            header(out, counter.name(), counter.help(), "counter");
+            sample(out, counter.name(), "", counter.value().getAsLong());
+        }
+        List<MetricsRegistry.GaugeMetric> gauges = registry.getGauges();
+        for (int i = 0; i < gauges.size(); i++) {
+            MetricsRegistry.GaugeMetric gauge = gauges.get(i);
+            header(out, gauge.name(), gauge.help(), "gauge");
+            sample(out, gauge.name(), "", registry.getGaugeValue(i));
+        }
+        for (MetricsRegistry.TimerMetric timer : registry.getTimers()) {
+            LatencyHistogram.Snapshot snapshot = timer.histogram().snapshot();
+            header(out, timer.name(), timer.help(), "summary");
+            for (double quantile : QUANTILES) {
+                sample(out, timer.name(), "{quantile=\"" + quantile + "\"}",
+                    snapshot.getValueAtPercentile(quantile * 100.0) / NANOS_PER_SECOND);
+            }
+            sample(out, timer.name() + "_sum", "", snapshot.getSumNanos() / NANOS_PER_SECOND);
+            sample(out, timer.name() + "_count", "", snapshot.getCount());
+            header(out, timer.name() + "_max", "Slowest " + timer.help().toLowerCase(), "gauge");
+            sample(out, timer.name() + "_max", "", snapshot.getMaxNanos() / NANOS_PER_SECOND);
+        }
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Writes rendered text to the target file. Blocks on disk I/O, so call it off the main thread.
+     */
+    public void write(Path target, String text) {
+        try {
+            Path directory = target.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.writeString(temp, text, StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.error("Could not write Prometheus metrics to {}: {}", target, e.getMessage());
+        }
+    }
+}
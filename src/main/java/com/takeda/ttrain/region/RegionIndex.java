@@ -0,0 +1,239 @@
+package com.takeda.ttrain.region;
+
+import com.takeda.ttrain.TTrainPlugin;
+import org.bukkit.configuration.ConfigurationSection;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The regions section of config.yml, indexed by chunk. Immutable; rebuilt on every config load.
+ * <p>
+ * Each world has a grid keyed by chunk coordinates. A cell holds the regions that overlap its
+ * chunk, best first, so a lookup is one probe of an open-addressed table plus a containment test
+ * per region in that chunk, whatever the total number of regions. Regions spanning more than
+ * {@value #MAX_CELLS_PER_REGION} chunks are kept in a short per-world list instead of being copied
+ * into every cell.
+ * <p>
+ * Worlds without regions are left to the world policy. In a world with at least one allow region,
+ * training is only allowed inside one.
+ */
+public final class RegionIndex {
+    private static final int MAX_CELLS_PER_REGION = 4096;
+
+    // Best first: highest priority, then deny over allow, then by name so ties are stable
+    private static final Comparator<TrainingRegion> RANK = Comparator
+        .comparingInt(TrainingRegion::priority).reversed()
+        .thenComparing(TrainingRegion::deny, Comparator.reverseOrder())
+        .thenComparing(TrainingRegion::name);
+
+    private static final RegionIndex EMPTY = new RegionIndex(Map.of(), List.of());
+
+    private final Map<String, WorldGrid> worlds;
+    private final List<TrainingRegion> regions;
+
+    private RegionIndex(Map<String, WorldGrid> worlds, List<TrainingRegion> regions) {
+        this.worlds = worlds;
+        this.regions = regions;
+    }
+
+    /**
+     * Reads the regions section. Regions without a world or with malformed corners are skipped
+     * with an error.
+     */
+    public static RegionIndex load(ConfigurationSection config) {
+        Logger logger = TTrainPlugin.getPluginLogger();
+        ConfigurationSection section = config.getConfigurationSection("regions");
+        if (section == null) return EMPTY;
+
+        List<TrainingRegion> regions = new ArrayList<>();
+        for (String name : section.getKeys(false)) {
+            ConfigurationSection region = section.getConfigurationSection(name);
+            String world = region != null ? region.getString("world") : null;
+            int[] min = region != null ? readCorner(region, "min") : null;
+            int[] max = region != null ? readCorner(region, "max") : null;
+            if (world == null || min == null || max == null) {
+                logger.error("Region {} needs a world and min and max corners as \"x, y, z\". Skipping.", name);
+                continue;
+            }
+            // Corners may be given in any order
+            regions.add(new TrainingRegion(name, world,
+                Math.min(min[0], max[0]), Math.min(min[1], max[1]), Math.min(min[2], max[2]),
+                Math.max(min[0], max[0]), Math.max(min[1], max[1]), Math.max(min[2], max[2]),
+                region.getInt("priority", 0), region.getBoolean("deny", false)));
+        }
+
+        RegionIndex index = of(regions);
+        logger.info("Loaded {} training regions in {} worlds", index.size(), index.worlds.size());
+        return index;
+    }
+
+    // "x, y, z" or a list of three numbers; null if malformed
+    private static int[] readCorner(ConfigurationSection region, String path) {
+        List<?> parts;
+        if (region.isList(path)) {
+            parts = region.getList(path);
+        } else {
+            String value = region.getString(path);
+            if (value == null) return null;
+            parts = Arrays.asList(value.split(","));
+        }
+        if (parts == null || parts.size() != 3) return null;
+
+        int[] corner = new int[3];
+        try {
+            for (int i = 0; i < 3; i++) {
+                corner[i] = (int) Math.floor(Double.parseDouble(String.valueOf(parts.get(i)).trim()));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return corner;
+    }
+
+    /**
+     * Indexes the given regions.
+     */
+    public static RegionIndex of(Collection<TrainingRegion> regions) {
+        if (regions.isEmpty()) return EMPTY;
+
+        Map<String, List<TrainingRegion>> byWorld = new HashMap<>();
+        for (TrainingRegion region : regions) {
+            byWorld.computeIfAbsent(region.world(), world -> new ArrayList<>()).add(region);
+        }
+        Map<String, WorldGrid> worlds = new HashMap<>();
+        byWorld.forEach((world, worldRegions) -> worlds.put(world, WorldGrid.build(worldRegions)));
+
+        List<TrainingRegion> sorted = new ArrayList<>(regions);
+        sorted.sort(Comparator.comparing(TrainingRegion::world).thenComparing(TrainingRegion::name));
+        return new RegionIndex(Map.copyOf(worlds), List.copyOf(sorted));
+    }
+
+    /**
+     * The region that decides at a block, or null if no region contains it.
+     */
+    public TrainingRegion find(String world, int x, int y, int z) {
+        WorldGrid grid = worlds.get(world);
+        return grid != null ? grid.find(x, y, z) : null;
+    }
+
+    /**
+     * Whether the regions allow training at a block. The world policy is checked separately.
+     */
+    public boolean isAllowed(String world, int x, int y, int z) {
+        WorldGrid grid = worlds.get(world);
+        if (grid == null) return true;
+
+        TrainingRegion region = grid.find(x, y, z);
+        if (region != null) return !region.deny();
+        return !grid.hasAllowRegions;
+    }
+
+    /**
+     * Every region, ordered by world, then name.
+     */
+    public List<TrainingRegion> getRegions() {
+        return regions;
+    }
+
+    public int size() {
+        return regions.size();
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * One world's regions: an open-addressed table from chunk key to the regions overlapping that
+     * chunk, plus the regions too large to copy into every cell.
+     */
+    private static final class WorldGrid {
+        private final long[] keys;
+        private final TrainingRegion[][] cells;
+        private final int mask;
+        private final TrainingRegion[] large;
+        private final boolean hasAllowRegions;
+
+        private WorldGrid(long[] keys, TrainingRegion[][] cells, TrainingRegion[] large, boolean hasAllowRegions) {
+            this.keys = keys;
+            this.cells = cells;
+            this.mask = keys.length - 1;
+            this.large = large;
+            this.hasAllowRegions = hasAllowRegions;
+        }
+
+        static WorldGrid build(List<TrainingRegion> regions) {
+            Map<Long, List<TrainingRegion>> cellLists = new HashMap<>();
+            List<TrainingRegion> large = new ArrayList<>();
+            boolean hasAllowRegions = false;
+            for (TrainingRegion region : regions) {
+                hasAllowRegions |= !region.deny();
+                int minChunkX = region.minX() >> 4;
+                int maxChunkX = region.maxX() >> 4;
+                int minChunkZ = region.minZ() >> 4;
+                int maxChunkZ = region.maxZ() >> 4;
+                long chunks = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+                if (chunks > MAX_CELLS_PER_REGION) {
+                    large.add(region);
+                    continue;
+                }
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                        cellLists.computeIfAbsent(chunkKey(chunkX, chunkZ), key -> new ArrayList<>()).add(region);
+                    }
+                }
+            }
+
+            // At most half full, so probe runs stay short
+            int capacity = Integer.highestOneBit(Math.max(2, cellLists.size() * 2 - 1)) << 1;
+            long[] keys = new long[capacity];
+            TrainingRegion[][] cells = new TrainingRegion[capacity][];
+            for (Map.Entry<Long, List<TrainingRegion>> entry : cellLists.entrySet()) {
+                TrainingRegion[] cell = entry.getValue().toArray(new TrainingRegion[0]);
+                Arrays.sort(cell, RANK);
+                long key = entry.getKey();
+                int slot = slot(key, capacity - 1);
+                while (cells[slot] != null) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = key;
+                cells[slot] = cell;
+            }
+            large.sort(RANK);
+            return new WorldGrid(keys, cells, large.toArray(new TrainingRegion[0]), hasAllowRegions);
+        }
+
+        TrainingRegion find(int x, int y, int z) {
+            TrainingRegion best = null;
+            long key = chunkKey(x >> 4, z >> 4);
+            for (int slot = slot(key, mask); cells[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] != key) continue;
+                for (TrainingRegion region : cells[slot]) {
+                    if (region.contains(x, y, z)) {
+                        best = region;
+                        break;
+                    }
+                }
+                break;
+            }
+
+            for (TrainingRegion region : large) {
+                if (best != null && RANK.compare(region, best) >= 0) break;
+                if (region.contains(x, y, z)) return region;
+            }
+            return best;
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.takeda.ttrain.region;
+
+/**
+ * A cuboid from the regions section of config.yml. Bounds are block coordinates and inclusive on
+ * both ends.
+ *
+ * @param name     the key under {@code regions}
+ * @param world    the world's folder name
+ * @param priority where regions overlap, the one with the highest priority decides
+ * @param deny     whether training is forbidden here rather than allowed
+ */
+public record TrainingRegion(String name, String world, int minX, int minY, int minZ,
+                             int maxX, int maxY, int maxZ, int priority, boolean deny) {
+
+    public TrainingRegion {
+        if (minX > maxX || minY > maxY || minZ > maxZ) {
+            throw new IllegalArgumentException("Region " + name + " has a minimum corner above its maximum");
+        }
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+}
@@ -0,0 +1,91 @@
+package com.takeda.ttrain.scheduler;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Paper and Spigot: every task but async ones runs on the main thread.
+ */
+final class BukkitTaskScheduler implements TaskScheduler {
+    private final Plugin plugin;
+
+    BukkitTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    private BukkitScheduler scheduler() {
+        return plugin.getServer().getScheduler();
+    }
+
+    private static TaskHandle wrap(BukkitTask task) {
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return false;
+    }
+
+    @Override
+    public TaskHandle runGlobal(Runnable task) {
+        return wrap(scheduler().runTask(plugin, task));
+    }
+
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delayTicks) {
+        return wrap(scheduler().runTaskLater(plugin, task, delayTicks));
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return wrap(scheduler().runTaskTimer(plugin, task, delayTicks, periodTicks));
+    }
+
+    @Override
+    public TaskHandle runAtEntity(Entity entity, Runnable task) {
+        return runGlobal(task);
+    }
+
+    @Override
+    public TaskHandle runAtEntityLater(Entity entity, Runnable task, long delayTicks) {
+        return runGlobalLater(task, delayTicks);
+    }
+
+    @Override
+    public TaskHandle runAtEntityLater(Entity entity, Runnable task, Runnable retired, long delayTicks) {
+        return runGlobalLater(() -> {
+            if (entity.isValid()) {
+                task.run();
+            } else {
+                retired.run();
+            }
+        }, delayTicks);
+    }
+
+    @Override
+    public TaskHandle runAsync(Runnable task) {
+        return wrap(scheduler().runTaskAsynchronously(plugin, task));
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Entity entity) {
+        return plugin.getServer().isPrimaryThread();
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return plugin.getServer().isPrimaryThread();
+    }
+}
@@ -0,0 +1,24 @@
+package com.takeda.ttrain.scheduler;
+
+/**
+ * A scheduled task, whichever scheduler runs it.
+ */
+public interface TaskHandle {
+    /**
+     * Handle of a task that was never scheduled, e.g. because its entity was already removed.
+     */
+    TaskHandle NONE = new TaskHandle() {
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return true;
+        }
+    };
+
+    void cancel();
+
+    boolean isCancelled();
+}
@@ -0,0 +1,75 @@
+package com.takeda.ttrain.scheduler;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Where the plugin's work runs. On Paper everything but I/O runs on the main thread; on Folia,
+ * plugin-wide work runs on the global region thread and work on an entity runs on the thread of
+ * the region the entity is in, following it when it moves.
+ * <p>
+ * Entity tasks are skipped if the entity is removed before they run. Delays and periods are in
+ * ticks; on Folia a delay of zero is treated as one tick.
+ */
+public interface TaskScheduler {
+
+    static TaskScheduler create(Plugin plugin) {
+        return isFolia() ? new FoliaTaskScheduler(plugin) : new BukkitTaskScheduler(plugin);
+    }
+
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * True on Folia, where regions tick on several threads at once.
+     */
+    boolean isRegionized();
+
+    // Plugin-wide work
+    TaskHandle runGlobal(Runnable task);
+
+    TaskHandle runGlobalLater(Runnable task, long delayTicks);
+
+    TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    // Work on one entity
+    TaskHandle runAtEntity(Entity entity, Runnable task);
+
+    TaskHandle runAtEntityLater(Entity entity, Runnable task, long delayTicks);
+
+    /**
+     * Runs a task once on the entity's thread. {@code retired} runs instead if the entity is
+     * removed or unloaded first; it must not touch the entity.
+     */
+    TaskHandle runAtEntityLater(Entity entity, Runnable task, Runnable retired, long delayTicks);
+
+    // Blocking work such as file I/O
+    TaskHandle runAsync(Runnable task);
+
+    /**
+     * Whether the calling thread may read and change the entity right now.
+     */
+    boolean isOwnedByCurrentThread(Entity entity);
+
+    /**
+     * Whether the calling thread runs plugin-wide work: the main thread, or Folia's global region.
+     */
+    boolean isGlobalThread();
+
+    /**
+     * Runs the task right away if the calling thread owns the entity, otherwise on the entity's thread.
+     */
+    default void executeAt(Entity entity, Runnable task) {
+        if (isOwnedByCurrentThread(entity)) {
+            task.run();
+        } else {
+            runAtEntity(entity, task);
+        }
+    }
+}
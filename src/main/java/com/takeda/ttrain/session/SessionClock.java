@@ -0,0 +1,233 @@
+package com.takeda.ttrain.session;
+
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.scheduler.TaskHandle;
+import com.takeda.ttrain.scheduler.TaskScheduler;
+import org.slf4j.Logger;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Plugin-wide clock that drives every active training session from a single repeating task.
+ * <p>
+ * Sessions are kept in a priority queue ordered by the next moment they need attention: either
+ * the next whole-second boundary of their countdown or their deadline. Each tick only peeks the
+ * head of the queue, so ticks where nothing is due cost O(1). Cancelled sessions are skipped when
+ * they reach the head rather than searched for. Remaining time is measured with
+ * {@link System#nanoTime()} by default, so sessions end on time even when ticks run late; see
+ * {@link #setTimeSource}.
+ * <p>
+ * On Folia there is no single thread that may touch every zombie, so each session instead gets a
+ * one-shot task on its zombie's entity scheduler, due at its next wake and scheduled again from
+ * there, and sessions in different regions tick in parallel. A session whose zombie is unloaded
+ * keeps its deadline: it either gets a new task when the zombie is loaded and rebound, or expires
+ * from the global region.
+ */
+public class SessionClock implements Runnable {
+    static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * Callbacks fired by the clock on the main thread.
+     */
+    public interface Listener {
+        void onCountdown(TrainingSession session, int secondsLeft);
+
+        void onExpire(TrainingSession session);
+    }
+
+    private final Logger logger;
+    private final TaskScheduler scheduler;
+    private final Listener listener;
+    private final PriorityQueue<TrainingSession> queue;
+    private final Map<TrainingSession, TaskHandle> timers;
+    private LongSupplier timeSource;
+    private TaskHandle task;
+
+    public SessionClock(TTrainPlugin plugin, Listener listener) {
+        this.scheduler = plugin.getTaskScheduler();
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.listener = listener;
+        this.queue = new PriorityQueue<>(Comparator.comparingLong(TrainingSession::getNextWakeNanos));
+        this.timers = new ConcurrentHashMap<>();
+        this.timeSource = System::nanoTime;
+    }
+
+    /**
+     * Current time on the clock that session deadlines are measured against, in nanoseconds.
+     */
+    public long now() {
+        return timeSource.getAsLong();
+    }
+
+    /**
+     * Replaces the clock's time source, so tests can advance time with the scheduler rather than in
+     * real time. Deadlines already set are not converted; call it before any session starts.
+     */
+    public void setTimeSource(LongSupplier timeSource) {
+        this.timeSource = timeSource;
+    }
+
+    public void start() {
+        if (task != null || scheduler.isRegionized()) return;
+        task = scheduler.runGlobalTimer(this, 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        queue.forEach(TrainingSession::markEnded);
+        queue.clear();
+        timers.forEach((session, timer) -> {
+            session.markEnded();
+            timer.cancel();
+        });
+        timers.clear();
+    }
+
+    /**
+     * Starts tracking a session. The first countdown update fires at the next whole-second boundary.
+     */
+    public void schedule(TrainingSession session) {
+        session.setNextWakeNanos(nextWake(session, now()));
+        if (!scheduler.isRegionized()) {
+            queue.offer(session);
+            return;
+        }
+        startTimer(session);
+    }
+
+    /**
+     * Picks a session up again after its zombie was rebound to a newly loaded entity.
+     */
+    public void rebind(TrainingSession session) {
+        if (scheduler.isRegionized() && !session.isEnded()) {
+            startTimer(session);
+        }
+    }
+
+    /**
+     * Stops tracking a session; no further callbacks will fire for it. On the shared clock the
+     * session stays queued and is dropped when it reaches the head, which saves a linear search.
+     */
+    public void cancel(TrainingSession session) {
+        session.markEnded();
+        if (scheduler.isRegionized()) {
+            TaskHandle timer = timers.remove(session);
+            if (timer != null) {
+                timer.cancel();
+            }
+        }
+    }
+
+    /**
+     * Sessions being tracked, including cancelled ones not yet dropped from the queue.
+     */
+    public int size() {
+        return scheduler.isRegionized() ? timers.size() : queue.size();
+    }
+
+    // Folia: runs the session once at its next wake, in whole ticks and at least one tick away
+    private void startTimer(TrainingSession session) {
+        long delayNanos = session.getNextWakeNanos() - now();
+        long delayTicks = Math.max(1L, (delayNanos + TICK_NANOS - 1) / TICK_NANOS);
+        TaskHandle timer = scheduler.runAtEntityLater(session.getZombie(), () -> poll(session), () -> detach(session), delayTicks);
+        if (timer.isCancelled()) return; // Retired straight away; detach has taken over
+        TaskHandle previous = timers.put(session, timer);
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (session.isEnded() && timers.remove(session, timer)) {
+            timer.cancel(); // Cancelled while this task was being scheduled
+        }
+    }
+
+    // Folia: one session's wake, on its zombie's region thread
+    private void poll(TrainingSession session) {
+        if (session.isEnded()) return;
+
+        long now = now();
+        if (session.getNextWakeNanos() - now > 0) {
+            startTimer(session); // Ran early; wait for the rest
+            return;
+        }
+        if (session.getDeadlineNanos() - now <= 0) {
+            session.markEnded();
+            timers.remove(session);
+            fire(session, 0);
+        } else {
+            fire(session, session.getRemainingSeconds(now));
+            if (!session.isEnded()) {
+                session.setNextWakeNanos(nextWake(session, now));
+                startTimer(session);
+            }
+        }
+    }
+
+    // Folia: the zombie was unloaded or removed without the session being cancelled
+    private void detach(TrainingSession session) {
+        timers.remove(session);
+        if (session.isEnded()) return;
+
+        long remainingNanos = Math.max(0L, session.getDeadlineNanos() - now());
+        long delayTicks = TimeUnit.NANOSECONDS.toMillis(remainingNanos) / 50L + 1L;
+        scheduler.runGlobalLater(() -> {
+            // Skip if the zombie came back and the session has a timer again
+            if (session.isEnded() || timers.containsKey(session)) return;
+            session.markEnded();
+            fire(session, 0);
+        }, delayTicks);
+    }
+
+    @Override
+    public void run() {
+        TrainingSession head = queue.peek();
+        if (head == null) return;
+
+        long now = now();
+        while (head != null && head.getNextWakeNanos() - now <= 0) {
+            queue.poll();
+            if (!head.isEnded()) {
+                if (head.getDeadlineNanos() - now <= 0) {
+                    head.markEnded();
+                    fire(head, 0);
+                } else {
+                    fire(head, head.getRemainingSeconds(now));
+                    if (!head.isEnded()) {
+                        head.setNextWakeNanos(nextWake(head, now));
+                        queue.offer(head);
+                    }
+                }
+            }
+            head = queue.peek();
+        }
+    }
+
+    private void fire(TrainingSession session, int secondsLeft) {
+        try {
+            if (secondsLeft <= 0) {
+                listener.onExpire(session);
+            } else {
+                listener.onCountdown(session, secondsLeft);
+            }
+        } catch (Exception e) {
+            logger.error("Error updating training session for {}: {}", session.getOwnerId(), e.getMessage(), e);
+        }
+    }
+
+    // Next whole-second boundary of the countdown, or the deadline for the final second
+    private static long nextWake(TrainingSession session, long now) {
+        int secondsLeft = session.getRemainingSeconds(now);
+        if (secondsLeft <= 1) {
+            return session.getDeadlineNanos();
+        }
+        return session.getDeadlineNanos() - (secondsLeft - 1) * SECOND_NANOS;
+    }
+}
@@ -0,0 +1,151 @@
+package com.takeda.ttrain.session;
+
+/**
+ * Open-addressing map from entity id to {@link TrainingSession}, keyed by primitive ints.
+ * <p>
+ * Used on the damage/resurrect fast path to reject non-training entities without boxing,
+ * metadata lookups or player resolution. Uses linear probing with backward-shift deletion,
+ * so lookups never walk over tombstones. Lookups read an immutable table without locking or
+ * allocating, so region threads on Folia can call them concurrently; writes happen only when a
+ * session starts or ends, and publish a modified copy under a lock.
+ */
+public final class SessionIndex {
+    private static final int MIN_CAPACITY = 16;
+
+    private static final class Table {
+        final int[] keys;
+        final TrainingSession[] values;
+        final int mask;
+        int size;
+
+        Table(int capacity) {
+            this.keys = new int[capacity];
+            this.values = new TrainingSession[capacity];
+            this.mask = capacity - 1;
+        }
+
+        Table copy() {
+            Table copy = new Table(values.length);
+            System.arraycopy(keys, 0, copy.keys, 0, keys.length);
+            System.arraycopy(values, 0, copy.values, 0, values.length);
+            copy.size = size;
+            return copy;
+        }
+    }
+
+    private final Object writeLock = new Object();
+    private volatile Table table;
+
+    public SessionIndex() {
+        this.table = new Table(MIN_CAPACITY);
+    }
+
+    public int size() {
+        return table.size;
+    }
+
+    public boolean isEmpty() {
+        return table.size == 0;
+    }
+
+    /**
+     * Returns the session for the given entity id, or null if the entity is not a training zombie.
+     */
+    public TrainingSession get(int entityId) {
+        Table table = this.table;
+        int[] keys = table.keys;
+        TrainingSession[] values = table.values;
+        int mask = table.mask;
+        int index = slot(entityId, mask);
+        TrainingSession value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == entityId) {
+                return value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public void put(int entityId, TrainingSession session) {
+        if (session == null) throw new IllegalArgumentException("session");
+        synchronized (writeLock) {
+            Table current = table;
+            Table next = (current.size + 1) * 2 > current.values.length ? rehash(current, current.values.length * 2) : current.copy();
+            insert(next, entityId, session);
+            table = next;
+        }
+    }
+
+    public TrainingSession remove(int entityId) {
+        synchronized (writeLock) {
+            Table current = table;
+            int index = slot(entityId, current.mask);
+            TrainingSession value;
+            while ((value = current.values[index]) != null) {
+                if (current.keys[index] == entityId) {
+                    Table next = current.copy();
+                    shiftBack(next, index);
+                    next.size--;
+                    table = next;
+                    return value;
+                }
+                index = (index + 1) & current.mask;
+            }
+            return null;
+        }
+    }
+
+    public void clear() {
+        synchronized (writeLock) {
+            table = new Table(MIN_CAPACITY);
+        }
+    }
+
+    private static void insert(Table table, int entityId, TrainingSession session) {
+        int index = slot(entityId, table.mask);
+        while (table.values[index] != null) {
+            if (table.keys[index] == entityId) {
+                table.values[index] = session;
+                return;
+            }
+            index = (index + 1) & table.mask;
+        }
+        table.keys[index] = entityId;
+        table.values[index] = session;
+        table.size++;
+    }
+
+    // Close the gap left by a removed entry by moving later entries of the same probe run back
+    private static void shiftBack(Table table, int gap) {
+        int mask = table.mask;
+        int index = (gap + 1) & mask;
+        while (table.values[index] != null) {
+            int home = slot(table.keys[index], mask);
+            // Move the entry if its home slot is not cyclically within (gap, index]
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                table.keys[gap] = table.keys[index];
+                table.values[gap] = table.values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        table.values[gap] = null;
+    }
+
+    static int slot(int entityId, int mask) {
+        // Fibonacci hashing spreads the mostly sequential entity ids across the table
+        int h = entityId * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static Table rehash(Table old, int capacity) {
+        Table table = new Table(capacity);
+        for (int i = 0; i < old.values.length; i++) {
+            if (old.values[i] != null) {
+                insert(table, old.keys[i], old.values[i]);
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,18 @@
+package com.takeda.ttrain.session;
+
+import java.util.UUID;
+
+/**
+ * Persistent form of a {@link TrainingSession}, stored in the zombie's PersistentDataContainer.
+ *
+ * @param runId            identifies the plugin run that wrote the record, to tell crash leftovers
+ *                         apart from zombies of this run that were unloaded with their chunk
+ * @param ownerId          the player who owns the session
+ * @param totems           the totem count the session started with
+ * @param remainingTotems  totems not yet popped
+ * @param durationSeconds  the configured session length
+ * @param remainingMillis  time left when the record was last written
+ */
+public record SessionRecord(long runId, UUID ownerId, int totems, int remainingTotems,
+                            int durationSeconds, long remainingMillis) {
+}
@@ -0,0 +1,77 @@
+package com.takeda.ttrain.session;
+
+import com.takeda.ttrain.TTrainPlugin;
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.UUID;
+
+/**
+ * Stores a {@link SessionRecord} as a nested PersistentDataContainer.
+ */
+public class SessionRecordType implements PersistentDataType<PersistentDataContainer, SessionRecord> {
+    private final NamespacedKey sessionKey;
+    private final NamespacedKey runIdKey;
+    private final NamespacedKey ownerKey;
+    private final NamespacedKey totemsKey;
+    private final NamespacedKey remainingTotemsKey;
+    private final NamespacedKey durationKey;
+    private final NamespacedKey remainingMillisKey;
+
+    public SessionRecordType(TTrainPlugin plugin) {
+        this.sessionKey = new NamespacedKey(plugin, "session");
+        this.runIdKey = new NamespacedKey(plugin, "run-id");
+        this.ownerKey = new NamespacedKey(plugin, "owner");
+        this.totemsKey = new NamespacedKey(plugin, "totems");
+        this.remainingTotemsKey = new NamespacedKey(plugin, "remaining-totems");
+        this.durationKey = new NamespacedKey(plugin, "duration");
+        this.remainingMillisKey = new NamespacedKey(plugin, "remaining-millis");
+    }
+
+    /**
+     * Key under which the record is stored on the entity.
+     */
+    public NamespacedKey getKey() {
+        return sessionKey;
+    }
+
+    @Override
+    public Class<PersistentDataContainer> getPrimitiveType() {
+        return PersistentDataContainer.class;
+    }
+
+    @Override
+    public Class<SessionRecord> getComplexType() {
+        return SessionRecord.class;
+    }
+
+    @Override
+    public PersistentDataContainer toPrimitive(SessionRecord record, PersistentDataAdapterContext context) {
+        PersistentDataContainer container = context.newPersistentDataContainer();
+        container.set(runIdKey, PersistentDataType.LONG, record.runId());
+        container.set(ownerKey, PersistentDataType.LONG_ARRAY,
+            new long[] {record.ownerId().getMostSignificantBits(), record.ownerId().getLeastSignificantBits()});
+        container.set(totemsKey, PersistentDataType.INTEGER, record.totems());
+        container.set(remainingTotemsKey, PersistentDataType.INTEGER, record.remainingTotems());
+        container.set(durationKey, PersistentDataType.INTEGER, record.durationSeconds());
+        container.set(remainingMillisKey, PersistentDataType.LONG, record.remainingMillis());
+        return container;
+    }
+
+    @Override
+    public SessionRecord fromPrimitive(PersistentDataContainer container, PersistentDataAdapterContext context) {
+        long[] owner = container.get(ownerKey, PersistentDataType.LONG_ARRAY);
+        if (owner == null || owner.length != 2) {
+            throw new IllegalArgumentException("Training session record has no valid owner");
+        }
+        return new SessionRecord(
+            container.getOrDefault(runIdKey, PersistentDataType.LONG, 0L),
+            new UUID(owner[0], owner[1]),
+            container.getOrDefault(totemsKey, PersistentDataType.INTEGER, 0),
+            container.getOrDefault(remainingTotemsKey, PersistentDataType.INTEGER, 0),
+            container.getOrDefault(durationKey, PersistentDataType.INTEGER, 0),
+            container.getOrDefault(remainingMillisKey, PersistentDataType.LONG, 0L));
+    }
+}
@@ -0,0 +1,150 @@
+package com.takeda.ttrain.session;
+
+import com.takeda.ttrain.hud.SessionHud;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of a single training session: the owner, the zombie and its wall-clock deadline.
+ * Sessions are driven by the {@link SessionClock} and touched from the thread that owns their
+ * zombie: the main thread on Paper, the zombie's region thread on Folia.
+ */
+public class TrainingSession {
+    private final UUID ownerId;
+    private Zombie zombie;
+    private final int totems;
+    private final int durationSeconds;
+    private final long deadlineNanos;
+    private int remainingTotems;
+    private volatile Player owner;
+    private volatile SessionHud hud;
+    private int shownSeconds = -1;
+    private int shownTotems = -1;
+    private long nextWakeNanos;
+    private volatile boolean ended;
+
+    public TrainingSession(UUID ownerId, Zombie zombie, int totems, int durationSeconds, long startNanos) {
+        this.ownerId = ownerId;
+        this.zombie = zombie;
+        this.totems = totems;
+        this.remainingTotems = totems;
+        this.durationSeconds = durationSeconds;
+        this.deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+    }
+
+    /**
+     * Rebuilds a session from its persisted record, keeping the time and totems it had left.
+     */
+    public static TrainingSession resume(SessionRecord record, Zombie zombie, long nowNanos) {
+        long elapsedNanos = TimeUnit.SECONDS.toNanos(record.durationSeconds())
+            - TimeUnit.MILLISECONDS.toNanos(record.remainingMillis());
+        TrainingSession session = new TrainingSession(record.ownerId(), zombie, record.totems(),
+            record.durationSeconds(), nowNanos - Math.max(0L, elapsedNanos));
+        session.setRemainingTotems(record.remainingTotems());
+        return session;
+    }
+
+    public SessionRecord toRecord(long runId, long nowNanos) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(Math.max(0L, deadlineNanos - nowNanos));
+        return new SessionRecord(runId, ownerId, totems, remainingTotems, durationSeconds, remainingMillis);
+    }
+
+    public UUID getOwnerId() {
+        return ownerId;
+    }
+
+    public Zombie getZombie() {
+        return zombie;
+    }
+
+    /**
+     * Points the session at a new entity instance, e.g. after its chunk was unloaded and loaded again.
+     */
+    public void rebind(Zombie zombie) {
+        this.zombie = zombie;
+    }
+
+    public int getTotems() {
+        return totems;
+    }
+
+    public int getRemainingTotems() {
+        return remainingTotems;
+    }
+
+    public void setRemainingTotems(int remainingTotems) {
+        this.remainingTotems = remainingTotems;
+    }
+
+    /**
+     * Cached owner reference; null while the owner is offline.
+     */
+    public Player getOwner() {
+        return owner;
+    }
+
+    public void setOwner(Player owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * The owner's HUD, or null if the session is shown on the zombie's name tag.
+     */
+    public SessionHud getHud() {
+        return hud;
+    }
+
+    public void setHud(SessionHud hud) {
+        this.hud = hud;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /**
+     * Remaining whole seconds as shown to players (rounded up, so "1s" is shown until the deadline).
+     */
+    public int getRemainingSeconds(long nowNanos) {
+        long remaining = deadlineNanos - nowNanos;
+        if (remaining <= 0) return 0;
+        return (int) ((remaining + SessionClock.SECOND_NANOS - 1) / SessionClock.SECOND_NANOS);
+    }
+
+    /**
+     * Records the values about to be shown on the name tag or HUD.
+     *
+     * @return false if they already show exactly these values
+     */
+    public boolean updateShown(int seconds, int totems) {
+        if (seconds == shownSeconds && totems == shownTotems) {
+            return false;
+        }
+        shownSeconds = seconds;
+        shownTotems = totems;
+        return true;
+    }
+
+    long getNextWakeNanos() {
+        return nextWakeNanos;
+    }
+
+    void setNextWakeNanos(long nextWakeNanos) {
+        this.nextWakeNanos = nextWakeNanos;
+    }
+
+    public boolean isEnded() {
+        return ended;
+    }
+
+    void markEnded() {
+        this.ended = true;
+    }
+}
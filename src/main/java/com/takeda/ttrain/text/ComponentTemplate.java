@@ -0,0 +1,115 @@
+package com.takeda.ttrain.text;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A MiniMessage string parsed once, with {@code {name}} placeholders filled in at render time.
+ * <p>
+ * Each placeholder is swapped for a single private-use character before parsing, so gradients and
+ * other tags treat it as one glyph. Rendering only rebuilds the nodes on the path to a placeholder;
+ * every static subtree of the parsed component is shared between renders.
+ */
+public final class ComponentTemplate {
+    private static final char FIRST_MARKER = '\uE000';
+
+    private final Component compiled;
+    private final Set<Component> dynamicNodes;
+    private final int placeholderCount;
+
+    private ComponentTemplate(Component compiled, Set<Component> dynamicNodes, int placeholderCount) {
+        this.compiled = compiled;
+        this.dynamicNodes = dynamicNodes;
+        this.placeholderCount = placeholderCount;
+    }
+
+    /**
+     * Parses a template. Placeholders are referenced as {@code {name}} in the raw string and
+     * filled positionally by {@link #render(String...)}.
+     */
+    public static ComponentTemplate compile(MiniMessage miniMessage, String raw, String... placeholders) {
+        String prepared = raw;
+        for (int i = 0; i < placeholders.length; i++) {
+            prepared = prepared.replace("{" + placeholders[i] + "}", String.valueOf((char) (FIRST_MARKER + i)));
+        }
+        Component parsed = miniMessage.deserialize(prepared);
+        Set<Component> dynamicNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        collectDynamicNodes(parsed, placeholders.length, dynamicNodes);
+        return new ComponentTemplate(parsed, dynamicNodes, placeholders.length);
+    }
+
+    /**
+     * Whether the template contains no placeholders, in which case {@link #render} returns a shared Component.
+     */
+    public boolean isStatic() {
+        return dynamicNodes.isEmpty();
+    }
+
+    public Component render(String... values) {
+        if (values.length != placeholderCount) {
+            throw new IllegalArgumentException("Expected " + placeholderCount + " values, got " + values.length);
+        }
+        return substitute(compiled, values);
+    }
+
+    private Component substitute(Component node, String[] values) {
+        if (!dynamicNodes.contains(node)) {
+            return node;
+        }
+        Component result = node;
+        if (node instanceof TextComponent text && hasMarker(text.content(), placeholderCount)) {
+            result = text.content(fill(text.content(), values));
+        }
+        List<Component> children = node.children();
+        if (!children.isEmpty()) {
+            List<Component> rendered = new ArrayList<>(children.size());
+            for (Component child : children) {
+                rendered.add(substitute(child, values));
+            }
+            result = result.children(rendered);
+        }
+        return result;
+    }
+
+    private static boolean collectDynamicNodes(Component node, int placeholderCount, Set<Component> dynamicNodes) {
+        boolean dynamic = node instanceof TextComponent text && hasMarker(text.content(), placeholderCount);
+        for (Component child : node.children()) {
+            dynamic |= collectDynamicNodes(child, placeholderCount, dynamicNodes);
+        }
+        if (dynamic) {
+            dynamicNodes.add(node);
+        }
+        return dynamic;
+    }
+
+    private static boolean hasMarker(String content, int placeholderCount) {
+        for (int i = 0; i < content.length(); i++) {
+            if (isMarker(content.charAt(i), placeholderCount)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isMarker(char c, int placeholderCount) {
+        return c >= FIRST_MARKER && c < FIRST_MARKER + placeholderCount;
+    }
+
+    private String fill(String content, String[] values) {
+        StringBuilder builder = new StringBuilder(content.length() + 8);
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (isMarker(c, placeholderCount)) {
+                builder.append(values[c - FIRST_MARKER]);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
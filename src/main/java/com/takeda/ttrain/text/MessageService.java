@@ -0,0 +1,194 @@
+package com.takeda.ttrain.text;
+
+import com.takeda.ttrain.TTrainPlugin;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.slf4j.Logger;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed message templates, cached per config key.
+ * <p>
+ * Messages without placeholders are parsed once and shared as immutable Components. Messages with
+ * config-style {@code {name}} placeholders are parsed once into a {@link ComponentTemplate}, and
+ * callers fill them with {@link TagResolver}s such as {@code Placeholder.unparsed("count", "3")}
+ * without parsing again. Resolvers that insert more than plain text fall back to a MiniMessage pass
+ * over the message with {@code <name>} tags, which counts as a cache miss.
+ */
+public final class MessageService {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([a-z0-9_-]+)}");
+
+    private final Logger logger;
+    private final MiniMessage miniMessage;
+    private final Map<String, String> rawMessages;
+    private final Map<String, CachedMessage> cache;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /**
+     * A message is either a shared component, or a parsed template with its placeholder names in
+     * template order and the tag form for resolvers the template cannot fill.
+     */
+    private record CachedMessage(Component component, ComponentTemplate template, String[] placeholders,
+                                 String tagTemplate) {
+    }
+
+    /**
+     * The hit and miss counters are passed in so they can outlive this service: a reload replaces it,
+     * and the counts are exported as running totals.
+     */
+    public MessageService(MiniMessage miniMessage, Map<String, String> rawMessages, LongAdder hits,
+                          LongAdder misses) {
+        this.logger = TTrainPlugin.getPluginLogger();
+        this.miniMessage = miniMessage;
+        this.rawMessages = Map.copyOf(rawMessages);
+        this.cache = new ConcurrentHashMap<>();
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Raw config string for a key, or null if the key is missing.
+     */
+    public String getRaw(String key) {
+        return rawMessages.get(key);
+    }
+
+    /**
+     * Lines of a list message such as item lore. Returns an empty list if the key is missing.
+     */
+    public List<String> getLines(String key) {
+        String raw = rawMessages.get(key);
+        if (raw == null || raw.isEmpty()) {
+            logger.warn("Missing or invalid lore key '{}'. Expected a list or string.", key);
+            return List.of();
+        }
+        // Lists are cached joined by newlines
+        return List.of(raw.split("\\n"));
+    }
+
+    public boolean contains(String key) {
+        return rawMessages.containsKey(key);
+    }
+
+    /**
+     * Gets a message, filling its placeholders from the given resolvers.
+     * Returns a plain error text if the key is missing.
+     */
+    public Component get(String key, TagResolver... placeholders) {
+        CachedMessage message = cache.get(key);
+        boolean cached = message != null;
+        if (!cached) {
+            String raw = rawMessages.get(key);
+            if (raw == null) {
+                logger.error("Missing required message key '{}'. Please check config.yml!", key);
+                return Component.text("[Error: Missing message key: " + key + "]");
+            }
+            message = cache.computeIfAbsent(key, k -> compile(k, raw));
+        }
+        return render(key, message, cached, placeholders);
+    }
+
+    /**
+     * Gets a message, falling back to (and caching) the given default if the key is missing.
+     */
+    public Component getOrDefault(String key, String defaultRaw, TagResolver... placeholders) {
+        CachedMessage message = cache.get(key);
+        boolean cached = message != null;
+        if (!cached) {
+            String raw = rawMessages.get(key);
+            if (raw == null) {
+                logger.warn("Missing message key '{}', using provided default.", key);
+                raw = defaultRaw;
+            }
+            String source = raw;
+            message = cache.computeIfAbsent(key, k -> compile(k, source));
+        }
+        return render(key, message, cached, placeholders);
+    }
+
+    private CachedMessage compile(String key, String raw) {
+        misses.increment();
+        Matcher matcher = PLACEHOLDER.matcher(raw);
+        try {
+            if (!matcher.find()) {
+                return new CachedMessage(miniMessage.deserialize(raw), null, null, null);
+            }
+            Set<String> names = new LinkedHashSet<>();
+            do {
+                names.add(matcher.group(1));
+            } while (matcher.find());
+            String[] placeholders = names.toArray(new String[0]);
+            return new CachedMessage(null, ComponentTemplate.compile(miniMessage, raw, placeholders), placeholders,
+                matcher.replaceAll("<$1>"));
+        } catch (Exception e) {
+            logger.error("Failed to parse MiniMessage for key '{}': {}. Falling back to plain text.", key, e.getMessage());
+            // Fallback to plain text to avoid errors
+            return new CachedMessage(Component.text(raw), null, null, null);
+        }
+    }
+
+    private Component render(String key, CachedMessage message, boolean cached, TagResolver... placeholders) {
+        if (message.component() != null) {
+            if (cached) hits.increment();
+            return message.component();
+        }
+        String[] values = plainValues(message.placeholders(), placeholders);
+        if (values != null) {
+            if (cached) hits.increment();
+            return message.template().render(values);
+        }
+
+        if (cached) misses.increment();
+        try {
+            return miniMessage.deserialize(message.tagTemplate(), placeholders);
+        } catch (Exception e) {
+            logger.error("Failed to parse MiniMessage for key '{}': {}. Falling back to plain text.", key, e.getMessage());
+            return Component.text(message.tagTemplate());
+        }
+    }
+
+    /**
+     * Values for the template's placeholders, in template order, or null if a placeholder has no
+     * resolver or a resolver inserts anything but unstyled text.
+     */
+    private static String[] plainValues(String[] names, TagResolver[] resolvers) {
+        String[] values = new String[names.length];
+        for (TagResolver resolver : resolvers) {
+            if (!(resolver instanceof TagResolver.Single single)
+                || !(single.tag() instanceof Tag.Inserting inserting)
+                || !(inserting.value() instanceof TextComponent text)
+                || !text.children().isEmpty() || !text.style().isEmpty()) {
+                return null;
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(single.key())) {
+                    values[i] = text.content();
+                }
+            }
+        }
+        for (String value : values) {
+            if (value == null) return null;
+        }
+        return values;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
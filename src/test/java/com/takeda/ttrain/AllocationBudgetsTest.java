@@ -0,0 +1,220 @@
+package com.takeda.ttrain;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.damage.DamageType;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.event.entity.EntityResurrectEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.plugin.RegisteredListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Allocation budgets for the paths that run all the time: bytes allocated on the main thread per
+ * operation, measured with {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}
+ * after a warmup, and compared to a fixed budget.
+ * <p>
+ * Event handlers are called through the plugin's own registered listeners rather than the mock
+ * server's event dispatch, so only the plugin's allocation is counted. The reflective executor
+ * MockBukkit uses allocates the argument array on every call; the budgets allow for that.
+ */
+public class AllocationBudgetsTest {
+    // Bytes per operation, a small margin over what the paths allocate today. Raise one only
+    // together with the change that needs it.
+    private static final long SESSION_TICK_BUDGET = 2 * 1024;
+    private static final long FOREIGN_DAMAGE_BUDGET = 64;
+    private static final long TRAINING_HIT_BUDGET = 64;
+    private static final long TOTEM_POP_BUDGET = 4 * 1024;
+
+    private static final int SESSIONS = 20;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private ServerMock server;
+    private TTrainPlugin plugin;
+    private List<PlayerMock> players;
+
+    @Before
+    public void setUp() throws IOException {
+        server = MockBukkit.mock();
+        server.addSimpleWorld("world");
+        plugin = MockBukkit.load(TTrainPlugin.class);
+        // Spawn immediately, and keep every session at full fidelity whatever the machine's speed
+        configure("admission.enabled", false);
+        configure("load.enabled", false);
+        configure("zombie.end-session-on-last-totem", true);
+
+        players = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            players.add(server.addPlayer());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private void configure(String path, Object value) throws IOException {
+        File configFile = new File(plugin.getDataFolder(), "config.yml");
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+        config.set(path, value);
+        config.save(configFile);
+        plugin.getConfigManager().loadConfig();
+    }
+
+    // Steady state: ticks with every session counting down. The session clock follows the mock
+    // scheduler, 50 ms a tick, so each session's name tag is refreshed every 20 ticks as it would be
+    // in game, however fast the ticks actually run.
+    @Test
+    public void sessionTick() {
+        plugin.getZombieManager().getSessionClock()
+            .setTimeSource(() -> server.getScheduler().getCurrentTick() * TICK_NANOS);
+        startSessions(plugin.getConfigManager().getSettings().getMaxTotems());
+        server.getScheduler().performTicks(40);
+
+        int ticks = 100;
+        long allocated = 0;
+        for (int i = 0; i < ticks; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            server.getScheduler().performOneTick();
+            allocated += threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        check("session tick (" + SESSIONS + " sessions)", allocated / ticks, SESSION_TICK_BUDGET);
+    }
+
+    // Damage on mobs that are not training zombies, the most frequent event the plugin sees
+    @Test
+    public void damageOnOtherEntity() throws EventException {
+        Zombie foreign = players.get(0).getWorld().spawn(players.get(0).getLocation(), Zombie.class);
+        check("damage filter, other entity", measureDamage(foreign), FOREIGN_DAMAGE_BUDGET);
+    }
+
+    // Non-lethal hits on a training zombie
+    @Test
+    public void damageOnTrainingZombie() throws EventException {
+        startSessions(plugin.getConfigManager().getSettings().getMaxTotems());
+        Zombie training = plugin.getZombieManager().getActiveZombie(players.get(0).getUniqueId());
+        assertNotNull("No training session was started", training);
+        check("damage filter, training zombie", measureDamage(training), TRAINING_HIT_BUDGET);
+    }
+
+    // Every totem of every session popped in turn. The pop that ends a session is included; the
+    // removal it schedules runs afterwards and is not.
+    @Test
+    public void totemPop() throws EventException {
+        List<RegisteredListener> listeners = listenersOf(EntityResurrectEvent.getHandlerList());
+        int totems = plugin.getConfigManager().getSettings().getMaxTotems();
+        for (int round = 0; round < 5; round++) {
+            popAllTotems(listeners, totems); // Warmup
+        }
+
+        long allocated = 0;
+        long pops = 0;
+        for (int round = 0; round < 20; round++) {
+            long[] measured = popAllTotems(listeners, totems);
+            allocated += measured[0];
+            pops += measured[1];
+        }
+        assertTrue("No totem was popped", pops > 0);
+        check("totem pop", allocated / pops, TOTEM_POP_BUDGET);
+    }
+
+    private long measureDamage(Zombie zombie) throws EventException {
+        List<RegisteredListener> listeners = listenersOf(EntityDamageEvent.getHandlerList());
+        DamageSource damageSource = DamageSource.builder(DamageType.GENERIC).build();
+        EntityDamageEvent event = new EntityDamageEvent(zombie, DamageCause.ENTITY_ATTACK, damageSource, 1.0);
+        return measureEvent(listeners, event);
+    }
+
+    private long measureEvent(List<RegisteredListener> listeners, Event event) throws EventException {
+        for (int i = 0; i < 50_000; i++) {
+            callListeners(listeners, event);
+        }
+        int operations = 200_000;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < operations; i++) {
+            callListeners(listeners, event);
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / operations;
+    }
+
+    private long[] popAllTotems(List<RegisteredListener> listeners, int totems) throws EventException {
+        clearSessions();
+        if (plugin.getZombieManager().getActiveSessionCount() == 0) {
+            startSessions(totems);
+        }
+        List<EntityResurrectEvent> events = new ArrayList<>();
+        for (PlayerMock player : players) {
+            Zombie zombie = plugin.getZombieManager().getActiveZombie(player.getUniqueId());
+            if (zombie != null) {
+                events.add(new EntityResurrectEvent(zombie, EquipmentSlot.OFF_HAND));
+            }
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < totems; i++) {
+            for (EntityResurrectEvent event : events) {
+                callListeners(listeners, event);
+            }
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        return new long[]{allocated, (long) events.size() * totems};
+    }
+
+    private void startSessions(int totems) {
+        for (PlayerMock player : players) {
+            plugin.getZombieManager().spawnTrainingZombie(player, totems, 300,
+                plugin.getConfigManager().getSettings().getDefaultLoadout());
+        }
+    }
+
+    // Lets scheduled removals run until no session is left
+    private void clearSessions() {
+        for (int i = 0; i < 20 && plugin.getZombieManager().getActiveSessionCount() > 0; i++) {
+            server.getScheduler().performOneTick();
+        }
+    }
+
+    private List<RegisteredListener> listenersOf(HandlerList handlers) {
+        List<RegisteredListener> listeners = new ArrayList<>();
+        for (RegisteredListener listener : handlers.getRegisteredListeners()) {
+            if (listener.getPlugin() == plugin) {
+                listeners.add(listener);
+            }
+        }
+        return listeners;
+    }
+
+    private static void callListeners(List<RegisteredListener> listeners, Event event) throws EventException {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).callEvent(event);
+        }
+    }
+
+    private static void check(String name, long bytesPerOperation, long budget) {
+        assertTrue(name + " allocates " + bytesPerOperation + " B/op, over its budget of " + budget + " B/op",
+            bytesPerOperation <= budget);
+    }
+}
@@ -0,0 +1,137 @@
+package com.takeda.ttrain.managers;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import com.takeda.ttrain.TTrainPlugin;
+import com.takeda.ttrain.config.TTrainSettings;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PlotAllocatorTest {
+    private static final String ARENA = "training_arena";
+    private static final int COLUMNS = 2;
+    private static final int PLOTS = 4;
+
+    private World arena;
+    private World lobby;
+    private PlotAllocator plots;
+
+    @Before
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+        arena = server.addSimpleWorld(ARENA);
+        lobby = server.addSimpleWorld("world");
+        TTrainPlugin plugin = MockBukkit.load(TTrainPlugin.class);
+
+        FileConfiguration config = plugin.getConfig();
+        config.set("arena.world", ARENA);
+        config.set("arena.columns", COLUMNS);
+        config.set("arena.max-plots", PLOTS);
+        plots = new PlotAllocator(plugin, TTrainSettings.load(config, MiniMessage.miniMessage()));
+    }
+
+    @After
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    public void allocatesPlotsInOrderUntilFull() {
+        for (int plot = 0; plot < PLOTS; plot++) {
+            assertEquals(plot, plots.allocate(UUID.randomUUID(), null).plot());
+        }
+        assertNull(plots.allocate(UUID.randomUUID(), null));
+        assertEquals(0, plots.getFreeCount());
+    }
+
+    @Test
+    public void onePlotPerPlayer() {
+        UUID player = UUID.randomUUID();
+        plots.allocate(player, null);
+
+        assertNull(plots.allocate(player, null));
+        assertFalse(plots.reserve(player, center(2)));
+        assertEquals(PLOTS - 1, plots.getFreeCount());
+    }
+
+    // Freed plots go back to the front, so the most recently freed one is handed out first
+    @Test
+    public void freedPlotsAreReusedFirst() {
+        UUID[] players = new UUID[3];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = UUID.randomUUID();
+            plots.allocate(players[i], null);
+        }
+        plots.release(players[1], false);
+        plots.release(players[0], false);
+
+        assertFalse(plots.hasLease(players[0]));
+        assertEquals(0, plots.allocate(UUID.randomUUID(), null).plot());
+        assertEquals(1, plots.allocate(UUID.randomUUID(), null).plot());
+        assertEquals(3, plots.allocate(UUID.randomUUID(), null).plot());
+        assertNull(plots.allocate(UUID.randomUUID(), null));
+    }
+
+    @Test
+    public void releasingTwiceFreesOnce() {
+        UUID player = UUID.randomUUID();
+        plots.allocate(player, null);
+        plots.release(player, false);
+        plots.release(player, false);
+
+        assertEquals(PLOTS, plots.getFreeCount());
+    }
+
+    // A reserved plot is taken out of the middle of the free list; the rest keep their order
+    @Test
+    public void reserveTakesThePlotAtALocation() {
+        UUID resumed = UUID.randomUUID();
+        assertTrue(plots.reserve(resumed, center(2)));
+        assertTrue(plots.hasLease(resumed));
+
+        assertEquals(0, plots.allocate(UUID.randomUUID(), null).plot());
+        assertEquals(1, plots.allocate(UUID.randomUUID(), null).plot());
+        assertEquals(3, plots.allocate(UUID.randomUUID(), null).plot());
+        assertNull(plots.allocate(UUID.randomUUID(), null));
+
+        plots.release(resumed, false);
+        assertEquals(2, plots.allocate(UUID.randomUUID(), null).plot());
+    }
+
+    @Test
+    public void reserveAcceptsAnyBlockInThePlotsCell() {
+        int half = plots.getSpacing() / 2;
+        Location edge = center(3).add(half - 1, 0, -half);
+
+        assertTrue(plots.reserve(UUID.randomUUID(), edge));
+        assertFalse(plots.reserve(UUID.randomUUID(), center(3)));
+    }
+
+    @Test
+    public void reserveRejectsLocationsOffTheGrid() {
+        int spacing = plots.getSpacing();
+
+        assertFalse(plots.reserve(UUID.randomUUID(), new Location(lobby, 0, 64, 0)));
+        assertFalse(plots.reserve(UUID.randomUUID(), new Location(arena, -spacing, 64, 0)));
+        assertFalse(plots.reserve(UUID.randomUUID(), new Location(arena, COLUMNS * spacing, 64, 0)));
+        assertFalse(plots.reserve(UUID.randomUUID(), new Location(arena, 0, 64, PLOTS / COLUMNS * spacing)));
+        assertEquals(PLOTS, plots.getFreeCount());
+    }
+
+    private Location center(int plot) {
+        int spacing = plots.getSpacing();
+        return new Location(arena, (plot % COLUMNS) * spacing, 64, (plot / COLUMNS) * spacing);
+    }
+}
@@ -0,0 +1,169 @@
+package com.takeda.ttrain.region;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class RegionIndexTest {
+    private static final String WORLD = "hub";
+
+    @Test
+    public void higherPriorityDecides() {
+        TrainingRegion arena = allow("arena", 0, 0, 31, 31, 0);
+        TrainingRegion stands = deny("stands", 0, 0, 31, 7, 1);
+        RegionIndex index = RegionIndex.of(List.of(arena, stands));
+
+        assertSame(stands, index.find(WORLD, 4, 64, 4));
+        assertFalse(index.isAllowed(WORLD, 4, 64, 4));
+        assertSame(arena, index.find(WORLD, 4, 64, 20));
+        assertTrue(index.isAllowed(WORLD, 4, 64, 20));
+    }
+
+    @Test
+    public void denyWinsAPriorityTie() {
+        TrainingRegion arena = allow("arena", 0, 0, 31, 31, 0);
+        TrainingRegion closed = deny("closed", 8, 8, 15, 15, 0);
+        RegionIndex index = RegionIndex.of(List.of(arena, closed));
+
+        assertSame(closed, index.find(WORLD, 10, 64, 10));
+        assertFalse(index.isAllowed(WORLD, 10, 64, 10));
+    }
+
+    @Test
+    public void nameBreaksARemainingTie() {
+        TrainingRegion b = allow("b", 0, 0, 15, 15, 0);
+        TrainingRegion a = allow("a", 0, 0, 15, 15, 0);
+        RegionIndex index = RegionIndex.of(List.of(b, a));
+
+        assertSame(a, index.find(WORLD, 5, 64, 5));
+    }
+
+    @Test
+    public void boundsAreInclusiveAcrossChunksAndNegativeCoordinates() {
+        TrainingRegion region = allow("spawn", -20, -20, 20, 20, 0);
+        RegionIndex index = RegionIndex.of(List.of(region));
+
+        assertSame(region, index.find(WORLD, -20, 64, -20));
+        assertSame(region, index.find(WORLD, 20, 64, 20));
+        assertSame(region, index.find(WORLD, -1, 64, 0));
+        assertNull(index.find(WORLD, -21, 64, 0));
+        assertNull(index.find(WORLD, 0, 64, 21));
+        assertNull(index.find(WORLD, 0, 101, 0));
+    }
+
+    @Test
+    public void outsideEveryRegionFollowsTheWorldsRegions() {
+        RegionIndex index = RegionIndex.of(List.of(
+            allow("arena", 0, 0, 15, 15, 0),
+            new TrainingRegion("vault", "nether", 0, 0, 0, 15, 100, 15, 0, true)));
+
+        // A world with an allow region only allows training inside one
+        assertFalse(index.isAllowed(WORLD, 100, 64, 100));
+        // A world with only deny regions allows it everywhere else
+        assertTrue(index.isAllowed("nether", 100, 64, 100));
+        assertFalse(index.isAllowed("nether", 5, 64, 5));
+        // A world without regions is left to the world policy
+        assertTrue(index.isAllowed("end", 5, 64, 5));
+        assertNull(index.find("end", 5, 64, 5));
+    }
+
+    // Regions over 4096 chunks are kept out of the grid; they still rank against the regions in it
+    @Test
+    public void largeRegionsRankAgainstGridRegions() {
+        TrainingRegion lobby = allow("lobby", -2_000, -2_000, 2_000, 2_000, -1);
+        TrainingRegion arena = allow("arena", 0, 0, 31, 31, 0);
+        TrainingRegion lockdown = deny("lockdown", -2_000, -2_000, 2_000, 2_000, 5);
+        RegionIndex withoutLockdown = RegionIndex.of(List.of(lobby, arena));
+        RegionIndex withLockdown = RegionIndex.of(List.of(lobby, arena, lockdown));
+
+        assertSame(arena, withoutLockdown.find(WORLD, 10, 64, 10));
+        assertSame(lobby, withoutLockdown.find(WORLD, 500, 64, 500));
+        assertSame(lockdown, withLockdown.find(WORLD, 10, 64, 10));
+        assertSame(lockdown, withLockdown.find(WORLD, 500, 64, 500));
+    }
+
+    @Test
+    public void largeRegionTiesWithAGridRegion() {
+        TrainingRegion lobby = allow("lobby", -2_000, -2_000, 2_000, 2_000, 0);
+        TrainingRegion quiet = deny("quiet", 0, 0, 31, 31, 0);
+        TrainingRegion closed = deny("closed", -2_000, -2_000, 2_000, 2_000, 0);
+        TrainingRegion arena = allow("arena", 0, 0, 31, 31, 0);
+
+        // Deny beats allow whichever of them is in the grid
+        assertSame(quiet, RegionIndex.of(List.of(lobby, quiet)).find(WORLD, 10, 64, 10));
+        assertSame(closed, RegionIndex.of(List.of(closed, arena)).find(WORLD, 10, 64, 10));
+        // Same priority and mode: the first name wins
+        assertSame(arena, RegionIndex.of(List.of(lobby, arena)).find(WORLD, 10, 64, 10));
+    }
+
+    // Many overlapping regions of random sizes, including large ones, against a linear scan
+    @Test
+    public void matchesALinearScan() {
+        Random random = new Random(42);
+        List<TrainingRegion> regions = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int size = i % 50 == 0 ? 1_200 + random.nextInt(800) : 1 + random.nextInt(64);
+            int x = random.nextInt(2_000) - 1_000;
+            int z = random.nextInt(2_000) - 1_000;
+            int y = random.nextInt(100);
+            regions.add(new TrainingRegion("r" + i, WORLD, x, y, z, x + size, y + 1 + random.nextInt(50), z + size,
+                random.nextInt(4), random.nextInt(3) == 0));
+        }
+        RegionIndex index = RegionIndex.of(regions);
+
+        for (int i = 0; i < 50_000; i++) {
+            int x = random.nextInt(2_400) - 1_200;
+            int y = random.nextInt(160);
+            int z = random.nextInt(2_400) - 1_200;
+            assertSame(scan(regions, x, y, z), index.find(WORLD, x, y, z));
+        }
+    }
+
+    @Test
+    public void regionsAreListedByWorldThenName() {
+        TrainingRegion b = allow("b", 0, 0, 1, 1, 0);
+        TrainingRegion a = allow("a", 0, 0, 1, 1, 0);
+        TrainingRegion end = new TrainingRegion("a", "end", 0, 0, 0, 1, 1, 1, 0, false);
+        RegionIndex index = RegionIndex.of(List.of(b, end, a));
+
+        assertEquals(List.of(end, a, b), index.getRegions());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void invertedCornersAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> allow("broken", 10, 0, 0, 10, 0));
+    }
+
+    // Highest priority, then deny over allow, then the first name
+    private static TrainingRegion scan(List<TrainingRegion> regions, int x, int y, int z) {
+        TrainingRegion best = null;
+        for (TrainingRegion region : regions) {
+            if (!region.contains(x, y, z)) continue;
+            if (best == null || region.priority() > best.priority()
+                || (region.priority() == best.priority() && region.deny() && !best.deny())
+                || (region.priority() == best.priority() && region.deny() == best.deny()
+                    && region.name().compareTo(best.name()) < 0)) {
+                best = region;
+            }
+        }
+        return best;
+    }
+
+    private static TrainingRegion allow(String name, int minX, int minZ, int maxX, int maxZ, int priority) {
+        return new TrainingRegion(name, WORLD, minX, 0, minZ, maxX, 100, maxZ, priority, false);
+    }
+
+    private static TrainingRegion deny(String name, int minX, int minZ, int maxX, int maxZ, int priority) {
+        return new TrainingRegion(name, WORLD, minX, 0, minZ, maxX, 100, maxZ, priority, true);
+    }
+}
@@ -0,0 +1,143 @@
+package com.takeda.ttrain.session;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SessionIndexTest {
+    // The table starts at 16 slots and grows past 7 entries
+    private static final int MASK = 15;
+
+    @Test
+    public void putGetAndRemove() {
+        SessionIndex index = new SessionIndex();
+        TrainingSession first = session();
+        TrainingSession second = session();
+        index.put(1, first);
+        index.put(2, second);
+
+        assertSame(first, index.get(1));
+        assertSame(second, index.get(2));
+        assertNull(index.get(3));
+        assertSame(first, index.remove(1));
+        assertNull(index.get(1));
+        assertSame(second, index.get(2));
+        assertNull(index.remove(1));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void putReplacesExistingEntry() {
+        SessionIndex index = new SessionIndex();
+        TrainingSession replacement = session();
+        index.put(7, session());
+        index.put(7, replacement);
+
+        assertSame(replacement, index.get(7));
+        assertEquals(1, index.size());
+    }
+
+    // Two ids homed in the last slot and one homed in the first: the probe run wraps around the
+    // end of the table, and removing its head has to shift both back across the boundary
+    @Test
+    public void removeShiftsBackAcrossTheTableEnd() {
+        List<Integer> homedLast = idsHomedAt(MASK, 2);
+        int a = homedLast.get(0);
+        int b = homedLast.get(1);
+        int c = idsHomedAt(0, 1).get(0);
+        TrainingSession sessionA = session();
+        TrainingSession sessionB = session();
+        TrainingSession sessionC = session();
+
+        SessionIndex index = new SessionIndex();
+        index.put(a, sessionA); // slot 15
+        index.put(b, sessionB); // wraps to slot 0
+        index.put(c, sessionC); // home slot 0 is taken, lands in 1
+
+        assertSame(sessionA, index.remove(a));
+        assertNull(index.get(a));
+        assertSame(sessionB, index.get(b));
+        assertSame(sessionC, index.get(c));
+
+        assertSame(sessionB, index.remove(b));
+        assertSame(sessionC, index.get(c));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void removeFromTheMiddleOfAWrappedRun() {
+        List<Integer> ids = idsHomedAt(MASK - 1, 4); // Slots 14, 15, 0 and 1
+        SessionIndex index = new SessionIndex();
+        Map<Integer, TrainingSession> sessions = new HashMap<>();
+        for (int id : ids) {
+            TrainingSession session = session();
+            sessions.put(id, session);
+            index.put(id, session);
+        }
+
+        index.remove(ids.get(1));
+        sessions.remove(ids.get(1));
+        index.remove(ids.get(2));
+        sessions.remove(ids.get(2));
+        for (int id : ids) {
+            assertSame(sessions.get(id), index.get(id));
+        }
+    }
+
+    // Random puts and removes over a small id range, so probe runs collide and wrap often
+    @Test
+    public void matchesHashMapUnderChurn() {
+        Random random = new Random(42);
+        SessionIndex index = new SessionIndex();
+        Map<Integer, TrainingSession> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(64);
+            if (random.nextInt(3) == 0 || expected.size() > 40) {
+                assertSame(expected.remove(id), index.remove(id));
+            } else {
+                TrainingSession session = session();
+                expected.put(id, session);
+                index.put(id, session);
+            }
+            assertEquals(expected.size(), index.size());
+        }
+        for (int id = 0; id < 64; id++) {
+            assertSame(expected.get(id), index.get(id));
+        }
+    }
+
+    @Test
+    public void clearEmptiesTheIndex() {
+        SessionIndex index = new SessionIndex();
+        for (int id = 0; id < 100; id++) {
+            index.put(id, session());
+        }
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertNull(index.get(5));
+    }
+
+    private static List<Integer> idsHomedAt(int slot, int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; ids.size() < count; id++) {
+            if (SessionIndex.slot(id, MASK) == slot) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static TrainingSession session() {
+        return new TrainingSession(UUID.randomUUID(), null, 3, 60, 0L);
+    }
+}